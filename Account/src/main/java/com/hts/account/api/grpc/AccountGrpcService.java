@@ -4,64 +4,167 @@ import com.hts.account.application.AccountServiceImpl;
 import com.hts.account.domain.model.ServiceResult;
 import com.hts.account.utils.MoneyParser;
 import com.hts.generated.grpc.*;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
 import io.quarkus.grpc.GrpcService;
-import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * gRPC Service - Account
+ *
+ * - Reserve / Unreserve: 단건 RPC
+ * - ReserveStream: Order 샤드별 장기 양방향 스트림 (요청마다 HTTP/2 스트림 / 헤더 생성 비용 제거)
+ *   · 메시지마다 AccountShardInvoker로 분배, 완료 순서대로 correlation_id와 함께 응답
+ *   · 흐름 제어: 자동 request 끄고 STREAM_WINDOW개 선요청, 응답 1건 전송 시 request(1)
+ *     → 스트림당 처리 중 요청 ≤ STREAM_WINDOW (응답 버퍼도 같은 상한)
+ *   · 클라이언트 half-close 시 처리 중 요청 응답 후 종료
+ * - grpc-java 기본 스텁 사용 (request(n) 직접 제어)
  */
 @GrpcService
-public class AccountGrpcService implements AccountService {
+public class AccountGrpcService extends AccountServiceGrpc.AccountServiceImplBase {
 
     private static final Logger log = Logger.getLogger(AccountGrpcService.class);
+    private static final int STREAM_WINDOW = 256;
 
     @Inject
     AccountServiceImpl service;
     @Inject AccountShardInvoker shardInvoker;
 
     @Override
-    public Uni<ReserveReply> reserve(ReserveRequest req) {
-        long accountId = req.getAccountId();
-        BigDecimal amount = MoneyParser.parse(req.getAmount());
-        String requestId = req.getRequestId();
-
-        return Uni.createFrom().completionStage(() ->
-                shardInvoker.submit(accountId,
-                        () -> service.reserve(accountId, amount, requestId))
-        ).onFailure().recoverWithItem(ex -> {
-            log.error("reserve failed", ex);
-            return ServiceResult.of(ResultCode.INTERNAL_ERROR);
-        }).map(this::toReserveReply);
+    public void reserve(ReserveRequest req, StreamObserver<ReserveReply> responseObserver) {
+        dispatchReserve(req).thenAccept(result -> {
+            responseObserver.onNext(ReserveReply.newBuilder().setCode(result.code()).build());
+            responseObserver.onCompleted();
+        });
     }
 
     @Override
-    public Uni<UnreserveReply> unreserve(UnreserveRequest req) {
-        long accountId = req.getAccountId();
-        BigDecimal amount = MoneyParser.parse(req.getAmount());
-        String requestId = req.getRequestId();
-
-        return Uni.createFrom().completionStage(() ->
-                shardInvoker.submit(accountId,
-                        () -> service.unreserve(accountId, amount, requestId))
-        ).onFailure().recoverWithItem(ex -> {
-            log.error("unreserve failed", ex);
-            return ServiceResult.of(ResultCode.INTERNAL_ERROR);
-        }).map(this::toUnreserveReply);
+    public void unreserve(UnreserveRequest req, StreamObserver<UnreserveReply> responseObserver) {
+        dispatchUnreserve(req).thenAccept(result -> {
+            responseObserver.onNext(UnreserveReply.newBuilder().setCode(result.code()).build());
+            responseObserver.onCompleted();
+        });
+    }
+
+    @Override
+    public StreamObserver<AccountCommand> reserveStream(StreamObserver<AccountCommandReply> responseObserver) {
+        ServerCallStreamObserver<AccountCommandReply> replies =
+                (ServerCallStreamObserver<AccountCommandReply>) responseObserver;
+        replies.disableAutoRequest();
+        replies.request(STREAM_WINDOW);
+        return new CommandStream(replies);
+    }
+
+    private CompletionStage<ServiceResult> dispatchReserve(ReserveRequest req) {
+        return recover("reserve", () -> {
+            long accountId = req.getAccountId();
+            BigDecimal amount = MoneyParser.parse(req.getAmount());
+            String requestId = req.getRequestId();
+            return shardInvoker.submit(accountId, () -> service.reserve(accountId, amount, requestId));
+        });
+    }
+
+    private CompletionStage<ServiceResult> dispatchUnreserve(UnreserveRequest req) {
+        return recover("unreserve", () -> {
+            long accountId = req.getAccountId();
+            BigDecimal amount = MoneyParser.parse(req.getAmount());
+            String requestId = req.getRequestId();
+            return shardInvoker.submit(accountId, () -> service.unreserve(accountId, amount, requestId));
+        });
     }
 
-    private ReserveReply toReserveReply(ServiceResult result) {
-        return ReserveReply.newBuilder()
-                .setCode(result.code())
-                .build();
+    /**
+     * 실패(파싱 오류 포함)는 INTERNAL_ERROR 응답으로 변환
+     */
+    private static CompletionStage<ServiceResult> recover(String method,
+                                                          Supplier<CompletionStage<ServiceResult>> call) {
+        CompletionStage<ServiceResult> stage;
+        try {
+            stage = call.get();
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        return stage.exceptionally(ex -> {
+            log.error(method + " failed", ex);
+            return ServiceResult.of(ResultCode.INTERNAL_ERROR);
+        });
     }
 
-    private UnreserveReply toUnreserveReply(ServiceResult result) {
-        return UnreserveReply.newBuilder()
-                .setCode(result.code())
-                .build();
+    /**
+     * 스트림 1개의 요청 처리 (onNext는 전송 스레드에서 순차 호출, 응답은 샤드 스레드에서 → 전송은 직렬화)
+     */
+    private final class CommandStream implements StreamObserver<AccountCommand> {
+        private final ServerCallStreamObserver<AccountCommandReply> replies;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private boolean halfClosed;
+        private boolean closed;
+
+        CommandStream(ServerCallStreamObserver<AccountCommandReply> replies) {
+            this.replies = replies;
+        }
+
+        @Override
+        public void onNext(AccountCommand command) {
+            inFlight.incrementAndGet();
+            CompletionStage<ServiceResult> result = switch (command.getCommandCase()) {
+                case RESERVE -> dispatchReserve(command.getReserve());
+                case UNRESERVE -> dispatchUnreserve(command.getUnreserve());
+                case COMMAND_NOT_SET -> CompletableFuture.completedFuture(ServiceResult.of(ResultCode.INVALID_REQUEST));
+            };
+            result.thenAccept(r -> reply(AccountCommandReply.newBuilder()
+                    .setCorrelationId(command.getCorrelationId())
+                    .setCode(r.code())
+                    .build()));
+        }
+
+        private void reply(AccountCommandReply reply) {
+            synchronized (this) {
+                if (closed || replies.isCancelled()) {
+                    return;
+                }
+                replies.onNext(reply);
+                if (inFlight.decrementAndGet() == 0 && halfClosed) {
+                    complete();
+                    return;
+                }
+            }
+            replies.request(1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // 클라이언트 취소 / 연결 끊김 → 처리 중 요청은 Account에서 반영, 응답만 버림 (재전송은 같은 request_id)
+            synchronized (this) {
+                closed = true;
+            }
+            if (Status.fromThrowable(t).getCode() != Status.Code.CANCELLED) {
+                log.warn("reserve stream closed by error: " + t);
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            synchronized (this) {
+                halfClosed = true;
+                if (inFlight.get() == 0) {
+                    complete();
+                }
+            }
+        }
+
+        private void complete() {
+            if (!closed) {
+                closed = true;
+                replies.onCompleted();
+            }
+        }
     }
 }
@@ -44,7 +44,7 @@ public class AccountServiceImpl implements AccountService {
             OperationStatus status = repo.tryReserve(accountId, amount, requestId);
             ServiceResult result = ServiceResult.from(status);
 
-            if (result.isSuccess())
+            if (status == OperationStatus.UPDATED)
                 eventPublisher.publishAfterCommit("ACCOUNT_RESERVED", accountId, amount);
 
             return result;
@@ -64,7 +64,7 @@ public class AccountServiceImpl implements AccountService {
             OperationStatus status = repo.tryUnreserve(accountId, amount, requestId);
             ServiceResult result = ServiceResult.from(status);
 
-            if (result.isSuccess())
+            if (status == OperationStatus.UPDATED)
                 eventPublisher.publishAfterCommit("ACCOUNT_UNRESERVED", accountId, amount);
 
             return result;
@@ -7,6 +7,7 @@
         public static ServiceResult from(OperationStatus status) {
             return switch (status) {
                 case UPDATED  -> new ServiceResult(ResultCode.SUCCESS);
+                case ALREADY_APPLIED -> new ServiceResult(ResultCode.SUCCESS);
                 case DUPLICATE -> new ServiceResult(ResultCode.DUPLICATE_REQUEST);
                 case NOT_FOUND -> new ServiceResult(ResultCode.ACCOUNT_NOT_FOUND);
                 case INVALID_STATE -> new ServiceResult(ResultCode.ACCOUNT_SUSPENDED);
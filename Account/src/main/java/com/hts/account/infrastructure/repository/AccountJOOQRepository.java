@@ -26,6 +26,60 @@ public class AccountJOOQRepository {
         return count != null && count > 0;
     }
 
+    /**
+     * 중복 요청 → 최초 처리 결과 재현 (재시도 / hedge 요청이 같은 request_id로 도착)
+     *
+     * - SUCCESS: 이미 반영됨 → ALREADY_APPLIED (응답은 성공, 이벤트는 재발행 안 함)
+     * - FAILED: 최초 실패 사유 그대로 (업무 거절만 FAILED로 기록)
+     * - PROCESSING: 최초 요청 처리 중 → DUPLICATE (호출 측이 잠시 후 재확인)
+     * - 이전에 기록된 일시 오류 FAILED(INTERNAL_ERROR 등): 삭제 후 DUPLICATE → 다음 재시도가 새로 처리
+     */
+    private OperationStatus replayDuplicate(String requestId) {
+        var record = dsl.fetchOne("""
+            SELECT status, result_code FROM request_history
+             WHERE request_id = ?
+        """, requestId);
+        if (record == null) {
+            return OperationStatus.DUPLICATE;
+        }
+
+        String status = record.get("status", String.class);
+        if ("SUCCESS".equals(status)) {
+            return OperationStatus.ALREADY_APPLIED;
+        }
+        if (!"FAILED".equals(status)) {
+            return OperationStatus.DUPLICATE;
+        }
+
+        String resultCode = record.get("result_code", String.class);
+        return switch (resultCode == null ? "" : resultCode) {
+            case "ACCOUNT_NOT_FOUND" -> OperationStatus.NOT_FOUND;
+            case "ACCOUNT_SUSPENDED" -> OperationStatus.INVALID_STATE;
+            case "INSUFFICIENT_FUNDS", "INSUFFICIENT_RESERVED" -> OperationStatus.INSUFFICIENT_BALANCE;
+            default -> {
+                forgetRequest(requestId);
+                yield OperationStatus.DUPLICATE;
+            }
+        };
+    }
+
+    /**
+     * 일시 오류 → 요청 이력 제거 (FAILED로 확정하지 않음)
+     *
+     * - 같은 request_id 재시도가 새 요청으로 처리되도록 미완료 행 삭제 (SUCCESS는 유지)
+     * - 같은 트랜잭션이 롤백되면 INSERT와 함께 사라지므로 삭제 실패는 무시
+     */
+    private void forgetRequest(String requestId) {
+        try {
+            dsl.execute("""
+                DELETE FROM request_history
+                 WHERE request_id = ? AND status <> 'SUCCESS'
+            """, requestId);
+        } catch (DataAccessException e) {
+            log.warnf("Request history cleanup failed (requestId=%s): %s", requestId, e.getMessage());
+        }
+    }
+
     /**
      * 요청 이력 기록 (멱등성 보장)
      */
@@ -67,7 +121,7 @@ public class AccountJOOQRepository {
             // 이미 처리된 요청
             if (inserted == 0) {
                 log.debugf("Duplicate reserve request: %s", requestId);
-                return OperationStatus.DUPLICATE;
+                return replayDuplicate(requestId);
             }
 
             // ✅ 2. UPDATE accounts (검증 포함)
@@ -109,7 +163,7 @@ public class AccountJOOQRepository {
                 }
 
                 // 기타 오류
-                markRequestProcessed(requestId, "FAILED", "UNKNOWN_ERROR");
+                forgetRequest(requestId);
                 log.errorf("Unknown reserve failure: accountId=%d, requestId=%s", accountId, requestId);
                 return OperationStatus.INTERNAL_ERROR;
             }
@@ -135,7 +189,7 @@ public class AccountJOOQRepository {
         } catch (DataAccessException e) {
             log.errorf(e, "Reserve failed [accountId=%d, amount=%s, requestId=%s]",
                     accountId, amount, requestId);
-            markRequestProcessed(requestId, "FAILED", "INTERNAL_ERROR");
+            forgetRequest(requestId);
             return OperationStatus.INTERNAL_ERROR;
         }
     }
@@ -151,7 +205,7 @@ public class AccountJOOQRepository {
 
             if (inserted == 0) {
                 log.debugf("Duplicate unreserve request: %s", requestId);
-                return OperationStatus.DUPLICATE;
+                return replayDuplicate(requestId);
             }
 
             int updated = dsl.execute("""
@@ -186,7 +240,7 @@ public class AccountJOOQRepository {
                     return OperationStatus.INSUFFICIENT_BALANCE;
                 }
 
-                markRequestProcessed(requestId, "FAILED", "UNKNOWN_ERROR");
+                forgetRequest(requestId);
                 log.errorf("Unknown unreserve failure: accountId=%d, requestId=%s", accountId, requestId);
                 return OperationStatus.INTERNAL_ERROR;
             }
@@ -210,7 +264,7 @@ public class AccountJOOQRepository {
         } catch (DataAccessException e) {
             log.errorf(e, "Unreserve failed [accountId=%d, amount=%s, requestId=%s]",
                     accountId, amount, requestId);
-            markRequestProcessed(requestId, "FAILED", "INTERNAL_ERROR");
+            forgetRequest(requestId);
             return OperationStatus.INTERNAL_ERROR;
         }
     }
@@ -268,7 +322,7 @@ public class AccountJOOQRepository {
         } catch (DataAccessException e) {
             log.errorf("ApplyFill failed [accountId=%d, amount=%s, requestId=%s]: %s",
                     accountId, filledAmount, requestId, e.getMessage());
-            markRequestProcessed(requestId, "FAILED", "INTERNAL_ERROR");
+            forgetRequest(requestId);
             throw e;
         }
     }
@@ -2,6 +2,7 @@ package com.hts.account.infrastructure.repository;
 
 public enum OperationStatus {
     UPDATED,
+    ALREADY_APPLIED,
     DUPLICATE,
     NOT_FOUND,
     INVALID_STATE,
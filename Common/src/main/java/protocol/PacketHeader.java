@@ -17,6 +17,10 @@ public final class PacketHeader {
     // Method IDs
     public static final short METHOD_PLACE_ORDER = 1;
     public static final short METHOD_CANCEL_ORDER = 2;
+    public static final short METHOD_AMEND_ORDER = 3;
+    public static final short METHOD_MASS_CANCEL = 4;
+    public static final short METHOD_GET_ORDER = 5;
+    public static final short METHOD_LIST_OPEN_ORDERS = 6;
 
     // Flags
     public static final short FLAG_NONE = 0x0000;
@@ -32,6 +32,9 @@ dependencies {
     implementation("org.postgresql:postgresql:42.7.3")
     implementation("com.zaxxer:HikariCP:5.1.0")
 
+    // Vert.x pg client (파이프라이닝 경로)
+    implementation("io.vertx:vertx-pg-client:4.5.7")
+
     // jOOQ
     implementation("org.jooq:jooq:3.19.6")
 
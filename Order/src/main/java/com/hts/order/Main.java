@@ -6,7 +6,11 @@ import com.hts.order.core.ServerBootstrap;
 import com.hts.order.metrics.MetricsReporter;
 import com.hts.order.metrics.PrometheusHttpServer;
 import com.hts.order.module.*;
+import com.hts.order.outbox.JournalReplayer;
+import com.hts.order.relay.OrderOutboxRelay;
 import com.hts.order.scheduler.CacheCleanupScheduler;
+import com.hts.order.scheduler.OrderPartitionMaintainer;
+import com.hts.order.state.LiveOrderLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,15 +34,30 @@ public class Main {
         MetricsReporter metricsReporter = injector.getInstance(MetricsReporter.class);
         PrometheusHttpServer prometheusServer = injector.getInstance(PrometheusHttpServer.class);
         CacheCleanupScheduler cacheCleanupScheduler = injector.getInstance(CacheCleanupScheduler.class);
+        OrderPartitionMaintainer partitionMaintainer = injector.getInstance(OrderPartitionMaintainer.class);
+        OrderOutboxRelay outboxRelay = injector.getInstance(OrderOutboxRelay.class);
 
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             log.info("Shutdown hook triggered");
             cacheCleanupScheduler.shutdown();
+            partitionMaintainer.shutdown();
+            outboxRelay.shutdown();
             prometheusServer.stop();
             metricsReporter.stop();
             server.stop();
         }));
 
+        partitionMaintainer.start();  // 오늘 파티션 보장 (재적재 / 접수 전)
+        try {
+            injector.getInstance(JournalReplayer.class).replay();
+        } catch (IllegalStateException e) {
+            // 미반영 저널 취소가 남은 채로 적재 / 릴레이하지 않음 (writer 스레드가 non-daemon → 명시 종료)
+            log.error("Startup aborted: journal replay failed", e);
+            System.exit(1);
+        }
+        injector.getInstance(LiveOrderLoader.class).load();
+        outboxRelay.start();
+
         prometheusServer.start();
         //metricsReporter.start();
         cacheCleanupScheduler.start();
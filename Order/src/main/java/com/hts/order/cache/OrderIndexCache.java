@@ -1,16 +1,16 @@
 package com.hts.order.cache;
 
-import com.hts.order.repository.OrderRepository;
-import io.lettuce.core.RedisClient;
-import io.lettuce.core.api.StatefulRedisConnection;
-import io.lettuce.core.api.sync.RedisCommands;
+import com.hts.order.global.OrderIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * OrderId → Symbol 인덱스 캐시 (Redis)
@@ -23,20 +23,21 @@ import java.util.List;
  * 운영 필수 사항:
  * - TTL 30일 (거래 취소 기간 충분히 커버)
  * - AOF 활성화 (재시작 시 데이터 유지)
- * - 월 1회 자동 cleanup (90일 이상 주문)
+ * - 매일 02:00 정리 작업 (CacheCleanupScheduler, 보존 기간 초과 주문 UNLINK)
+ *
+ * 연결: RedisShardConnections (orderId 샤드 연결, 요청마다 connect X)
+ * - index는 응답을 기다리지 않음 (주문 접수 경로에서 Redis 왕복 제거)
  */
 @Singleton
 public class OrderIndexCache {
     private static final Logger log = LoggerFactory.getLogger(OrderIndexCache.class);
     private static final int TTL_SECONDS = 86400 * 30; // 30일
 
-    private final RedisClient redisClient;
-    private final OrderRepository orderRepository;
+    private final RedisShardConnections redis;
 
     @Inject
-    public OrderIndexCache(RedisClient redisClient, OrderRepository orderRepository) {
-        this.redisClient = redisClient;
-        this.orderRepository = orderRepository;
+    public OrderIndexCache(RedisShardConnections redis) {
+        this.redis = redis;
     }
 
     /**
@@ -46,12 +47,16 @@ public class OrderIndexCache {
      * @param symbol 종목 코드
      */
     public void index(long orderId, String symbol) {
-        try (StatefulRedisConnection<String, String> connection = redisClient.connect()) {
-            RedisCommands<String, String> sync = connection.sync();
-            String key = "order:" + orderId;
-            sync.setex(key, TTL_SECONDS, symbol);
+        String key = "order:" + orderId;
+        try {
+            redis.execute(connectionOf(orderId), c -> c.setex(key, TTL_SECONDS, symbol))
+                 .whenComplete((ok, e) -> {
+                     if (e != null) {
+                         // Redis 장애 시에도 주문 처리는 계속 진행
+                         log.error("Failed to index orderId={} to Redis", orderId, e);
+                     }
+                 });
         } catch (Exception e) {
-            // Redis 장애 시에도 주문 처리는 계속 진행
             log.error("Failed to index orderId={} to Redis", orderId, e);
         }
     }
@@ -63,10 +68,9 @@ public class OrderIndexCache {
      * @return symbol or null (캐시 미스 시)
      */
     public String getSymbol(long orderId) {
-        try (StatefulRedisConnection<String, String> connection = redisClient.connect()) {
-            RedisCommands<String, String> sync = connection.sync();
+        try {
             String key = "order:" + orderId;
-            return sync.get(key);
+            return redis.await(connectionOf(orderId), c -> c.get(key));
         } catch (Exception e) {
             log.error("Failed to get symbol for orderId={} from Redis", orderId, e);
             return null;
@@ -74,47 +78,35 @@ public class OrderIndexCache {
     }
 
     /**
-     * 주기적 cleanup (월 1회 권장)
+     * 인덱스 키 일괄 삭제 (CacheCleanupScheduler에서 페이지 단위 호출)
      *
-     * - 90일 이상 지난 주문의 Redis 캐시 삭제
-     * - TTL로 자동 삭제되지만 명시적 cleanup으로 메모리 최적화
+     * - 연결별로 묶어 다중 키 UNLINK 1회씩 (메모리 해제는 Redis 백그라운드 스레드)
+     * - 응답을 기다리지 않고 전 연결에 파이프라이닝, 호출 측이 결과 future로 대기
      *
-     * Spring의 경우: @Scheduled(cron = "0 0 2 1 * ?") // 매월 1일 02:00
-     * Quartz의 경우: CronTrigger 설정
-     *
-     * 현재는 수동 호출 방식 (스케줄러 통합 필요)
+     * @return 실제 삭제된 키 수
      */
-    public void cleanupOldOrders() {
-        try {
-            LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
-
-            // DB에서 90일 이상 지난 주문 ID 조회
-            List<Long> oldOrderIds = orderRepository.findOrderIdsOlderThan(cutoff);
-
-            if (oldOrderIds.isEmpty()) {
-                log.info("No old orders to clean up");
-                return;
-            }
+    public CompletableFuture<Long> unlink(List<Long> orderIds) {
+        Map<Integer, List<String>> keysByConnection = new HashMap<>();
+        for (Long orderId : orderIds) {
+            keysByConnection.computeIfAbsent(connectionOf(orderId), k -> new ArrayList<>())
+                            .add("order:" + orderId);
+        }
 
-            try (StatefulRedisConnection<String, String> connection = redisClient.connect()) {
-                RedisCommands<String, String> sync = connection.sync();
+        List<CompletableFuture<Long>> results = new ArrayList<>(keysByConnection.size());
+        keysByConnection.forEach((connection, keys) -> {
+            String[] batch = keys.toArray(new String[0]);
+            results.add(redis.execute(connection, c -> c.unlink(batch)).toCompletableFuture());
+        });
 
-                int deleted = 0;
-                for (Long orderId : oldOrderIds) {
-                    String key = "order:" + orderId;
-                    Long result = sync.del(key);
-                    if (result != null && result > 0) {
-                        deleted++;
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    long removed = 0;
+                    for (CompletableFuture<Long> result : results) {
+                        Long count = result.join();
+                        removed += count != null ? count : 0;
                     }
-                }
-
-                log.info("Cleaned up {} old order indices (total scanned: {})",
-                         deleted, oldOrderIds.size());
-            }
-
-        } catch (Exception e) {
-            log.error("Failed to cleanup old orders", e);
-        }
+                    return removed;
+                });
     }
 
     /**
@@ -123,13 +115,16 @@ public class OrderIndexCache {
      * @return Redis 연결 가능 여부
      */
     public boolean isHealthy() {
-        try (StatefulRedisConnection<String, String> connection = redisClient.connect()) {
-            RedisCommands<String, String> sync = connection.sync();
-            String pong = sync.ping();
+        try {
+            String pong = redis.await(0, c -> c.ping());
             return "PONG".equals(pong);
         } catch (Exception e) {
             log.error("Redis health check failed", e);
             return false;
         }
     }
+
+    private int connectionOf(long orderId) {
+        return redis.connectionOf(OrderIdGenerator.extractShard(orderId));
+    }
 }
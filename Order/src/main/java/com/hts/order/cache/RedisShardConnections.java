@@ -0,0 +1,112 @@
+package com.hts.order.cache;
+
+import com.hts.order.config.RedisConfig;
+import com.hts.order.metrics.MetricsCollector;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 샤드별 장기 Redis 연결 (Lettuce async)
+ *
+ * - 기동 시 shardConnections개 연결 생성 후 재사용 (요청마다 connect X)
+ * - 샤드 → 연결 = shardId % 연결 수 (같은 샤드 레인끼리만 연결 공유)
+ * - async 명령은 응답을 기다리지 않고 연속 전송 (파이프라이닝)
+ *   · RedisModule의 flush 병합: 같은 event loop 주기에 쌓인 명령은 write 1회
+ * - 연결별 in-flight 명령 수 (gauge) / 명령 지연 (timer) 기록
+ */
+@Singleton
+public final class RedisShardConnections {
+    private static final Logger log = LoggerFactory.getLogger(RedisShardConnections.class);
+
+    private final List<StatefulRedisConnection<String, String>> connections;
+    private final List<RedisAsyncCommands<String, String>> commands;
+    private final AtomicInteger[] inFlight;
+    private final Timer[] latency;
+    private final long timeoutMillis;
+
+    @Inject
+    public RedisShardConnections(RedisClient redisClient, RedisConfig config, MetricsCollector metrics) {
+        int size = config.getShardConnections();
+        this.connections = new ArrayList<>(size);
+        this.commands = new ArrayList<>(size);
+        this.inFlight = new AtomicInteger[size];
+        this.latency = new Timer[size];
+        this.timeoutMillis = config.getCommandTimeoutMillis();
+
+        for (int i = 0; i < size; i++) {
+            StatefulRedisConnection<String, String> connection = redisClient.connect();
+            connections.add(connection);
+            commands.add(connection.async());
+            inFlight[i] = new AtomicInteger();
+            metrics.registerRedisInFlightGauge(i, inFlight[i], AtomicInteger::get);
+            latency[i] = metrics.redisCommandTimer(i);
+        }
+        log.info("RedisShardConnections initialized: connections={}, timeout={}ms", size, timeoutMillis);
+    }
+
+    public int size() {
+        return connections.size();
+    }
+
+    /**
+     * 샤드 → 연결 번호
+     */
+    public int connectionOf(int shardId) {
+        return Math.floorMod(shardId, connections.size());
+    }
+
+    /**
+     * 비동기 명령 실행 (결과 대기 없음)
+     */
+    public <T> CompletionStage<T> execute(int connection,
+                                          Function<RedisAsyncCommands<String, String>, RedisFuture<T>> command) {
+        AtomicInteger counter = inFlight[connection];
+        Timer timer = latency[connection];
+        long start = System.nanoTime();
+        counter.incrementAndGet();
+        return command.apply(commands.get(connection)).whenComplete((result, error) -> {
+            counter.decrementAndGet();
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    /**
+     * 명령 실행 후 결과 대기 (commandTimeout)
+     */
+    public <T> T await(int connection, Function<RedisAsyncCommands<String, String>, RedisFuture<T>> command) {
+        try {
+            return execute(connection, command).toCompletableFuture().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Redis command interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Redis command failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Redis command timed out after " + timeoutMillis + "ms", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (StatefulRedisConnection<String, String> connection : connections) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.hts.order.cache;
+
+import com.hts.order.config.RedisConfig;
+import com.hts.order.metrics.MetricsCollector;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션 near-cache (sessionId → accountId, 프로세스 내)
+ *
+ * 설계:
+ * - long 키 고정 크기 테이블 (세그먼트 64개 락 분할, 슬롯당 최대 PROBES개 탐색) → boxing 없음
+ *   · 빈 슬롯 / 만료 슬롯 우선, 없으면 탐색 범위 내 가장 오래된 엔트리 교체 (크기 상한)
+ *   · sessionId 0은 빈 슬롯 표시 → 캐시하지 않음
+ * - TTL 경과 엔트리는 miss 처리 (무효화 유실 시 최대 staleness = TTL)
+ * - 무효화: 전용 연결에 CLIENT TRACKING ON BCAST PREFIX session: (RESP3 push)
+ *   · session:* 키가 어디서든 변경/삭제되면 invalidate push → 해당 엔트리 제거
+ *   · 재연결 / 연결 끊김 / 전체 flush → 전체 비움 (끊긴 동안의 무효화 유실 대비)
+ *   · RESP3 미지원 서버: tracking 비활성, TTL만으로 만료
+ * - miss → GET 사이에 무효화가 끼면 put 생략 (epoch 비교, 삭제된 세션 재적재 방지)
+ */
+@Singleton
+public final class SessionNearCache {
+    private static final Logger log = LoggerFactory.getLogger(SessionNearCache.class);
+
+    public static final long MISS = Long.MIN_VALUE;
+
+    private static final String KEY_PREFIX = "session:";
+    private static final int SEGMENT_COUNT = 64;
+    private static final int SEGMENT_SHIFT = 64 - Integer.numberOfTrailingZeros(SEGMENT_COUNT);
+    private static final int PROBES = 8;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private final Counter expirations;
+
+    private final StatefulRedisConnection<String, String> trackingConnection;
+    private volatile boolean trackingActive;
+
+    @Inject
+    public SessionNearCache(RedisClient redisClient, RedisConfig config, MetricsCollector metrics) {
+        this.enabled = config.isSessionCacheEnabled();
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(config.getSessionCacheTtlMillis());
+
+        int segmentCapacity = Integer.highestOneBit(Math.max(PROBES, config.getSessionCacheMaxEntries() / SEGMENT_COUNT));
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+
+        this.hits = metrics.sessionCacheCounter("hit");
+        this.misses = metrics.sessionCacheCounter("miss");
+        this.invalidations = metrics.sessionCacheCounter("invalidation");
+        this.expirations = metrics.sessionCacheCounter("expiration");
+        metrics.registerSessionCacheGauges(this, SessionNearCache::size, SessionNearCache::maxStalenessMillis);
+
+        if (!enabled) {
+            this.trackingConnection = null;
+            log.info("SessionNearCache disabled");
+            return;
+        }
+
+        redisClient.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> connection, SocketAddress socketAddress) {
+                if (connection == trackingConnection) {
+                    invalidateAll();
+                    enableTracking();
+                }
+            }
+
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+                if (connection == trackingConnection) {
+                    trackingActive = false;
+                    invalidateAll();
+                }
+            }
+        });
+        this.trackingConnection = redisClient.connect();
+        trackingConnection.addListener(this::onPushMessage);
+        enableTracking();
+
+        log.info("SessionNearCache initialized: maxEntries={}, ttl={}ms",
+                 segmentCapacity * SEGMENT_COUNT, config.getSessionCacheTtlMillis());
+    }
+
+    /**
+     * @return accountId or MISS
+     */
+    public long get(long sessionId) {
+        if (!enabled || sessionId == 0) {
+            return MISS;
+        }
+        long now = System.nanoTime();
+        Segment seg = segmentFor(sessionId);
+        long accountId;
+        synchronized (seg) {
+            accountId = seg.get(sessionId, now - ttlNanos);
+        }
+        if (accountId == MISS) {
+            misses.increment();
+        } else if (accountId == Segment.EXPIRED) {
+            expirations.increment();
+            misses.increment();
+            return MISS;
+        } else {
+            hits.increment();
+        }
+        return accountId;
+    }
+
+    /**
+     * 현재 무효화 epoch (miss 후 원격 조회 전에 읽어 put에 전달)
+     */
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * 원격 조회 결과 적재 (조회 중 무효화가 있었으면 생략)
+     */
+    public void put(long sessionId, long accountId, long observedEpoch) {
+        if (!enabled || sessionId == 0) {
+            return;
+        }
+        Segment seg = segmentFor(sessionId);
+        synchronized (seg) {
+            if (epoch.get() == observedEpoch) {
+                seg.put(sessionId, accountId, System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * 세션 무효화 (로컬 변경 / invalidate push)
+     */
+    public void invalidate(long sessionId) {
+        if (!enabled) {
+            return;
+        }
+        Segment seg = segmentFor(sessionId);
+        synchronized (seg) {
+            epoch.incrementAndGet();
+            seg.remove(sessionId);
+        }
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        for (Segment seg : segments) {
+            synchronized (seg) {
+                seg.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Segment seg : segments) {
+            total += seg.size;
+        }
+        return total;
+    }
+
+    /**
+     * 최악 staleness: tracking 활성 시 0 (push 지연만), 비활성 시 TTL
+     */
+    public double maxStalenessMillis() {
+        return trackingActive ? 0 : TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+
+    private void enableTracking() {
+        trackingConnection.async()
+                .clientTracking(new TrackingArgs().enabled(true).bcast().prefixes(KEY_PREFIX))
+                .whenComplete((ok, e) -> {
+                    if (e != null) {
+                        trackingActive = false;
+                        log.warn("Redis client tracking unavailable, session cache falls back to TTL only: {}",
+                                 e.getMessage());
+                    } else {
+                        trackingActive = true;
+                        log.info("Redis client tracking enabled: prefix={}", KEY_PREFIX);
+                    }
+                });
+    }
+
+    /**
+     * invalidate push: [ "invalidate", [key, ...] | null(전체 flush) ]
+     */
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (!(keys instanceof List<?> list)) {
+            invalidateAll();
+            return;
+        }
+        for (Object key : list) {
+            if (key instanceof String s && s.startsWith(KEY_PREFIX)) {
+                try {
+                    invalidate(Long.parseLong(s.substring(KEY_PREFIX.length())));
+                } catch (NumberFormatException e) {
+                    log.debug("Ignoring non-numeric session key: {}", s);
+                }
+            }
+        }
+    }
+
+    private Segment segmentFor(long sessionId) {
+        return segments[(int) (mix(sessionId) >>> SEGMENT_SHIFT)];
+    }
+
+    private static long mix(long key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (trackingConnection != null) {
+            trackingConnection.close();
+        }
+    }
+
+    /**
+     * 고정 크기 슬롯 (외부 synchronized 필요)
+     */
+    private static final class Segment {
+        static final long EXPIRED = MISS + 1;
+
+        final long[] keys;
+        final long[] values;
+        final long[] loadedAt;
+        final int mask;
+        int size;
+
+        Segment(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            this.loadedAt = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        long get(long key, long minLoadedAt) {
+            int base = (int) mix(key) & mask;
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (base + i) & mask;
+                if (keys[slot] == key) {
+                    if (loadedAt[slot] - minLoadedAt < 0) {
+                        keys[slot] = 0;
+                        size--;
+                        return EXPIRED;
+                    }
+                    return values[slot];
+                }
+            }
+            return MISS;
+        }
+
+        void put(long key, long value, long now) {
+            int base = (int) mix(key) & mask;
+            int target = -1;
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (base + i) & mask;
+                if (keys[slot] == key) {
+                    target = slot;
+                    break;
+                }
+                if (keys[slot] == 0) {
+                    if (target < 0 || keys[target] != 0) {
+                        target = slot;
+                    }
+                } else if (target < 0 || (keys[target] != 0 && loadedAt[slot] - loadedAt[target] < 0)) {
+                    target = slot;  // 가장 오래된 엔트리 (교체 후보)
+                }
+            }
+            if (keys[target] == 0) {
+                size++;
+            }
+            keys[target] = key;
+            values[target] = value;
+            loadedAt[target] = now;
+        }
+
+        void remove(long key) {
+            int base = (int) mix(key) & mask;
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (base + i) & mask;
+                if (keys[slot] == key) {
+                    keys[slot] = 0;
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        void clear() {
+            java.util.Arrays.fill(keys, 0);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.hts.order.client;
+
+import com.hts.generated.grpc.AccountServiceGrpc;
+import com.hts.order.config.AccountServiceConfig;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Account 인스턴스별 채널 풀 + 계좌 기준 라우팅
+ *
+ * - 멤버십: 정적 설정 (account-service.instances, 순서 = 인스턴스 번호)
+ * - 인스턴스마다 channelsPerInstance개 HTTP/2 연결 (샤드 워커들이 한 연결에 몰리지 않음)
+ * - 라우팅: shard = |accountId| % shards (AccountShardInvoker와 같은 계산)
+ *   · 소유 인스턴스 = shard % 인스턴스 수, 연결 = shard % channelsPerInstance
+ *   · 같은 계좌는 항상 같은 인스턴스 / 연결 → Account 샤드 단일 실행 순서와 일치
+ * - 장애 조치: 소유 인스턴스가 비정상이면 다음 정상 인스턴스 (ring 순서)
+ *   · 비정상 판정: RPC UNAVAILABLE 즉시 (markUnavailable) 또는 연결 상태 TRANSIENT_FAILURE / SHUTDOWN
+ *   · 복구: 주기 점검에서 READY / IDLE 연결이 있으면 정상
+ *   · 전부 비정상이면 소유 인스턴스 그대로 (gRPC 재연결에 맡김)
+ * - 스트리밍(선택): 인스턴스 × 주문 샤드 레인마다 ReserveStream 1개 (레인 % channelsPerInstance 연결, 지연 생성)
+ *   · 닫힌 스트림은 다음 요청에서 새로 열고, 서버 미지원(UNIMPLEMENTED)이면 해당 인스턴스는 단건 RPC
+ */
+final class AccountChannelPool {
+    private static final Logger log = LoggerFactory.getLogger(AccountChannelPool.class);
+
+    private final Instance[] instances;
+    private final int shards;
+    private final boolean streamEnabled;
+    private final int streamWindow;
+    private final ScheduledExecutorService healthChecker;
+    private final ScheduledExecutorService streamTimer;
+
+    /**
+     * @param lanes 스트림 레인 수 (주문 샤드 + 백그라운드)
+     */
+    AccountChannelPool(AccountServiceConfig config, int lanes) {
+        List<String> addresses = config.getInstances();
+        this.shards = config.getShards();
+        this.streamEnabled = config.isStreamEnabled();
+        this.streamWindow = config.getStreamWindow();
+        this.instances = new Instance[addresses.size()];
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = new Instance(i, addresses.get(i), config.getChannelsPerInstance(), lanes);
+        }
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "account-channel-health");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = config.getHealthCheckIntervalMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+
+        this.streamTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "account-stream-timer");
+            t.setDaemon(true);
+            return t;
+        });
+
+        log.info("AccountChannelPool: instances={}, channelsPerInstance={}, shards={}, stream={}, streamWindow={}",
+                 addresses, config.getChannelsPerInstance(), shards, streamEnabled, streamWindow);
+    }
+
+    int size() {
+        return instances.length;
+    }
+
+    /**
+     * 계좌 → Account 샤드 (AccountShardInvoker.pick과 동일)
+     */
+    int shardOf(long accountId) {
+        return (int) (Math.abs(accountId) % shards);
+    }
+
+    /**
+     * 계좌 라우팅 대상 인스턴스 번호 (장애 조치 반영)
+     */
+    int instanceOf(long accountId) {
+        int owner = shardOf(accountId) % instances.length;
+        for (int i = 0; i < instances.length; i++) {
+            int candidate = (owner + i) % instances.length;
+            if (instances[candidate].healthy) {
+                return candidate;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * @param offset 0 = 계좌 고정 연결, 1 이상 = 같은 인스턴스의 다른 연결 (hedge용)
+     */
+    AccountServiceGrpc.AccountServiceFutureStub stubFor(int instance, long accountId, int offset) {
+        Instance target = instances[instance];
+        return target.stubs[(shardOf(accountId) + offset) % target.stubs.length];
+    }
+
+    /**
+     * 레인 스트림 (스트리밍 비활성 / 서버 미지원이면 null → 단건 RPC)
+     *
+     * @param offset 0 = 레인 고정 스트림, 1 이상 = 다른 레인 스트림 (hedge용, 다른 연결)
+     */
+    AccountCommandStream streamFor(int instance, int lane, int offset) {
+        Instance target = instances[instance];
+        if (!streamEnabled || target.streamUnsupported) {
+            return null;
+        }
+        int slot = (lane + offset) % target.streams.length();
+        AccountCommandStream stream = target.streams.get(slot);
+        if (stream != null && !stream.isClosed()) {
+            return stream;
+        }
+        synchronized (target) {
+            stream = target.streams.get(slot);
+            if (stream != null && stream.isUnsupported()) {
+                target.streamUnsupported = true;
+                log.warn("Account instance {} ({}) does not support ReserveStream, using unary RPC",
+                         instance, target.address);
+                return null;
+            }
+            if (stream == null || stream.isClosed()) {
+                stream = AccountCommandStream.open(target.asyncStubs[slot % target.asyncStubs.length],
+                        "instance-" + instance + "-lane-" + slot, streamWindow, streamTimer);
+                target.streams.set(slot, stream);
+            }
+            return stream;
+        }
+    }
+
+    /**
+     * RPC UNAVAILABLE → 다음 점검까지 라우팅 제외
+     */
+    void markUnavailable(int instance) {
+        Instance target = instances[instance];
+        if (target.healthy) {
+            target.healthy = false;
+            log.warn("Account instance {} ({}) marked unavailable, failing over", instance, target.address);
+        }
+    }
+
+    private void checkHealth() {
+        for (Instance instance : instances) {
+            boolean healthy = false;
+            for (ManagedChannel channel : instance.channels) {
+                // getState(true): IDLE이면 연결 시도 → 다음 점검에서 READY 확인
+                ConnectivityState state = channel.getState(true);
+                if (state == ConnectivityState.READY || state == ConnectivityState.IDLE) {
+                    healthy = true;
+                }
+            }
+            if (healthy != instance.healthy) {
+                instance.healthy = healthy;
+                log.info("Account instance {} ({}) {}", instance.index, instance.address,
+                         healthy ? "recovered" : "unhealthy");
+            }
+        }
+    }
+
+    void shutdown() throws InterruptedException {
+        healthChecker.shutdownNow();
+        for (Instance instance : instances) {
+            instance.closeStreams();
+        }
+        for (Instance instance : instances) {
+            for (ManagedChannel channel : instance.channels) {
+                channel.shutdown();
+            }
+        }
+        for (Instance instance : instances) {
+            for (ManagedChannel channel : instance.channels) {
+                if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                    channel.shutdownNow();
+                }
+            }
+        }
+        streamTimer.shutdownNow();
+    }
+
+    void shutdownNow() {
+        healthChecker.shutdownNow();
+        streamTimer.shutdownNow();
+        for (Instance instance : instances) {
+            for (ManagedChannel channel : instance.channels) {
+                channel.shutdownNow();
+            }
+        }
+    }
+
+    private static final class Instance {
+        final int index;
+        final String address;
+        final ManagedChannel[] channels;
+        final AccountServiceGrpc.AccountServiceFutureStub[] stubs;
+        final AccountServiceGrpc.AccountServiceStub[] asyncStubs;
+        final AtomicReferenceArray<AccountCommandStream> streams;
+        volatile boolean healthy = true;
+        volatile boolean streamUnsupported;
+
+        Instance(int index, String address, int channelCount, int lanes) {
+            this.index = index;
+            this.address = address;
+            this.channels = new ManagedChannel[channelCount];
+            this.stubs = new AccountServiceGrpc.AccountServiceFutureStub[channelCount];
+            this.asyncStubs = new AccountServiceGrpc.AccountServiceStub[channelCount];
+            this.streams = new AtomicReferenceArray<>(lanes);
+            for (int i = 0; i < channelCount; i++) {
+                channels[i] = ManagedChannelBuilder.forTarget(address)
+                        .usePlaintext()
+                        .build();
+                stubs[i] = AccountServiceGrpc.newFutureStub(channels[i]);
+                asyncStubs[i] = AccountServiceGrpc.newStub(channels[i]);
+            }
+        }
+
+        void closeStreams() {
+            for (int i = 0; i < streams.length(); i++) {
+                AccountCommandStream stream = streams.get(i);
+                if (stream != null) {
+                    stream.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.hts.order.client;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.hts.generated.grpc.AccountCommand;
+import com.hts.generated.grpc.AccountCommandReply;
+import com.hts.generated.grpc.AccountServiceGrpc;
+import com.hts.generated.grpc.ResultCode;
+import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Account ReserveStream 1개 (Account 인스턴스 × 주문 샤드 레인)
+ *
+ * - correlation_id로 응답 매칭 (응답 순서는 요청 순서와 무관)
+ * - 흐름 제어: 응답 자동 request 끄고 window개 선요청, 응답 1건 처리 시 request(1)
+ *   · 처리 중 요청이 window 이상이면 RESOURCE_EXHAUSTED (재시도 대상, 전송 버퍼 상한)
+ * - 요청별 deadline은 타이머로 (스트림 자체엔 deadline 없음) → DEADLINE_EXCEEDED
+ * - 스트림 종료 / 오류 시 처리 중 요청 전부 UNAVAILABLE (같은 request_id로 재시도 → Account에서 멱등)
+ *   · 다음 요청에서 AccountChannelPool이 새 스트림을 연다
+ *   · 서버가 UNIMPLEMENTED면 unsupported → 풀이 단건 RPC로 전환
+ */
+final class AccountCommandStream implements ClientResponseObserver<AccountCommand, AccountCommandReply> {
+    private static final Logger log = LoggerFactory.getLogger(AccountCommandStream.class);
+
+    private final String name;
+    private final int window;
+    private final ScheduledExecutorService timer;
+    private final Map<Long, SettableFuture<ResultCode>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong correlationIds = new AtomicLong();
+
+    private ClientCallStreamObserver<AccountCommand> requests;
+    private volatile boolean closed;
+    private volatile boolean unsupported;
+
+    private AccountCommandStream(String name, int window, ScheduledExecutorService timer) {
+        this.name = name;
+        this.window = window;
+        this.timer = timer;
+    }
+
+    static AccountCommandStream open(AccountServiceGrpc.AccountServiceStub stub, String name, int window,
+                                     ScheduledExecutorService timer) {
+        AccountCommandStream stream = new AccountCommandStream(name, window, timer);
+        stub.reserveStream(stream);  // beforeStart가 여기서 동기 호출됨
+        log.info("Account stream opened: {}", name);
+        return stream;
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<AccountCommand> requestStream) {
+        this.requests = requestStream;
+        requestStream.disableAutoRequestWithInitial(window);
+    }
+
+    /**
+     * @param command correlation_id 미설정 명령
+     */
+    ListenableFuture<ResultCode> send(AccountCommand command, long timeoutMillis) {
+        SettableFuture<ResultCode> reply = SettableFuture.create();
+        if (closed) {
+            reply.setException(Status.UNAVAILABLE.withDescription("Account stream closed").asRuntimeException());
+            return reply;
+        }
+        if (pending.size() >= window) {
+            reply.setException(Status.RESOURCE_EXHAUSTED.withDescription("Account stream window full")
+                    .asRuntimeException());
+            return reply;
+        }
+
+        long id = correlationIds.incrementAndGet();
+        pending.put(id, reply);
+        ScheduledFuture<?> deadline = timer.schedule(() -> {
+            if (pending.remove(id) != null) {
+                reply.setException(Status.DEADLINE_EXCEEDED.asRuntimeException());
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        // 완료 / 호출 측 취소(hedge 패자) 모두 정리
+        reply.addListener(() -> {
+            deadline.cancel(false);
+            pending.remove(id);
+        }, MoreExecutors.directExecutor());
+
+        AccountCommand message = command.toBuilder().setCorrelationId(id).build();
+        synchronized (this) {
+            if (closed) {
+                reply.setException(Status.UNAVAILABLE.withDescription("Account stream closed").asRuntimeException());
+                return reply;
+            }
+            requests.onNext(message);
+        }
+        return reply;
+    }
+
+    @Override
+    public void onNext(AccountCommandReply reply) {
+        SettableFuture<ResultCode> future = pending.remove(reply.getCorrelationId());
+        if (future != null) {
+            future.set(reply.getCode());
+        }
+        requests.request(1);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        Status status = Status.fromThrowable(t);
+        if (status.getCode() == Status.Code.UNIMPLEMENTED) {
+            unsupported = true;
+        }
+        log.warn("Account stream {} failed: {}", name, status);
+        fail();
+    }
+
+    @Override
+    public void onCompleted() {
+        log.info("Account stream {} completed by server", name);
+        fail();
+    }
+
+    private void fail() {
+        synchronized (this) {
+            closed = true;
+        }
+        for (Long id : pending.keySet()) {
+            SettableFuture<ResultCode> future = pending.remove(id);
+            if (future != null) {
+                future.setException(Status.UNAVAILABLE.withDescription("Account stream closed").asRuntimeException());
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    boolean isUnsupported() {
+        return unsupported;
+    }
+
+    /**
+     * half-close (서버는 처리 중 요청 응답 후 종료)
+     */
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            requests.onCompleted();
+        }
+    }
+}
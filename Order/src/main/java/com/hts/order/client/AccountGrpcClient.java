@@ -1,104 +1,507 @@
 package com.hts.order.client;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.hts.generated.grpc.*;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import com.hts.order.config.AccountServiceConfig;
+import com.hts.order.global.OrderIdGenerator;
+import com.hts.order.metrics.MetricsCollector;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
+/**
+ * Account 예수금 예약/해제 클라이언트
+ *
+ * - 계좌별로 소유 Account 인스턴스 / 연결로 라우팅 (AccountChannelPool)
+ * - 전송: 주문 샤드 레인별 ReserveStream (스트리밍 비활성 / 서버 미지원이면 단건 RPC), 재시도 / hedge / 격리는 동일
+ * - UNAVAILABLE 응답 시 해당 인스턴스를 라우팅에서 제외 (다음 요청부터 장애 조치)
+ * - request_id는 호출 측이 AccountRequestIds로 결정 → 재시도 / hedge 모두 같은 ID (Account에서 멱등)
+ *   · 시도마다 attemptTimeout, 일시 오류(UNAVAILABLE / DEADLINE_EXCEEDED 등) 또는 처리 중 중복은 재시도
+ *   · 응답 코드는 업무 거절(잔고 부족 / 계좌 없음 / 정지 / 잘못된 요청)만 REJECTED 확정
+ *     INTERNAL_ERROR 등 그 외 코드는 일시 오류로 재시도, 소진 시 UNKNOWN (해제는 백그라운드 재전송)
+ *   · 재시도 / hedge는 RetryBudget 안에서만
+ *   · hedge(선택): max(minDelay, 최근 p99) 내 응답이 없으면 같은 인스턴스 다른 연결로 한 번 더, 먼저 온 응답 사용
+ *   · 호출 전체 deadline(callTimeout) 안에서만 시도 / backoff (시도별 deadline = min(attemptTimeout, 남은 시간))
+ * - 격리 (전송 전 즉시 실패 → 워커가 Account 지연에 묶이지 않음)
+ *   · bulkhead: 주문 샤드별 동시 호출 상한, maxWait 초과 시 BULKHEAD_FULL
+ *   · circuit breaker: Account 인스턴스별, OPEN이면 CIRCUIT_OPEN
+ *   · 백그라운드 재전송은 별도 bulkhead 레인 (주문 샤드 레인 미점유)
+ * - 재시도 후에도 결과 불명(UNKNOWN):
+ *   · unreserve: 같은 ID로 백그라운드 재전송 (반영될 때까지)
+ *   · reserve: 호출 측이 abandonReserve → 같은 ID로 재전송해 결과 확정, 반영됐으면 해제 (예수금 잠김 방지)
+ */
 public class AccountGrpcClient {
     private static final Logger log = LoggerFactory.getLogger(AccountGrpcClient.class);
 
-    private final ManagedChannel channel;
-    private final AccountServiceGrpc.AccountServiceBlockingStub blockingStub;
+    private static final int RECONCILE_MAX_ATTEMPTS = 20;
+    private static final long RECONCILE_MAX_BACKOFF_MS = 30_000;
 
-    public AccountGrpcClient(String host, int port) {
-        this.channel = ManagedChannelBuilder.forAddress(host, port)
-                .usePlaintext()
+    public enum Outcome {
+        APPLIED,   // 반영 (중복 요청의 최초 결과 포함)
+        REJECTED,  // 거절 확정 (잔고 부족 등)
+        UNKNOWN,   // 재시도 소진, 반영 여부 불명
+        CIRCUIT_OPEN,  // 미전송 (circuit breaker OPEN)
+        BULKHEAD_FULL; // 미전송 (샤드 동시 호출 상한)
+
+        /**
+         * @return Account에 요청이 나갔을 수 있는지 (false면 반영되지 않음 확정)
+         */
+        public boolean wasSent() {
+            return this != CIRCUIT_OPEN && this != BULKHEAD_FULL;
+        }
+    }
+
+    private static final int BACKGROUND_LANE = OrderIdGenerator.getLogicalShardCount();
+
+    private final AccountChannelPool pool;
+    private final MetricsCollector metrics;
+    private final long callTimeoutNanos;
+    private final long attemptTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final boolean hedgeEnabled;
+    private final long hedgeMinDelayNanos;
+    private final RetryBudget budget;
+    private final LatencyTracker latency = new LatencyTracker();
+    private final Semaphore[] bulkheads;
+    private final long bulkheadMaxWaitMillis;
+    private final CircuitBreaker[] breakers;
+    private final ScheduledExecutorService reconciler;
+
+    public AccountGrpcClient(AccountServiceConfig config, MetricsCollector metrics) {
+        this.pool = new AccountChannelPool(config, BACKGROUND_LANE + 1);
+        this.metrics = metrics;
+        this.callTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getCallTimeoutMillis());
+        this.attemptTimeoutMillis = config.getAttemptTimeoutMillis();
+        this.maxAttempts = Math.max(1, config.getMaxAttempts());
+        this.retryBackoffMillis = config.getRetryBackoffMillis();
+        this.hedgeEnabled = config.isHedgeEnabled();
+        this.hedgeMinDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.getHedgeMinDelayMillis());
+        this.budget = new RetryBudget(config.getRetryBudgetTokens(), config.getRetryBudgetTokenRatio());
+
+        // 주문 샤드 레인 0..63 + 백그라운드 레인
+        this.bulkheads = new Semaphore[BACKGROUND_LANE + 1];
+        for (int i = 0; i < bulkheads.length; i++) {
+            bulkheads[i] = new Semaphore(config.getBulkheadMaxConcurrent());
+        }
+        this.bulkheadMaxWaitMillis = config.getBulkheadMaxWaitMillis();
+
+        this.breakers = new CircuitBreaker[pool.size()];
+        for (int i = 0; i < breakers.length; i++) {
+            breakers[i] = new CircuitBreaker(
+                    config.getBreakerWindow(),
+                    config.getBreakerMinimumCalls(),
+                    config.getBreakerFailureRatePercent(),
+                    TimeUnit.MILLISECONDS.toNanos(config.getBreakerSlowCallMillis()),
+                    TimeUnit.MILLISECONDS.toNanos(config.getBreakerOpenMillis()),
+                    config.getBreakerHalfOpenProbes());
+            metrics.registerAccountCircuitGauge(i, breakers[i], CircuitBreaker::stateValue);
+        }
+
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "account-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("AccountGrpcClient: callTimeout={}ms, attemptTimeout={}ms, maxAttempts={}, hedge={}, bulkhead={}",
+                 config.getCallTimeoutMillis(), attemptTimeoutMillis, maxAttempts, hedgeEnabled,
+                 config.getBulkheadMaxConcurrent());
+    }
+
+    /**
+     * 예수금 예약 (주문 접수 / 정정 증액 시)
+     * @param shardId 호출 워커의 주문 샤드 (bulkhead 레인)
+     * @param requestId AccountRequestIds로 생성한 ID
+     */
+    public Outcome reserve(int shardId, String requestId, long accountId, BigDecimal amount) {
+        AccountCommand command = AccountCommand.newBuilder()
+                .setReserve(ReserveRequest.newBuilder()
+                        .setAccountId(accountId)
+                        .setAmount(amount.toPlainString())
+                        .setRequestId(requestId))
                 .build();
-        this.blockingStub = AccountServiceGrpc.newBlockingStub(channel);
-        log.info("AccountGrpcClient connected to {}:{}", host, port);
+
+        Reply reply = invoke("Reserve", shardId, accountId, requestId, command);
+        Outcome outcome = reply.outcome();
+        if (outcome == Outcome.APPLIED) {
+            log.debug("Reserve success: accountId={}, amount={}, requestId={}", accountId, amount, requestId);
+        } else if (outcome == Outcome.REJECTED) {
+            log.warn("Reserve failed: accountId={}, amount={}, code={}, requestId={}",
+                    accountId, amount, reply.code(), requestId);
+        }
+        return outcome;
     }
 
     /**
-     * 예수금 예약 (주문 접수 시)
-     * @return true if success, false if insufficient funds or other error
+     * 예약 해제 (주문 취소 / 정정 감액 / 접수 실패 보상)
+     *
+     * - 확정되지 않으면(UNKNOWN / 미전송) 같은 ID로 백그라운드 재전송 (이중 해제 없음)
      */
-    public boolean reserve(long accountId, BigDecimal amount) {
-        String requestId = UUID.randomUUID().toString();
+    public Outcome unreserve(int shardId, String requestId, long accountId, BigDecimal amount) {
+        Outcome outcome = unreserveOnce(shardId, requestId, accountId, amount);
+        if (!isSettled(outcome)) {
+            reconcile(1, requestId, () -> isSettled(unreserveOnce(BACKGROUND_LANE, requestId, accountId, amount)));
+        }
+        return outcome;
+    }
 
-        ReserveRequest request = ReserveRequest.newBuilder()
-                .setAccountId(accountId)
-                .setAmount(amount.toPlainString())
-                .setRequestId(requestId)
-                .build();
+    /**
+     * 저널 fsync 완료 후 예약 해제 (호출 측의 fsync 대기가 시간 초과 / 인터럽트된 경우)
+     *
+     * - 상태 변경은 이미 메모리 / 큐에 반영 → 재요청으로는 해제되지 않으므로 영속화 시점에 해제
+     * - 완료 콜백은 저널 flusher 스레드 → 해제 호출은 reconciler 스레드로 넘김 (group commit 지연 방지)
+     * - 같은 requestId → 호출 측이 이미 해제했어도 이중 해제 없음
+     */
+    public void unreserveWhenDurable(CompletableFuture<Void> durable, String requestId, long accountId,
+                                     BigDecimal amount) {
+        durable.whenComplete((v, error) -> {
+            if (error != null) {
+                log.error("Journal never became durable, unreserve skipped: requestId={}, accountId={}, amount={}",
+                          requestId, accountId, amount, error);
+                return;
+            }
+            try {
+                reconciler.execute(() -> unreserve(BACKGROUND_LANE, requestId, accountId, amount));
+            } catch (RejectedExecutionException e) {
+                log.error("Deferred unreserve dropped (shutting down), manual settlement required: requestId={}",
+                          requestId);
+            }
+        });
+    }
 
-        try {
-            ReserveReply reply = blockingStub.reserve(request);
-
-            if (reply.getCode() == ResultCode.SUCCESS) {
-                log.debug("Reserve success: accountId={}, amount={}, requestId={}",
-                        accountId, amount, requestId);
-                return true;
-            } else {
-                log.warn("Reserve failed: accountId={}, amount={}, code={}, requestId={}",
-                        accountId, amount, reply.getCode(), requestId);
+    /**
+     * 결과 불명 reserve 정리 (호출 측은 주문을 거절한 상태)
+     *
+     * - 같은 reserveId로 재전송 → 반영 여부 확정 (미도착이었다면 이 시점에 반영됨)
+     * - 반영됐으면 releaseId로 해제
+     */
+    public void abandonReserve(String reserveId, String releaseId, long accountId, BigDecimal amount) {
+        log.warn("Reserve outcome unknown, reconciling: accountId={}, amount={}, requestId={}",
+                 accountId, amount, reserveId);
+        reconcile(1, reserveId, () -> {
+            Outcome outcome = reserve(BACKGROUND_LANE, reserveId, accountId, amount);
+            if (!isSettled(outcome)) {
                 return false;
             }
-        } catch (StatusRuntimeException e) {
-            log.error("Reserve RPC failed: accountId={}, amount={}, requestId={}",
-                    accountId, amount, requestId, e);
-            return false;
+            if (outcome == Outcome.APPLIED) {
+                unreserve(BACKGROUND_LANE, releaseId, accountId, amount);
+            }
+            return true;
+        });
+    }
+
+    private Outcome unreserveOnce(int shardId, String requestId, long accountId, BigDecimal amount) {
+        AccountCommand command = AccountCommand.newBuilder()
+                .setUnreserve(UnreserveRequest.newBuilder()
+                        .setAccountId(accountId)
+                        .setAmount(amount.toPlainString())
+                        .setRequestId(requestId))
+                .build();
+
+        Reply reply = invoke("Unreserve", shardId, accountId, requestId, command);
+        Outcome outcome = reply.outcome();
+        if (outcome == Outcome.APPLIED) {
+            log.debug("Unreserve success: accountId={}, amount={}, requestId={}", accountId, amount, requestId);
+        } else if (outcome == Outcome.REJECTED) {
+            log.warn("Unreserve failed: accountId={}, amount={}, code={}, requestId={}",
+                    accountId, amount, reply.code(), requestId);
         }
+        return outcome;
+    }
+
+    private static boolean isSettled(Outcome outcome) {
+        return outcome == Outcome.APPLIED || outcome == Outcome.REJECTED;
     }
 
     /**
-     * 예약 해제 (주문 취소 시)
-     * @return true if success, false if error
+     * 호출 결과 (code는 응답을 받은 경우만)
      */
-    public boolean unreserve(long accountId, BigDecimal amount) {
-        String requestId = UUID.randomUUID().toString();
+    private record Reply(Outcome outcome, ResultCode code) {
+        static final Reply UNKNOWN = new Reply(Outcome.UNKNOWN, null);
+        static final Reply CIRCUIT_OPEN = new Reply(Outcome.CIRCUIT_OPEN, null);
+        static final Reply BULKHEAD_FULL = new Reply(Outcome.BULKHEAD_FULL, null);
 
-        UnreserveRequest request = UnreserveRequest.newBuilder()
-                .setAccountId(accountId)
-                .setAmount(amount.toPlainString())
-                .setRequestId(requestId)
-                .build();
+        static Reply of(ResultCode code) {
+            return new Reply(code == ResultCode.SUCCESS ? Outcome.APPLIED : Outcome.REJECTED, code);
+        }
+    }
 
+    /**
+     * 확정 응답 여부 (성공 or 업무 거절, 같은 ID 재시도해도 결과 동일)
+     */
+    private static boolean isSettledCode(ResultCode code) {
+        return switch (code) {
+            case SUCCESS, INSUFFICIENT_FUNDS, ACCOUNT_NOT_FOUND, ACCOUNT_SUSPENDED, INVALID_REQUEST -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * bulkhead 레인 점유 후 재시도 루프
+     */
+    private Reply invoke(String method, int shardId, long accountId, String requestId, AccountCommand command) {
+        int lane = shardId >= 0 && shardId < BACKGROUND_LANE ? shardId : BACKGROUND_LANE;
+        Semaphore bulkhead = bulkheads[lane];
         try {
-            UnreserveReply reply = blockingStub.unreserve(request);
-
-            if (reply.getCode() == ResultCode.SUCCESS) {
-                log.debug("Unreserve success: accountId={}, amount={}, requestId={}",
-                        accountId, amount, requestId);
-                return true;
-            } else {
-                log.warn("Unreserve failed: accountId={}, amount={}, code={}, requestId={}",
-                        accountId, amount, reply.getCode(), requestId);
-                return false;
+            if (!bulkhead.tryAcquire(bulkheadMaxWaitMillis, TimeUnit.MILLISECONDS)) {
+                metrics.recordAccountCallRejected("bulkhead_full");
+                log.warn("{} rejected, bulkhead full: shard={}, accountId={}, requestId={}",
+                         method, shardId, accountId, requestId);
+                return Reply.BULKHEAD_FULL;
             }
-        } catch (StatusRuntimeException e) {
-            log.error("Unreserve RPC failed: accountId={}, amount={}, requestId={}",
-                    accountId, amount, requestId, e);
-            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Reply.BULKHEAD_FULL;
+        }
+        try {
+            return invokeWithRetry(method, lane, accountId, requestId, command);
+        } finally {
+            bulkhead.release();
         }
     }
 
     /**
-     * Shutdown the channel gracefully
+     * 재시도 루프
+     *
+     * - 첫 시도 전 circuit OPEN이면 미전송(CIRCUIT_OPEN), 이미 전송한 뒤면 UNKNOWN
+     */
+    private Reply invokeWithRetry(String method, int lane, long accountId, String requestId, AccountCommand command) {
+        long callDeadline = System.nanoTime() + callTimeoutNanos;
+        for (int attempt = 1; ; attempt++) {
+            int instance = pool.instanceOf(accountId);
+            CircuitBreaker breaker = breakers[instance];
+            if (!breaker.tryAcquire()) {
+                metrics.recordAccountCallRejected("circuit_open");
+                log.warn("{} rejected, circuit open: instance={}, accountId={}, requestId={}",
+                         method, instance, accountId, requestId);
+                return attempt == 1 ? Reply.CIRCUIT_OPEN : Reply.UNKNOWN;
+            }
+
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(callDeadline - System.nanoTime());
+            long start = System.nanoTime();
+            try {
+                ResultCode code = attempt(instance, lane, accountId,
+                        Math.max(1, Math.min(attemptTimeoutMillis, remainingMillis)), command);
+                if (isSettledCode(code)) {
+                    breaker.onSuccess(System.nanoTime() - start);
+                    budget.onSuccess();
+                    return Reply.of(code);
+                }
+                if (code == ResultCode.DUPLICATE_REQUEST) {
+                    // 같은 ID 최초 요청이 아직 처리 중 → 재시도로 최초 결과 확인
+                    breaker.onSuccess(System.nanoTime() - start);
+                    budget.onSuccess();
+                } else {
+                    // Account 내부 오류 (샤드 큐 포화 / DB 오류 등) → 반영 안 됨, 같은 ID로 재시도
+                    breaker.onFailure();
+                    budget.onFailure();
+                    log.warn("{} attempt {} returned {}: accountId={}, requestId={}",
+                             method, attempt, code, accountId, requestId);
+                }
+            } catch (StatusRuntimeException e) {
+                breaker.onFailure();
+                budget.onFailure();
+                if (e.getStatus().getCode() == Status.Code.UNAVAILABLE) {
+                    pool.markUnavailable(instance);
+                }
+                if (!isRetryable(e.getStatus().getCode())) {
+                    log.error("{} RPC failed: accountId={}, requestId={}", method, accountId, requestId, e);
+                    return Reply.UNKNOWN;
+                }
+                log.warn("{} RPC attempt {} failed: accountId={}, requestId={}, status={}",
+                         method, attempt, accountId, requestId, e.getStatus().getCode());
+            }
+
+            long backoffMillis = retryBackoffMillis * attempt;
+            if (attempt >= maxAttempts
+                    || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis) >= callDeadline
+                    || !budget.allowRetry()) {
+                log.error("{} RPC gave up after {} attempts: accountId={}, requestId={}",
+                          method, attempt, accountId, requestId);
+                return Reply.UNKNOWN;
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Reply.UNKNOWN;
+            }
+        }
+    }
+
+    /**
+     * 1회 시도 (hedge 포함)
+     */
+    private ResultCode attempt(int instance, int lane, long accountId, long timeoutMillis, AccountCommand command) {
+        long start = System.nanoTime();
+        ListenableFuture<ResultCode> primary = send(instance, lane, accountId, 0, timeoutMillis, command);
+
+        ResultCode reply;
+        if (!hedgeEnabled) {
+            reply = await(primary);
+        } else {
+            long hedgeDelay = Math.max(hedgeMinDelayNanos, latency.p99Nanos());
+            try {
+                reply = primary.get(hedgeDelay, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (budget.allowRetry()) {
+                    ListenableFuture<ResultCode> hedge = send(instance, lane, accountId, 1,
+                            Math.max(1, timeoutMillis - TimeUnit.NANOSECONDS.toMillis(hedgeDelay)), command);
+                    reply = first(primary, hedge);
+                } else {
+                    reply = await(primary);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                primary.cancel(true);
+                throw Status.CANCELLED.withCause(e).asRuntimeException();
+            } catch (ExecutionException e) {
+                throw asStatusException(e.getCause());
+            }
+        }
+
+        latency.record(System.nanoTime() - start);
+        return reply;
+    }
+
+    /**
+     * 전송 (레인 스트림, 없으면 단건 RPC)
+     *
+     * @param offset 0 = 기본 경로, 1 = hedge용 다른 연결
+     */
+    private ListenableFuture<ResultCode> send(int instance, int lane, long accountId, int offset,
+                                              long timeoutMillis, AccountCommand command) {
+        AccountCommandStream stream = pool.streamFor(instance, lane, offset);
+        if (stream != null) {
+            return stream.send(command, timeoutMillis);
+        }
+
+        AccountServiceGrpc.AccountServiceFutureStub stub = pool.stubFor(instance, accountId, offset)
+                .withDeadlineAfter(timeoutMillis, TimeUnit.MILLISECONDS);
+        return command.hasReserve()
+                ? Futures.transform(stub.reserve(command.getReserve()), ReserveReply::getCode,
+                        MoreExecutors.directExecutor())
+                : Futures.transform(stub.unreserve(command.getUnreserve()), UnreserveReply::getCode,
+                        MoreExecutors.directExecutor());
+    }
+
+    /**
+     * 먼저 성공한 응답 (둘 다 실패하면 마지막 오류), 나머지는 취소
+     */
+    private static <R> R first(ListenableFuture<R> a, ListenableFuture<R> b) {
+        CompletableFuture<R> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        FutureCallback<R> callback = new FutureCallback<>() {
+            @Override
+            public void onSuccess(R result) {
+                winner.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(t);
+                }
+            }
+        };
+        Futures.addCallback(a, callback, MoreExecutors.directExecutor());
+        Futures.addCallback(b, callback, MoreExecutors.directExecutor());
+        try {
+            return await(winner);
+        } finally {
+            a.cancel(true);
+            b.cancel(true);
+        }
+    }
+
+    private static <R> R await(Future<R> future) {
+        try {
+            // deadline이 걸려 있어 무한 대기 없음
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw Status.CANCELLED.withCause(e).asRuntimeException();
+        } catch (ExecutionException e) {
+            throw asStatusException(e.getCause());
+        }
+    }
+
+    private static StatusRuntimeException asStatusException(Throwable cause) {
+        if (cause instanceof StatusRuntimeException sre) {
+            return sre;
+        }
+        return Status.fromThrowable(cause).asRuntimeException();
+    }
+
+    private static boolean isRetryable(Status.Code code) {
+        return code == Status.Code.UNAVAILABLE
+                || code == Status.Code.DEADLINE_EXCEEDED
+                || code == Status.Code.RESOURCE_EXHAUSTED
+                || code == Status.Code.ABORTED;
+    }
+
+    /**
+     * 백그라운드 재전송 (지수 backoff, 상한 초과 시 수동 정산 대상으로 로그)
+     *
+     * @param task 결과 확정 시 true
+     */
+    private void reconcile(int attempt, String requestId, BooleanSupplier task) {
+        long backoff = Math.min(RECONCILE_MAX_BACKOFF_MS, retryBackoffMillis * (1L << Math.min(attempt + 4, 20)));
+        try {
+            reconciler.schedule(() -> {
+                boolean settled;
+                try {
+                    settled = task.getAsBoolean();
+                } catch (Exception e) {
+                    log.error("Account reconcile failed: requestId={}", requestId, e);
+                    settled = false;
+                }
+                if (!settled) {
+                    if (attempt < RECONCILE_MAX_ATTEMPTS) {
+                        reconcile(attempt + 1, requestId, task);
+                    } else {
+                        log.error("Account reconcile exhausted, manual settlement required: requestId={}", requestId);
+                    }
+                }
+            }, backoff, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.error("Account reconcile dropped (shutting down), manual settlement required: requestId={}",
+                      requestId);
+        }
+    }
+
+    /**
+     * Shutdown the channels gracefully
      */
     public void shutdown() {
+        int pending = reconciler.shutdownNow().size();
+        if (pending > 0) {
+            log.error("AccountGrpcClient shutdown with {} unsettled requests (see reconcile logs)", pending);
+        }
         try {
-            channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+            pool.shutdown();
             log.info("AccountGrpcClient shutdown complete");
         } catch (InterruptedException e) {
             log.error("AccountGrpcClient shutdown interrupted", e);
-            channel.shutdownNow();
+            pool.shutdownNow();
             Thread.currentThread().interrupt();
         }
     }
@@ -0,0 +1,43 @@
+package com.hts.order.client;
+
+/**
+ * Account reserve / unreserve request_id 생성
+ *
+ * - orderId + 연산으로 결정 (UUID 생성 없음) → 재시도 / hedge / 재기동 후 재전송이 같은 ID
+ * - Account request_history(request_id PK, VARCHAR(64))가 중복을 최초 결과로 응답 → 이중 예약 없음
+ * - 주문당 한 번뿐인 연산은 orderId만, 반복 가능한 연산(정정 / 일괄 취소)은 워커가 발급한 연산 ID를 붙임
+ */
+public final class AccountRequestIds {
+
+    private AccountRequestIds() {}
+
+    /** 접수 시 예약 */
+    public static String reserve(long orderId) {
+        return "o" + orderId + ":R";
+    }
+
+    /** 접수 실패 시 예약 반환 (보상) */
+    public static String release(long orderId) {
+        return "o" + orderId + ":U";
+    }
+
+    /** 취소 시 잔여 예약 반환 */
+    public static String cancel(long orderId) {
+        return "o" + orderId + ":C";
+    }
+
+    /** 정정 증액분 예약 */
+    public static String amendReserve(long orderId, long operationId) {
+        return "o" + orderId + ":AR" + operationId;
+    }
+
+    /** 정정 감액분 반환 (또는 증액 예약 보상) */
+    public static String amendRelease(long orderId, long operationId) {
+        return "o" + orderId + ":AU" + operationId;
+    }
+
+    /** 일괄 취소 합계 반환 */
+    public static String massCancel(long accountId, long operationId) {
+        return "a" + accountId + ":M" + operationId;
+    }
+}
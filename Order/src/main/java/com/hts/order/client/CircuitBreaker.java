@@ -0,0 +1,119 @@
+package com.hts.order.client;
+
+/**
+ * Account 인스턴스별 circuit breaker (호출 수 기준 슬라이딩 윈도)
+ *
+ * - CLOSED: 최근 window건 중 실패(오류 + slowCall 초과 지연) 비율이 임계 이상이면 OPEN (minimumCalls 이후)
+ * - OPEN: openDuration 동안 즉시 거절 (RPC 미전송 → 워커가 Account 지연에 묶이지 않음)
+ * - HALF_OPEN: probe 호출 halfOpenProbes건만 허용, 전부 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * - 호출 단위가 ms 수준이라 synchronized로 충분
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+
+    private State state = State.CLOSED;
+    private int index;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent,
+                   long slowCallNanos, long openDurationNanos, int halfOpenProbes) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRatePercent = failureRatePercent;
+        this.slowCallNanos = slowCallNanos;
+        this.openDurationNanos = openDurationNanos;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /**
+     * @return 호출 허용 여부 (false면 전송하지 않고 즉시 실패)
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesIssued = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= halfOpenProbes) {
+                return false;
+            }
+            probesIssued++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess(long latencyNanos) {
+        record(latencyNanos > slowCallNanos);
+    }
+
+    synchronized void onFailure() {
+        record(true);
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    double stateValue() {
+        return state().ordinal();
+    }
+
+    private void record(boolean failed) {
+        if (state == State.HALF_OPEN) {
+            if (failed) {
+                open();
+            } else if (++probesSucceeded >= halfOpenProbes) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;  // 열리기 전에 나간 호출의 늦은 결과
+        }
+
+        if (calls == window.length) {
+            if (window[index]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[index] = failed;
+        if (failed) {
+            failures++;
+        }
+        index = (index + 1) % window.length;
+
+        if (calls >= minimumCalls && failures * 100 >= failureRatePercent * calls) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        index = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.hts.order.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근 RPC 지연 p99 추정 (hedge 지연 계산용)
+ *
+ * - 최근 SAMPLES건 링 버퍼, RECOMPUTE_EVERY건마다 기록 스레드에서 재계산
+ * - 슬롯 쓰기는 동기화 없음 (추정치 용도, 일부 샘플 유실 허용)
+ */
+final class LatencyTracker {
+    private static final int SAMPLES = 1024;
+    private static final int RECOMPUTE_EVERY = 128;
+
+    private final long[] samples = new long[SAMPLES];
+    private final AtomicLong count = new AtomicLong();
+    private volatile long p99Nanos;
+
+    void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples[(int) (n & (SAMPLES - 1))] = nanos;
+        if ((n & (RECOMPUTE_EVERY - 1)) == RECOMPUTE_EVERY - 1) {
+            recompute((int) Math.min(n + 1, SAMPLES));
+        }
+    }
+
+    /**
+     * @return p99 (ns), 샘플 부족 시 0
+     */
+    long p99Nanos() {
+        return p99Nanos;
+    }
+
+    private void recompute(int size) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        p99Nanos = sorted[Math.min(size - 1, (int) (size * 0.99))];
+    }
+}
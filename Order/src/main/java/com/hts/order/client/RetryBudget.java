@@ -0,0 +1,40 @@
+package com.hts.order.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재시도 / hedge 예산 (gRPC retry throttling 방식)
+ *
+ * - 실패 시 토큰 -1, 성공 시 +ratio (상한 maxTokens)
+ * - 토큰이 절반 이하면 재시도 / hedge 금지 → Account 장애 시 재시도가 부하를 키우지 않음
+ * - 정수 연산을 위해 1000배 스케일로 보관
+ */
+final class RetryBudget {
+    private static final int SCALE = 1000;
+
+    private final int maxTokens;
+    private final int threshold;
+    private final int successCredit;
+    private final AtomicInteger tokens;
+
+    RetryBudget(int maxTokens, double tokenRatio) {
+        this.maxTokens = maxTokens * SCALE;
+        this.threshold = this.maxTokens / 2;
+        this.successCredit = (int) Math.round(tokenRatio * SCALE);
+        this.tokens = new AtomicInteger(this.maxTokens);
+    }
+
+    boolean allowRetry() {
+        return tokens.get() > threshold;
+    }
+
+    void onSuccess() {
+        if (tokens.get() < maxTokens) {
+            tokens.updateAndGet(t -> Math.min(maxTokens, t + successCredit));
+        }
+    }
+
+    void onFailure() {
+        tokens.updateAndGet(t -> Math.max(0, t - SCALE));
+    }
+}
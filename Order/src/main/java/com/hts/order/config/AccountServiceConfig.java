@@ -4,6 +4,7 @@ import com.typesafe.config.Config;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.List;
 
 @Singleton
 public final class AccountServiceConfig {
@@ -21,4 +22,112 @@ public final class AccountServiceConfig {
     public int getPort() {
         return config.getInt("port");
     }
+
+    /**
+     * Account 인스턴스 목록 ("host:port", 순서 = 인스턴스 번호)
+     * 비어 있으면 host / port 단일 인스턴스
+     */
+    public List<String> getInstances() {
+        List<String> instances = config.getStringList("instances");
+        return instances.isEmpty() ? List.of(getHost() + ":" + getPort()) : instances;
+    }
+
+    /**
+     * Account 서버 샤드 수 (AccountShardInvoker.NUM_SHARDS와 동일해야 함)
+     */
+    public int getShards() {
+        return config.getInt("shards");
+    }
+
+    public int getChannelsPerInstance() {
+        return config.getInt("channels-per-instance");
+    }
+
+    public long getHealthCheckIntervalMillis() {
+        return config.getLong("health-check-interval-ms");
+    }
+
+    /**
+     * RPC 1회 시도 제한 시간 (초과 시 같은 request_id로 재시도)
+     */
+    public long getAttemptTimeoutMillis() {
+        return config.getLong("request.attempt-timeout-ms");
+    }
+
+    public int getMaxAttempts() {
+        return config.getInt("request.max-attempts");
+    }
+
+    public long getRetryBackoffMillis() {
+        return config.getLong("request.retry-backoff-ms");
+    }
+
+    public int getRetryBudgetTokens() {
+        return config.getInt("request.retry-budget.max-tokens");
+    }
+
+    public double getRetryBudgetTokenRatio() {
+        return config.getDouble("request.retry-budget.token-ratio");
+    }
+
+    public boolean isHedgeEnabled() {
+        return config.getBoolean("request.hedge.enabled");
+    }
+
+    public long getHedgeMinDelayMillis() {
+        return config.getLong("request.hedge.min-delay-ms");
+    }
+
+    /**
+     * RPC 호출 전체 제한 시간 (재시도 / backoff 포함)
+     */
+    public long getCallTimeoutMillis() {
+        return config.getLong("request.call-timeout-ms");
+    }
+
+    public int getBulkheadMaxConcurrent() {
+        return config.getInt("bulkhead.max-concurrent-per-shard");
+    }
+
+    public long getBulkheadMaxWaitMillis() {
+        return config.getLong("bulkhead.max-wait-ms");
+    }
+
+    public int getBreakerWindow() {
+        return config.getInt("circuit-breaker.window");
+    }
+
+    public int getBreakerMinimumCalls() {
+        return config.getInt("circuit-breaker.minimum-calls");
+    }
+
+    public int getBreakerFailureRatePercent() {
+        return config.getInt("circuit-breaker.failure-rate-percent");
+    }
+
+    public long getBreakerSlowCallMillis() {
+        return config.getLong("circuit-breaker.slow-call-ms");
+    }
+
+    public long getBreakerOpenMillis() {
+        return config.getLong("circuit-breaker.open-ms");
+    }
+
+    public int getBreakerHalfOpenProbes() {
+        return config.getInt("circuit-breaker.half-open-probes");
+    }
+
+    /**
+     * Reserve / Unreserve를 Order 샤드별 ReserveStream으로 전송 (false면 단건 RPC)
+     */
+    public boolean isStreamEnabled() {
+        return config.getBoolean("stream.enabled");
+    }
+
+    /**
+     * 스트림당 처리 중 요청 상한 (응답 request(n) 크기)
+     */
+    public int getStreamWindow() {
+        return config.getInt("stream.window");
+    }
 }
@@ -57,4 +57,24 @@ public final class DatabaseConfig {
     public long getMaxLifetime() {
         return config.getLong("hikari.max-lifetime");
     }
+
+    public boolean isPgClientEnabled() {
+        return config.getBoolean("pg-client.enabled");
+    }
+
+    public int getPgClientPoolSize() {
+        return config.getInt("pg-client.pool-size");
+    }
+
+    public int getPipeliningLimit() {
+        return config.getInt("pg-client.pipelining-limit");
+    }
+
+    public int getPgClientEventLoops() {
+        return config.getInt("pg-client.event-loops");
+    }
+
+    public long getPgClientTimeoutMillis() {
+        return config.getLong("pg-client.timeout-ms");
+    }
 }
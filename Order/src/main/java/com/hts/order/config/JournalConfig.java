@@ -0,0 +1,49 @@
+package com.hts.order.config;
+
+import com.typesafe.config.Config;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 주문 write-ahead journal 설정 (order-journal)
+ *
+ * - enabled: 비활성 시 기존처럼 큐 적재 즉시 응답
+ * - dir: 세그먼트 파일 디렉터리
+ * - segmentRecords: 세그먼트당 레코드 수
+ * - groupCommitIntervalMicros: flusher 유휴 대기 간격
+ */
+@Singleton
+public final class JournalConfig {
+    private final boolean enabled;
+    private final Path dir;
+    private final int segmentRecords;
+    private final long groupCommitIntervalMicros;
+
+    @Inject
+    public JournalConfig(Config config) {
+        Config c = config.getConfig("order-journal");
+        this.enabled = c.getBoolean("enabled");
+        this.dir = Paths.get(c.getString("dir"));
+        this.segmentRecords = c.getInt("segment-records");
+        this.groupCommitIntervalMicros = c.getLong("group-commit-interval-us");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    public int getSegmentRecords() {
+        return segmentRecords;
+    }
+
+    public long getGroupCommitIntervalMicros() {
+        return groupCommitIntervalMicros;
+    }
+}
@@ -0,0 +1,75 @@
+package com.hts.order.config;
+
+import com.typesafe.config.Config;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * OrderIndexCache 정리 작업 설정 (order-index-cleanup)
+ *
+ * - retentionDays: 이보다 오래된 주문의 인덱스 키 삭제
+ * - pageSize: DB keyset 페이지 크기 (order_id 오름차순)
+ * - unlinkBatch: UNLINK 1회당 키 수 (연결별 묶음)
+ * - maxOpsPerSecond: 초당 삭제 키 상한 (Redis 부하 예산)
+ * - maxCpuPercent: 정리 스레드 CPU 사용 상한 (%, 초과 시 sleep)
+ * - tradingStart / tradingEnd / zone: 장중에는 일시 중지 (커서 유지, 다음 실행에서 이어서)
+ */
+@Singleton
+public final class OrderIndexCleanupConfig {
+    private final int retentionDays;
+    private final int pageSize;
+    private final int unlinkBatch;
+    private final int maxOpsPerSecond;
+    private final int maxCpuPercent;
+    private final LocalTime tradingStart;
+    private final LocalTime tradingEnd;
+    private final ZoneId zone;
+
+    @Inject
+    public OrderIndexCleanupConfig(Config config) {
+        Config c = config.getConfig("order-index-cleanup");
+        this.retentionDays = c.getInt("retention-days");
+        this.pageSize = c.getInt("page-size");
+        this.unlinkBatch = c.getInt("unlink-batch");
+        this.maxOpsPerSecond = c.getInt("max-ops-per-second");
+        this.maxCpuPercent = c.getInt("max-cpu-percent");
+        this.tradingStart = LocalTime.parse(c.getString("trading-hours.start"));
+        this.tradingEnd = LocalTime.parse(c.getString("trading-hours.end"));
+        this.zone = ZoneId.of(c.getString("trading-hours.zone"));
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getUnlinkBatch() {
+        return unlinkBatch;
+    }
+
+    public int getMaxOpsPerSecond() {
+        return maxOpsPerSecond;
+    }
+
+    public int getMaxCpuPercent() {
+        return maxCpuPercent;
+    }
+
+    public LocalTime getTradingStart() {
+        return tradingStart;
+    }
+
+    public LocalTime getTradingEnd() {
+        return tradingEnd;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+}
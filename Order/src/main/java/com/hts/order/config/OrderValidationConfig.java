@@ -0,0 +1,81 @@
+package com.hts.order.config;
+
+import com.typesafe.config.Config;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+
+/**
+ * 주문 사전 검증 설정 (order-validation)
+ *
+ * - enabled: 검증 단계 활성화 여부
+ * - maxQuantity: 주문당 최대 수량
+ * - maxPrice / maxNotional: 주문당 최대 가격 / 금액(가격 × 수량, 예수금 예약액)
+ * - rejectUnknownSymbols: 기준정보(symbols) 없는 종목 거절 여부 (레지스트리에 없는 종목은 항상 거절)
+ * - symbols: 종목별 호가 단위(tick) / 주문 단위(lot)
+ */
+@Singleton
+public final class OrderValidationConfig {
+    private final boolean enabled;
+    private final long maxQuantity;
+    private final long maxPrice;
+    private final long maxNotional;
+    private final boolean rejectUnknownSymbols;
+    private final long defaultTickSize;
+    private final long defaultLotSize;
+    private final List<SymbolSpec> symbols;
+
+    @Inject
+    public OrderValidationConfig(Config config) {
+        Config c = config.getConfig("order-validation");
+        this.enabled = c.getBoolean("enabled");
+        this.maxQuantity = c.getLong("max-quantity");
+        this.maxPrice = c.getLong("max-price");
+        this.maxNotional = c.getLong("max-notional");
+        this.rejectUnknownSymbols = c.getBoolean("reject-unknown-symbols");
+        this.defaultTickSize = c.getLong("default-tick-size");
+        this.defaultLotSize = c.getLong("default-lot-size");
+        this.symbols = c.getConfigList("symbols").stream()
+                .map(s -> new SymbolSpec(
+                        s.getString("symbol"),
+                        s.getLong("tick-size"),
+                        s.getLong("lot-size")))
+                .toList();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getMaxQuantity() {
+        return maxQuantity;
+    }
+
+    public long getMaxPrice() {
+        return maxPrice;
+    }
+
+    public long getMaxNotional() {
+        return maxNotional;
+    }
+
+    public boolean isRejectUnknownSymbols() {
+        return rejectUnknownSymbols;
+    }
+
+    public long getDefaultTickSize() {
+        return defaultTickSize;
+    }
+
+    public long getDefaultLotSize() {
+        return defaultLotSize;
+    }
+
+    public List<SymbolSpec> getSymbols() {
+        return symbols;
+    }
+
+    public record SymbolSpec(String symbol, long tickSize, long lotSize) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.hts.order.config;
+
+import com.typesafe.config.Config;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * 주문 Outbox → DB 적재 설정 (order-outbox)
+ *
+ * - insertMode: COPY (binary COPY) | BATCH (JDBC batch INSERT)
+ * - writersPerPartition: 샤드 파티션별 writer 스레드 수
+ * - adaptive.*: writer별 배치 크기 / linger AIMD 조정 범위와 목표
+ */
+@Singleton
+public final class OutboxConfig {
+    private final InsertMode insertMode;
+    private final int writersPerPartition;
+    private final boolean adaptiveEnabled;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchMillis;
+    private final long maxLagMillis;
+    private final long maxLingerMicros;
+
+    @Inject
+    public OutboxConfig(Config config) {
+        Config c = config.getConfig("order-outbox");
+        this.insertMode = InsertMode.valueOf(c.getString("insert-mode").toUpperCase());
+        this.writersPerPartition = c.getInt("writers-per-partition");
+        Config adaptive = c.getConfig("adaptive");
+        this.adaptiveEnabled = adaptive.getBoolean("enabled");
+        this.minBatchSize = adaptive.getInt("min-batch-size");
+        this.maxBatchSize = adaptive.getInt("max-batch-size");
+        this.targetBatchMillis = adaptive.getLong("target-batch-ms");
+        this.maxLagMillis = adaptive.getLong("max-lag-ms");
+        this.maxLingerMicros = adaptive.getLong("max-linger-us");
+    }
+
+    public InsertMode getInsertMode() {
+        return insertMode;
+    }
+
+    public int getWritersPerPartition() {
+        return writersPerPartition;
+    }
+
+    public boolean isAdaptiveEnabled() {
+        return adaptiveEnabled;
+    }
+
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getTargetBatchMillis() {
+        return targetBatchMillis;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    public long getMaxLingerMicros() {
+        return maxLingerMicros;
+    }
+
+    public enum InsertMode { COPY, BATCH }
+}
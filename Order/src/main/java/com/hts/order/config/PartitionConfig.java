@@ -0,0 +1,40 @@
+package com.hts.order.config;
+
+import com.typesafe.config.Config;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * orders 일 단위 파티션 관리 설정 (order-partitions)
+ *
+ * - premakeDays: 오늘 이후 미리 생성할 파티션 일수
+ * - retentionDays: 보존 일수 (초과 파티션은 detach)
+ * - dropDetached: detach한 파티션 DROP 여부
+ */
+@Singleton
+public final class PartitionConfig {
+    private final int premakeDays;
+    private final int retentionDays;
+    private final boolean dropDetached;
+
+    @Inject
+    public PartitionConfig(Config config) {
+        Config c = config.getConfig("order-partitions");
+        this.premakeDays = c.getInt("premake-days");
+        this.retentionDays = c.getInt("retention-days");
+        this.dropDetached = c.getBoolean("drop-detached");
+    }
+
+    public int getPremakeDays() {
+        return premakeDays;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public boolean isDropDetached() {
+        return dropDetached;
+    }
+}
@@ -31,4 +31,24 @@ public final class RedisConfig {
     public int getDatabase() {
         return config.getInt("database");
     }
+
+    public int getShardConnections() {
+        return config.getInt("shard-connections");
+    }
+
+    public long getCommandTimeoutMillis() {
+        return config.getLong("command-timeout-ms");
+    }
+
+    public boolean isSessionCacheEnabled() {
+        return config.getBoolean("session-cache.enabled");
+    }
+
+    public int getSessionCacheMaxEntries() {
+        return config.getInt("session-cache.max-entries");
+    }
+
+    public long getSessionCacheTtlMillis() {
+        return config.getLong("session-cache.ttl-ms");
+    }
 }
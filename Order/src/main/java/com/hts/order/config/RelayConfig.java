@@ -0,0 +1,60 @@
+package com.hts.order.config;
+
+import com.typesafe.config.Config;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * 거래소 게이트웨이 릴레이 설정 (order-relay)
+ *
+ * - threads: 릴레이 스레드 수 (샤드를 threads로 나눠 소유 → 샤드 내 순서 보장)
+ * - batchSize: 1회 keyset 조회 / 전송 / SENT 반영 행 수
+ * - fallbackPollMillis: NOTIFY 유실 대비 최대 대기 시간
+ * - channel: LISTEN/NOTIFY 채널명 (V4 트리거와 동일)
+ * - sink: 게이트웨이 구현 (local)
+ */
+@Singleton
+public final class RelayConfig {
+    private final boolean enabled;
+    private final int threads;
+    private final int batchSize;
+    private final long fallbackPollMillis;
+    private final String channel;
+    private final String sink;
+
+    @Inject
+    public RelayConfig(Config config) {
+        Config c = config.getConfig("order-relay");
+        this.enabled = c.getBoolean("enabled");
+        this.threads = c.getInt("threads");
+        this.batchSize = c.getInt("batch-size");
+        this.fallbackPollMillis = c.getLong("fallback-poll-ms");
+        this.channel = c.getString("channel");
+        this.sink = c.getString("sink");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getFallbackPollMillis() {
+        return fallbackPollMillis;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getSink() {
+        return sink;
+    }
+}
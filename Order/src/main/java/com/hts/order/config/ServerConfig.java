@@ -33,4 +33,12 @@ public final class ServerConfig {
     public int getBlockingPoolQueueSize() {
         return config.getInt("blocking-pool.queue-size");
     }
+
+    public int getQueryPoolThreads() {
+        return config.getInt("query-pool.threads");
+    }
+
+    public int getQueryPoolQueueSize() {
+        return config.getInt("query-pool.queue-size");
+    }
 }
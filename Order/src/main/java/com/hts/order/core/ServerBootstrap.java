@@ -2,12 +2,17 @@ package com.hts.order.core;
 
 import com.hts.order.cache.OrderIndexCache;
 import com.hts.order.config.OrderExecutorConfig;
+import com.hts.order.config.OrderValidationConfig;
 import com.hts.order.config.ServerConfig;
 import com.hts.order.core.pipeline.*;
 import com.hts.order.global.DtoMapper;
 import com.hts.order.global.HandlerRegistry;
 import com.hts.order.global.ProtobufParser;
+import com.hts.order.global.SymbolRegistry;
 import com.hts.order.repository.OrderRepository;
+import com.hts.order.service.auth.AuthService;
+import com.hts.order.service.order.OrderQueryService;
+import com.hts.order.service.order.OrderValidator;
 import com.hts.order.shard.ConsistentShardSelector;
 import com.hts.order.shard.OrderShardExecutor;
 import io.netty.channel.Channel;
@@ -41,6 +46,12 @@ public class ServerBootstrap {
     private final OrderIndexCache orderIndexCache;
     private final OrderRepository orderRepository;
     private final OrderExecutorConfig orderExecutorConfig;
+    private final ExecutorService queryPool;
+    private final OrderQueryService orderQueryService;
+    private final OrderValidator orderValidator;
+    private final SymbolRegistry symbolRegistry;
+    private final OutboxReadThrottle readThrottle;
+    private final AuthService authService;
     private final io.netty.bootstrap.ServerBootstrap bootstrap;
 
     private Channel serverChannel;
@@ -58,7 +69,14 @@ public class ServerBootstrap {
             OrderShardExecutor orderShardExecutor,
             OrderIndexCache orderIndexCache,
             OrderRepository orderRepository,
-            OrderExecutorConfig orderExecutorConfig) {
+            OrderExecutorConfig orderExecutorConfig,
+            @Named("queryPool") ExecutorService queryPool,
+            OrderQueryService orderQueryService,
+            OrderValidator orderValidator,
+            OrderValidationConfig orderValidationConfig,
+            SymbolRegistry symbolRegistry,
+            OutboxReadThrottle readThrottle,
+            AuthService authService) {
 
         this.bossGroup = bossGroup;
         this.workerGroup = workerGroup;
@@ -72,9 +90,17 @@ public class ServerBootstrap {
         this.orderIndexCache = orderIndexCache;
         this.orderRepository = orderRepository;
         this.orderExecutorConfig = orderExecutorConfig;
+        this.queryPool = queryPool;
+        this.orderQueryService = orderQueryService;
+        this.orderValidator = orderValidator;
+        this.symbolRegistry = symbolRegistry;
+        this.readThrottle = readThrottle;
+        this.authService = authService;
+        boolean validationEnabled = orderValidationConfig.isEnabled();
 
         PacketDecoder packetDecoder = new PacketDecoder();
         ExceptionHandler exceptionHandler = new ExceptionHandler();
+        ConnectionHandler connectionHandler = new ConnectionHandler(authService, blockingPool);
 
         this.bootstrap = new io.netty.bootstrap.ServerBootstrap()
                 .group(bossGroup, workerGroup)
@@ -85,9 +111,13 @@ public class ServerBootstrap {
                     @Override
                     protected void initChannel(SocketChannel ch) {
                         ChannelPipeline p = ch.pipeline();
+                        p.addLast(connectionHandler);
                         p.addLast(new FrameDecoder());
                         p.addLast(packetDecoder);
                         p.addLast(new PayloadDecoder(protobufParser));
+                        if (validationEnabled) {
+                            p.addLast(orderValidator);
+                        }
                         p.addLast(new DispatchHandler(
                                 handlerRegistry,
                                 dtoMapper,
@@ -96,7 +126,12 @@ public class ServerBootstrap {
                                 orderShardExecutor,
                                 orderIndexCache,
                                 orderRepository,
-                                orderExecutorConfig
+                                orderExecutorConfig,
+                                queryPool,
+                                orderQueryService,
+                                symbolRegistry,
+                                readThrottle,
+                                authService
                         ));
                         p.addLast(exceptionHandler);
                     }
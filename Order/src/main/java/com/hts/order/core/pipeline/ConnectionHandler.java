@@ -1,25 +1,46 @@
 package com.hts.order.core.pipeline;
 
+import com.hts.order.service.auth.AuthService;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
 @ChannelHandler.Sharable
 public final class ConnectionHandler extends ChannelInboundHandlerAdapter {
     private static final Logger log = LoggerFactory.getLogger(ConnectionHandler.class);
 
+    private final AuthService authService;
+    private final ExecutorService blockingPool;
+
+    public ConnectionHandler(AuthService authService, ExecutorService blockingPool) {
+        this.authService = authService;
+        this.blockingPool = blockingPool;
+    }
+
     @Override
     public void channelActive(ChannelHandlerContext ctx) {
         log.debug("Connection established: {}", ctx.channel().remoteAddress());
+        ctx.fireChannelActive();
     }
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
         log.debug("Connection closed: {}", ctx.channel().remoteAddress());
-        // Note: Channel attributes는 Netty가 자동 정리
-        // Session 삭제는 명시적 로그아웃 핸들러에서 처리
+        // 로그인 바인딩 해제 → 마지막 바인딩 채널이면 세션 폐기 (Redis 호출은 I/O 스레드 밖에서)
+        Long revoked = authService.unbind(ctx.channel());
+        if (revoked != null) {
+            try {
+                blockingPool.execute(() -> authService.revoke(revoked));
+            } catch (RejectedExecutionException e) {
+                log.warn("Session revoke skipped (shutting down): sessionId={}", revoked);
+            }
+        }
+        ctx.fireChannelInactive();
     }
 
     @Override
@@ -28,5 +49,3 @@ public final class ConnectionHandler extends ChannelInboundHandlerAdapter {
         ctx.fireExceptionCaught(cause);
     }
 }
-
-
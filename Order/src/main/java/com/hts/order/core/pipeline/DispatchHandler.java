@@ -9,11 +9,17 @@ import com.hts.order.core.protocol.PacketHeader;
 import com.hts.order.global.DtoMapper;
 import com.hts.order.global.HandlerRegistry;
 import com.hts.order.global.OrderIdGenerator;
+import com.hts.order.global.ResponseUtil;
+import com.hts.order.global.SymbolRegistry;
+import com.hts.order.proto.AuthProto;
 import com.hts.order.proto.OrderProto;
 import com.hts.order.repository.OrderRepository;
 import com.hts.order.service.Handler;
+import com.hts.order.service.auth.AuthService;
 import com.hts.order.service.exception.ServiceException;
 import com.hts.order.service.order.OrderDto;
+import com.hts.order.service.order.OrderPlaceDto;
+import com.hts.order.service.order.OrderQueryService;
 import com.hts.order.shard.ShardSelector;
 import com.hts.order.shard.OrderShardExecutor;
 import io.netty.channel.ChannelHandlerContext;
@@ -24,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 
 public final class DispatchHandler extends SimpleChannelInboundHandler<MessageEnvelope> {
@@ -40,6 +47,17 @@ public final class DispatchHandler extends SimpleChannelInboundHandler<MessageEn
     private final OrderRepository orderRepository;
     private final OrderExecutorConfig orderExecutorConfig;
 
+    // 조회 전용 (샤드 레인과 분리)
+    private final ExecutorService queryPool;
+    private final OrderQueryService orderQueryService;
+    private final SymbolRegistry symbolRegistry;
+
+    // outbox credit 부족 시 읽기 중단
+    private final OutboxReadThrottle readThrottle;
+
+    // 연결 로그인 (SERVICE_AUTH)
+    private final AuthService authService;
+
     public DispatchHandler(HandlerRegistry handlerRegistry,
                           DtoMapper dtoMapper,
                           ExecutorService blockingPool,
@@ -47,7 +65,12 @@ public final class DispatchHandler extends SimpleChannelInboundHandler<MessageEn
                           OrderShardExecutor orderShardExecutor,
                           OrderIndexCache orderIndexCache,
                           OrderRepository orderRepository,
-                          OrderExecutorConfig orderExecutorConfig) {
+                          OrderExecutorConfig orderExecutorConfig,
+                          ExecutorService queryPool,
+                          OrderQueryService orderQueryService,
+                          SymbolRegistry symbolRegistry,
+                          OutboxReadThrottle readThrottle,
+                          AuthService authService) {
         this.handlerRegistry = handlerRegistry;
         this.dtoMapper = dtoMapper;
         this.blockingPool = blockingPool;
@@ -56,6 +79,11 @@ public final class DispatchHandler extends SimpleChannelInboundHandler<MessageEn
         this.orderIndexCache = orderIndexCache;
         this.orderRepository = orderRepository;
         this.orderExecutorConfig = orderExecutorConfig;
+        this.queryPool = queryPool;
+        this.orderQueryService = orderQueryService;
+        this.symbolRegistry = symbolRegistry;
+        this.readThrottle = readThrottle;
+        this.authService = authService;
     }
 
     @Override
@@ -63,17 +91,36 @@ public final class DispatchHandler extends SimpleChannelInboundHandler<MessageEn
         PacketHeader header = envelope.header();
         Message message = envelope.payload();
 
+        // 로그인: 세션 검증(Redis)은 blockingPool에서, 성공 시 채널에 계좌 바인딩
+        if (header.getServiceId() == PacketHeader.SERVICE_AUTH) {
+            AuthProto.LoginRequest login = (AuthProto.LoginRequest) message;
+            CompletableFuture
+                    .runAsync(() -> authService.handle(ctx.channel(), header, login), blockingPool)
+                    .exceptionally(ex -> {
+                        ctx.executor().execute(() -> ctx.fireExceptionCaught(ex));
+                        return null;
+                    });
+            return;
+        }
+
         OrderDto dto = dtoMapper.toDto(header.getServiceId(), header.getMethodId(), message);
 
         // ORDER 서비스 라우팅 결정 (Canary 또는 샤드)
         if (header.getServiceId() == PacketHeader.SERVICE_ORDER) {
-            if (shouldUseShardExecutor()) {
+            if (OrderQueryService.isQueryMethod(header.getMethodId())) {
+                // 조회는 샤드 레인을 거치지 않음 (주문 접수 지연 방지)
+                routeToQueryPool(ctx, header, dto);
+            } else if (shouldUseShardExecutor()) {
                 // 샤드 라우팅
                 routeOrderRequest(ctx, header, message, dto);
             } else {
                 // 기존 blockingPool 방식 (Canary 비활성화 또는 확률 밖)
                 routeToBlockingPool(ctx, header, dto);
             }
+            if (!OrderQueryService.isQueryMethod(header.getMethodId())) {
+                // outbox credit 부족 → 다음 읽기부터 TCP backpressure
+                readThrottle.throttle(ctx.channel());
+            }
             return;
         }
 
@@ -94,82 +141,57 @@ public final class DispatchHandler extends SimpleChannelInboundHandler<MessageEn
     /**
      * ORDER 요청 샤드 라우팅
      *
-     * - NewOrder: symbol → MurmurHash3 → shardId (16) + subKey (4 lanes)
-     * - Cancel: orderId → extractShard() → shardId (fallback: Redis → DB → 0)
+     * - NewOrder: symbolId → SymbolRegistry 사전 계산 shardId (16) + subKey (4 lanes)
+     *   (미등록 종목만 MurmurHash3 직접 계산)
+     * - Cancel/Amend: orderId → extractShard() → shardId (fallback: Redis → DB → 0)
+     * - MassCancel: symbol 지정 시 해당 종목 샤드, 미지정 시 세션 기준 분산 (수신 워커가 전 샤드 레인으로 재분배)
      */
     private void routeOrderRequest(ChannelHandlerContext ctx, PacketHeader header, Message message, OrderDto dto) {
         int shardId;
         int subKey;
 
         if (header.getMethodId() == 1) {  // NewOrder with symbol
-            OrderProto.NewOrderRequest req = (OrderProto.NewOrderRequest) message;
-            String symbol = req.getSymbol();
-
-            // MurmurHash3 (Guava) + xor folding (균등 분산 보장)
-            int hash = Hashing.murmur3_32_fixed(0x9747b28c)
-                    .hashString(symbol, StandardCharsets.UTF_8)
-                    .asInt();
-            int mixed = hash ^ (hash >>> 16);  // 상하위 비트 상관성 제거
+            OrderPlaceDto place = (OrderPlaceDto) dto;
 
-            shardId = mixed & 0x0F;            // 하위 4비트 → 16샤드 (0-15)
-            subKey = (mixed >>> 4) & 0x03;     // 다음 2비트 → 4레인 (0-3)
+            if (place.symbolId() != SymbolRegistry.UNKNOWN) {
+                // 등록 종목: 레지스트리에 미리 계산된 샤드/레인 (해시 계산 없음)
+                shardId = symbolRegistry.shardOf(place.symbolId());
+                subKey = symbolRegistry.laneOf(place.symbolId());
+            } else {
+                // 미등록 종목: MurmurHash3 (Guava) + xor folding (레지스트리와 같은 계산식)
+                int mixed = SymbolRegistry.routeHash(place.symbol());
+                shardId = mixed & 0x0F;            // 하위 4비트 → 16샤드 (0-15)
+                subKey = (mixed >>> 4) & 0x03;     // 다음 2비트 → 4레인 (0-3)
+            }
 
-            log.debug("NewOrder: symbol={} hash={} mixed={} → shard={}, lane={}",
-                      symbol, Integer.toHexString(hash), Integer.toHexString(mixed), shardId, subKey);
+            log.debug("NewOrder: symbolId={} → shard={}, lane={}", place.symbolId(), shardId, subKey);
 
         } else if (header.getMethodId() == 2) {  // Cancel (orderId만 있음)
             OrderProto.CancelOrderRequest req = (OrderProto.CancelOrderRequest) message;
             long orderId = req.getOrderId();
+            shardId = resolveShardByOrderId(orderId);
+
+            // subKey는 orderId (같은 주문의 취소 요청은 같은 sub-queue)
+            subKey = (int)orderId;
+
+        } else if (header.getMethodId() == 3) {  // Amend (orderId만 있음 - 원 주문 샤드에서 처리)
+            OrderProto.AmendOrderRequest req = (OrderProto.AmendOrderRequest) message;
+            long orderId = req.getOrderId();
+            shardId = resolveShardByOrderId(orderId);
 
-            if (OrderIdGenerator.isExternal(orderId)) {
-                // 외부 주문 (음수 orderId)
-                shardId = OrderIdGenerator.extractShard(orderId);
-                log.debug("External orderId={} → shard={}", orderId, shardId);
+            // 취소와 동일한 sub-queue로 보내 같은 주문의 정정/취소 순서 보장
+            subKey = (int)orderId;
 
+        } else if (header.getMethodId() == 4) {  // MassCancel
+            OrderProto.MassCancelRequest req = (OrderProto.MassCancelRequest) message;
+            if (!req.getSymbol().isEmpty()) {
+                // 종목의 주문은 모두 한 샤드에 있음 → 신규 주문과 같은 샤드에서 처리
+                shardId = SymbolRegistry.routeHash(req.getSymbol()) & 0x0F;
             } else {
-                // 내부 주문 - orderId 비트에서 추출
-                shardId = OrderIdGenerator.extractShard(orderId);
-
-                // Fallback 체인 (구 포맷 or 추출 실패)
-                if (shardId < 0) {
-                    log.warn("extractShard failed for orderId={}, attempting fallback", orderId);
-
-                    // Step 1: Redis lookup (빠름 - 1ms)
-                    String symbol = orderIndexCache.getSymbol(orderId);
-                    if (symbol != null) {
-                        int hash = Hashing.murmur3_32_fixed(0x9747b28c)
-                                .hashString(symbol, StandardCharsets.UTF_8)
-                                .asInt();
-                        int mixed = hash ^ (hash >>> 16);
-                        shardId = mixed & 0x0F;  // MurmurHash3 적용
-                        log.info("Fallback-Redis: orderId={} → symbol={} → shard={}",
-                                 orderId, symbol, shardId);
-                    } else {
-                        // Step 2: DB lookup (느림 - 10ms, but 확실)
-                        symbol = orderRepository.getSymbolByOrderId(orderId);
-                        if (symbol != null) {
-                            int hash = Hashing.murmur3_32_fixed(0x9747b28c)
-                                    .hashString(symbol, StandardCharsets.UTF_8)
-                                    .asInt();
-                            int mixed = hash ^ (hash >>> 16);
-                            shardId = mixed & 0x0F;  // MurmurHash3 적용
-                            log.warn("Fallback-DB: orderId={} → symbol={} → shard={}",
-                                     orderId, symbol, shardId);
-
-                            // Redis에 캐싱 (다음 조회 최적화)
-                            orderIndexCache.index(orderId, symbol);
-                        } else {
-                            // Step 3: 최후 방어 (주문 없음)
-                            shardId = 0;
-                            log.error("Fallback failed: orderId={} not found, routing to shard 0",
-                                      orderId);
-                        }
-                    }
-                }
+                // 계좌 전체 취소: 어느 샤드에서 처리해도 동일 → 세션 기준으로 분산
+                shardId = (int) (dto.sessionId() & 0x0F);
             }
-
-            // subKey는 orderId (같은 주문의 취소 요청은 같은 sub-queue)
-            subKey = (int)orderId;
+            subKey = (int) dto.sessionId();
 
         } else {
             // 기타 메서드 (미래 확장용)
@@ -183,6 +205,65 @@ public final class DispatchHandler extends SimpleChannelInboundHandler<MessageEn
         orderShardExecutor.submit(task);
     }
 
+    /**
+     * orderId → shardId 결정 (Cancel/Amend 공용)
+     *
+     * - orderId 비트에서 추출 (lock-free)
+     * - 구 포맷 or 추출 실패 시 Fallback 체인: Redis → DB → 0
+     */
+    private int resolveShardByOrderId(long orderId) {
+        int shardId;
+
+        if (OrderIdGenerator.isExternal(orderId)) {
+            // 외부 주문 (음수 orderId)
+            shardId = OrderIdGenerator.extractShard(orderId);
+            log.debug("External orderId={} → shard={}", orderId, shardId);
+            return shardId;
+        }
+
+        // 내부 주문 - orderId 비트에서 추출
+        shardId = OrderIdGenerator.extractShard(orderId);
+
+        // Fallback 체인 (구 포맷 or 추출 실패)
+        if (shardId < 0) {
+            log.warn("extractShard failed for orderId={}, attempting fallback", orderId);
+
+            // Step 1: Redis lookup (빠름 - 1ms)
+            String symbol = orderIndexCache.getSymbol(orderId);
+            if (symbol != null) {
+                int hash = Hashing.murmur3_32_fixed(0x9747b28c)
+                        .hashString(symbol, StandardCharsets.UTF_8)
+                        .asInt();
+                int mixed = hash ^ (hash >>> 16);
+                shardId = mixed & 0x0F;  // MurmurHash3 적용
+                log.info("Fallback-Redis: orderId={} → symbol={} → shard={}",
+                         orderId, symbol, shardId);
+            } else {
+                // Step 2: DB lookup (느림 - 10ms, but 확실)
+                symbol = orderRepository.getSymbolByOrderId(orderId);
+                if (symbol != null) {
+                    int hash = Hashing.murmur3_32_fixed(0x9747b28c)
+                            .hashString(symbol, StandardCharsets.UTF_8)
+                            .asInt();
+                    int mixed = hash ^ (hash >>> 16);
+                    shardId = mixed & 0x0F;  // MurmurHash3 적용
+                    log.warn("Fallback-DB: orderId={} → symbol={} → shard={}",
+                             orderId, symbol, shardId);
+
+                    // Redis에 캐싱 (다음 조회 최적화)
+                    orderIndexCache.index(orderId, symbol);
+                } else {
+                    // Step 3: 최후 방어 (주문 없음)
+                    shardId = 0;
+                    log.error("Fallback failed: orderId={} not found, routing to shard 0",
+                              orderId);
+                }
+            }
+        }
+
+        return shardId;
+    }
+
     /**
      * Canary rollout 결정
      *
@@ -211,6 +292,24 @@ public final class DispatchHandler extends SimpleChannelInboundHandler<MessageEn
         return random < canaryPercent;
     }
 
+    /**
+     * 조회 요청을 queryPool로 라우팅
+     *
+     * - 풀 포화 시 즉시 503 (조회 폭주가 I/O 스레드나 주문 레인으로 번지지 않도록)
+     */
+    private void routeToQueryPool(ChannelHandlerContext ctx, PacketHeader header, OrderDto dto) {
+        try {
+            CompletableFuture
+                    .runAsync(() -> orderQueryService.handle(ctx.channel(), header, dto), queryPool)
+                    .exceptionally(ex -> {
+                        ctx.executor().execute(() -> ctx.fireExceptionCaught(ex));
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            ResponseUtil.sendError(ctx.channel(), header, 503, "Query overloaded");
+        }
+    }
+
     /**
      * ORDER 요청을 기존 blockingPool로 라우팅 (Canary 비활성화 시)
      */
@@ -0,0 +1,71 @@
+package com.hts.order.core.pipeline;
+
+import com.hts.order.outbox.OrderOutboxQueue;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Outbox credit 기반 읽기 제어 (DispatchHandler에서 사용)
+ *
+ * - credit 부족(OrderOutboxQueue.isCreditLow) 중 주문 요청을 받은 채널은 autoRead 끔
+ *   → 커널 수신 버퍼가 차면 TCP 윈도우로 클라이언트 송신 억제 (503 / 예약 낭비 대신 backpressure)
+ * - 모든 파티션 credit 회복 통지 시 중단한 채널 일괄 재개
+ * - 중단 직후 회복 여부 재확인 (회복 통지와 경합 시 영구 중단 방지)
+ *   · autoRead 끄기 → paused 등록 순서: 재개가 등록 전에 지나가도 재확인이 이 채널을 직접 재개
+ * - 닫힌 채널은 closeFuture에서 paused 제거 (채널당 리스너 1회 등록)
+ */
+@Singleton
+public final class OutboxReadThrottle {
+    private static final Logger log = LoggerFactory.getLogger(OutboxReadThrottle.class);
+
+    private static final AttributeKey<Boolean> CLOSE_HOOK = AttributeKey.valueOf("outboxReadThrottleCloseHook");
+
+    private final OrderOutboxQueue outboxQueue;
+    private final Set<Channel> paused = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    public OutboxReadThrottle(OrderOutboxQueue outboxQueue) {
+        this.outboxQueue = outboxQueue;
+        outboxQueue.setCreditRestoredListener(this::resumeAll);
+    }
+
+    /**
+     * credit 부족 시 채널 읽기 중단 (현재 메시지는 그대로 처리)
+     */
+    public void throttle(Channel channel) {
+        if (!outboxQueue.isCreditLow()) {
+            return;
+        }
+        channel.config().setAutoRead(false);
+        if (paused.add(channel)) {
+            if (channel.attr(CLOSE_HOOK).setIfAbsent(Boolean.TRUE) == null) {
+                channel.closeFuture().addListener(f -> paused.remove(channel));
+            }
+            log.debug("Read paused on outbox credit shortage: {}", channel.remoteAddress());
+        }
+        // 등록 전에 회복 통지가 지나갔으면 resumeAll이 이 채널을 못 봄 → 직접 재개
+        if (!outboxQueue.isCreditLow() && paused.remove(channel)) {
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    private void resumeAll() {
+        int resumed = 0;
+        for (Channel channel : paused) {
+            if (paused.remove(channel) && channel.isActive()) {
+                channel.config().setAutoRead(true);
+                resumed++;
+            }
+        }
+        if (resumed > 0) {
+            log.info("Read resumed on {} channels (outbox credits restored)", resumed);
+        }
+    }
+}
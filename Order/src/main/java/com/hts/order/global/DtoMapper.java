@@ -4,8 +4,12 @@ import com.google.protobuf.Message;
 import com.hts.order.core.protocol.PacketHeader;
 import com.hts.order.proto.OrderProto;
 import com.hts.order.service.exception.ServiceException;
+import com.hts.order.service.order.OrderAmendDto;
 import com.hts.order.service.order.OrderCancelDto;
 import com.hts.order.service.order.OrderDto;
+import com.hts.order.service.order.OrderGetDto;
+import com.hts.order.service.order.OrderListOpenDto;
+import com.hts.order.service.order.OrderMassCancelDto;
 import com.hts.order.service.order.OrderPlaceDto;
 
 import java.util.HashMap;
@@ -16,11 +20,19 @@ public final class DtoMapper {
     private final Map<Long, Function<Message, OrderDto>> registry = new HashMap<>();
 
     @SuppressWarnings("unchecked")
-    public DtoMapper() {
+    public DtoMapper(SymbolRegistry symbols) {
         register(PacketHeader.SERVICE_ORDER, (short) 1,
-            msg -> OrderPlaceDto.fromProto((OrderProto.NewOrderRequest) msg));
+            msg -> OrderPlaceDto.fromProto((OrderProto.NewOrderRequest) msg, symbols));
         register(PacketHeader.SERVICE_ORDER, (short) 2,
             msg -> OrderCancelDto.fromProto((OrderProto.CancelOrderRequest) msg));
+        register(PacketHeader.SERVICE_ORDER, (short) 3,
+            msg -> OrderAmendDto.fromProto((OrderProto.AmendOrderRequest) msg));
+        register(PacketHeader.SERVICE_ORDER, (short) 4,
+            msg -> OrderMassCancelDto.fromProto((OrderProto.MassCancelRequest) msg));
+        register(PacketHeader.SERVICE_ORDER, (short) 5,
+            msg -> OrderGetDto.fromProto((OrderProto.GetOrderRequest) msg));
+        register(PacketHeader.SERVICE_ORDER, (short) 6,
+            msg -> OrderListOpenDto.fromProto((OrderProto.ListOpenOrdersRequest) msg));
     }
 
     private void register(short serviceId, short methodId, Function<Message, OrderDto> converter) {
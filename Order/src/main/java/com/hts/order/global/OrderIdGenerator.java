@@ -121,6 +121,27 @@ public final class OrderIdGenerator {
         return (int) ((orderId >> SHARD_SHIFT) & SHARD_MASK);
     }
 
+    /**
+     * Extract creation time (epoch ms) from order ID
+     */
+    public static long extractTimestampMillis(long orderId) {
+        return (orderId >>> TIMESTAMP_SHIFT) + CUSTOM_EPOCH;
+    }
+
+    /**
+     * Smallest order ID generated at or after epochMillis (파티션 경계 / 시각 기준 범위 조회용)
+     */
+    public static long minOrderIdAt(long epochMillis) {
+        return Math.max(0L, epochMillis - CUSTOM_EPOCH) << TIMESTAMP_SHIFT;
+    }
+
+    /**
+     * SQL expression extracting the shard bits of an order ID column (샤드별 조회 조건용)
+     */
+    public static String shardSqlExpression(String column) {
+        return "((" + column + " >> " + SHARD_SHIFT + ") & " + SHARD_MASK + ")";
+    }
+
     /**
      * Check if order ID is external (negative)
      */
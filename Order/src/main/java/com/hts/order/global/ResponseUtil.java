@@ -27,10 +27,19 @@ public final class ResponseUtil {
     }
 
     public static void sendError(Channel channel, PacketHeader req, int code, String msg) {
-        CommonsProto.ErrorMessage err = CommonsProto.ErrorMessage
-                .newBuilder().setCode(code).setMessage(msg).build();
-        byte[] bytes = err.toByteArray();
+        sendEncodedError(channel, req, encodeError(code, msg));
+    }
+
+    /**
+     * ErrorMessage payload 사전 인코딩 (고정 거절 사유는 기동 시 1회만 직렬화)
+     */
+    public static byte[] encodeError(int code, String msg) {
+        return CommonsProto.ErrorMessage
+                .newBuilder().setCode(code).setMessage(msg).build()
+                .toByteArray();
+    }
 
+    public static void sendEncodedError(Channel channel, PacketHeader req, byte[] bytes) {
         PacketHeader h = new PacketHeader()
                 .frameType(PacketHeader.FRAME_TYPE_RESP)
                 .serviceId(req.getServiceId())
@@ -0,0 +1,117 @@
+package com.hts.order.global;
+
+import com.google.common.hash.Hashing;
+import com.hts.order.config.OrderValidationConfig;
+import com.hts.order.repository.SymbolRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종목 코드 → 정수 symbolId 레지스트리
+ *
+ * - 디코드 직후 symbolId로 변환 → 라우팅/샤드 메모리/Outbox/DB는 int만 사용
+ * - 종목별 샤드/레인을 미리 계산 (주문마다 MurmurHash 계산 X)
+ * - 종목 문자열은 레지스트리의 정규 인스턴스를 공유 (주문마다 보관 X)
+ * - 조회는 불변 스냅샷 (lock-free), 등록은 기동 시 기준정보 + DB 종목만 (주문 경로에서 발급 X)
+ *
+ * symbolId 0은 미등록 (UNKNOWN)
+ */
+@Singleton
+public final class SymbolRegistry {
+    private static final Logger log = LoggerFactory.getLogger(SymbolRegistry.class);
+
+    public static final int UNKNOWN = 0;
+
+    private final Snapshot snapshot;
+
+    @Inject
+    public SymbolRegistry(SymbolRepository repository, OrderValidationConfig config) {
+        // 기준정보 종목 선등록 (이미 있으면 기존 ID 유지)
+        for (OrderValidationConfig.SymbolSpec spec : config.getSymbols()) {
+            repository.register(spec.symbol());
+        }
+        this.snapshot = Snapshot.of(repository.findAll());
+        log.info("SymbolRegistry loaded: {} symbols", snapshot.byName.size());
+    }
+
+    /**
+     * @return symbolId or UNKNOWN
+     */
+    public int idOf(String symbol) {
+        Integer id = snapshot.byName.get(symbol);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * @return 정규 종목 문자열 or null (미등록 ID)
+     */
+    public String symbol(int symbolId) {
+        String[] names = snapshot.names;
+        return symbolId > 0 && symbolId < names.length ? names[symbolId] : null;
+    }
+
+    public int shardOf(int symbolId) {
+        return snapshot.shards[symbolId];
+    }
+
+    public int laneOf(int symbolId) {
+        return snapshot.lanes[symbolId];
+    }
+
+    /**
+     * 종목 라우팅 해시 (MurmurHash3 + xor folding)
+     *
+     * - 하위 4비트 → 샤드 (16), 다음 2비트 → 레인 (4)
+     * - 기존 DispatchHandler 계산식과 동일 (기존 주문과 같은 샤드 유지)
+     */
+    public static int routeHash(String symbol) {
+        int hash = Hashing.murmur3_32_fixed(0x9747b28c)
+                .hashString(symbol, StandardCharsets.UTF_8)
+                .asInt();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 불변 스냅샷 (symbolId 인덱스 배열)
+     */
+    private static final class Snapshot {
+        private final Map<String, Integer> byName;
+        private final String[] names;
+        private final byte[] shards;
+        private final byte[] lanes;
+
+        private Snapshot(Map<String, Integer> byName, String[] names, byte[] shards, byte[] lanes) {
+            this.byName = byName;
+            this.names = names;
+            this.shards = shards;
+            this.lanes = lanes;
+        }
+
+        static Snapshot of(List<SymbolRepository.SymbolRow> rows) {
+            int maxId = 0;
+            for (SymbolRepository.SymbolRow row : rows) {
+                maxId = Math.max(maxId, row.symbolId());
+            }
+            Snapshot s = new Snapshot(new HashMap<>(), new String[maxId + 1], new byte[maxId + 1], new byte[maxId + 1]);
+            for (SymbolRepository.SymbolRow row : rows) {
+                s.put(row.symbolId(), row.symbol());
+            }
+            return s;
+        }
+
+        private void put(int symbolId, String symbol) {
+            int mixed = routeHash(symbol);
+            byName.put(symbol, symbolId);
+            names[symbolId] = symbol;
+            shards[symbolId] = (byte) (mixed & 0x0F);
+            lanes[symbolId] = (byte) ((mixed >>> 4) & 0x03);
+        }
+    }
+}
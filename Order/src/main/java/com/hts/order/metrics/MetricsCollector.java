@@ -9,6 +9,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
 
 @Singleton
 public final class MetricsCollector {
@@ -27,7 +28,6 @@ public final class MetricsCollector {
 
     // Gauges
     private final AtomicDouble inQueueDepth;
-    private final AtomicDouble outQueueDepth;
 
     @Inject
     public MetricsCollector(MeterRegistry registry) {
@@ -68,9 +68,7 @@ public final class MetricsCollector {
 
         // Gauges (queue depth)
         this.inQueueDepth = new AtomicDouble();
-        this.outQueueDepth = new AtomicDouble();
         registry.gauge("in_queue_depth", inQueueDepth, AtomicDouble::doubleValue);
-        registry.gauge("out_queue_depth", outQueueDepth, AtomicDouble::doubleValue);
     }
 
     public void recordOrderRequest(short methodId, String resultCode) {
@@ -104,9 +102,13 @@ public final class MetricsCollector {
                 .register(registry));
     }
 
-    public void recordDbBatchDuration(Timer.Sample sample, int batchSize) {
-        sample.stop(dbBatchDurationBuilder
-                .tag("batchSize", String.valueOf(batchSize))
+    /**
+     * @return 측정된 배치 시간 (ns, 적응형 배치 조정 입력)
+     */
+    public long recordDbBatchDuration(Timer.Sample sample, int batchSize) {
+        // 배치 크기가 가변 → 2의 거듭제곱 구간으로 태그 (타이머 수 폭증 방지)
+        return sample.stop(dbBatchDurationBuilder
+                .tag("batchSize", String.valueOf(Integer.highestOneBit(batchSize)))
                 .register(registry));
     }
 
@@ -114,8 +116,13 @@ public final class MetricsCollector {
         inQueueDepth.set(depth);
     }
 
-    public void updateOutQueueDepth(double depth) {
-        outQueueDepth.set(depth);
+    /**
+     * Outbox 파티션(샤드)별 대기 주문 수 (Gauge)
+     */
+    public <T> void registerOutboxDepthGauge(int partition, T queue, ToDoubleFunction<T> depthFn) {
+        Gauge.builder("out_queue_depth", queue, depthFn)
+             .tag("partition", String.valueOf(partition))
+             .register(registry);
     }
 
     // ==================== ORDER SHARD METRICS ====================
@@ -193,6 +200,123 @@ public final class MetricsCollector {
         sample.stop(timer);
     }
 
+    /**
+     * Outbox writer별 적응형 배치 결정값 (Gauge)
+     */
+    public <T> void registerOutboxBatchGauges(String writer, T controller,
+                                              ToDoubleFunction<T> batchSizeFn,
+                                              ToDoubleFunction<T> lingerMicrosFn,
+                                              ToDoubleFunction<T> lagMillisFn) {
+        Gauge.builder("order.outbox.batch.size", controller, batchSizeFn)
+             .tag("writer", writer)
+             .register(registry);
+        Gauge.builder("order.outbox.linger.us", controller, lingerMicrosFn)
+             .tag("writer", writer)
+             .register(registry);
+        Gauge.builder("order.outbox.lag.ms", controller, lagMillisFn)
+             .tag("writer", writer)
+             .register(registry);
+    }
+
+    /**
+     * 릴레이 스레드별 게이트웨이 전송 지연 (Gauge, 가장 오래된 전송 주문의 생성 후 경과 ms)
+     */
+    public <T> void registerRelayLagGauge(String relay, T lag, ToDoubleFunction<T> lagMillisFn) {
+        Gauge.builder("order.relay.lag.ms", lag, lagMillisFn)
+             .tag("relay", relay)
+             .register(registry);
+    }
+
+    /**
+     * 릴레이 스레드별 게이트웨이 전송 건수 (Counter)
+     */
+    public void recordRelaySent(String relay, int count) {
+        Counter.builder("order.relay.sent")
+               .tag("relay", relay)
+               .register(registry)
+               .increment(count);
+    }
+
+    /**
+     * Redis 연결별 응답 대기 중 명령 수 (Gauge)
+     */
+    public <T> void registerRedisInFlightGauge(int connection, T counter, ToDoubleFunction<T> inFlightFn) {
+        Gauge.builder("redis.connection.inflight", counter, inFlightFn)
+             .tag("connection", String.valueOf(connection))
+             .register(registry);
+    }
+
+    /**
+     * Redis 연결별 명령 지연 Timer (연결 생성 시 1회 등록, 호출 측이 보관)
+     */
+    public Timer redisCommandTimer(int connection) {
+        return Timer.builder("redis.command.latency")
+                    .tag("connection", String.valueOf(connection))
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+    }
+
+    /**
+     * 세션 near-cache 이벤트 Counter (hit / miss / invalidation / expiration, 호출 측이 보관)
+     */
+    public Counter sessionCacheCounter(String event) {
+        return Counter.builder("session.cache.events")
+                      .tag("event", event)
+                      .register(registry);
+    }
+
+    /**
+     * 세션 near-cache 크기 / 최악 staleness(ms, tracking 비활성 시 TTL) Gauge
+     */
+    public <T> void registerSessionCacheGauges(T cache, ToDoubleFunction<T> sizeFn,
+                                               ToDoubleFunction<T> maxStalenessFn) {
+        Gauge.builder("session.cache.size", cache, sizeFn).register(registry);
+        Gauge.builder("session.cache.max.staleness.ms", cache, maxStalenessFn).register(registry);
+    }
+
+    /**
+     * OrderIndexCache 정리 페이지 결과 (스캔한 주문 수 / 삭제된 키 수)
+     */
+    public void recordIndexCleanup(long scanned, long removed) {
+        Counter.builder("order.index.cleanup.scanned").register(registry).increment(scanned);
+        Counter.builder("order.index.cleanup.removed").register(registry).increment(removed);
+    }
+
+    /**
+     * OrderIndexCache 정리 진행률 (0~1, 현재 실행 범위 기준)
+     */
+    public <T> void registerIndexCleanupProgress(T job, ToDoubleFunction<T> progressFn) {
+        Gauge.builder("order.index.cleanup.progress", job, progressFn).register(registry);
+    }
+
+    /**
+     * Account 인스턴스별 circuit breaker 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)
+     */
+    public <T> void registerAccountCircuitGauge(int instance, T breaker, ToDoubleFunction<T> stateFn) {
+        Gauge.builder("account.circuit.state", breaker, stateFn)
+             .tag("instance", String.valueOf(instance))
+             .register(registry);
+    }
+
+    /**
+     * 전송 전 거절된 Account 호출 (circuit_open / bulkhead_full)
+     */
+    public void recordAccountCallRejected(String reason) {
+        Counter.builder("account.calls.rejected")
+               .tag("reason", reason)
+               .register(registry)
+               .increment();
+    }
+
+    /**
+     * 샤드별 메모리 미체결 주문 수 (Gauge)
+     */
+    public <T> void registerLiveOrderGauge(int shardId, T table, ToDoubleFunction<T> sizeFn) {
+        Gauge.builder("order.shard.live.orders", table, sizeFn)
+             .tag("shard", String.valueOf(shardId))
+             .register(registry);
+    }
+
     public void recordWorkerPerf(int shardId, long queueMs, long execMs) {
         long totalMs = queueMs + execMs;
 
@@ -81,7 +81,8 @@ public final class MetricsReporter {
             sb.append(String.format("in_queue_depth = %.0f\n", gauge.value()));
         });
         registry.find("out_queue_depth").gauges().forEach(gauge -> {
-            sb.append(String.format("out_queue_depth = %.0f\n", gauge.value()));
+            sb.append(String.format("out_queue_depth[%s] = %.0f\n",
+                    gauge.getId().getTag("partition"), gauge.value()));
         });
 
         sb.append("====================================");
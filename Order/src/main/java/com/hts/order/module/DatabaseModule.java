@@ -5,6 +5,12 @@ import com.google.inject.Provides;
 import com.hts.order.config.DatabaseConfig;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.pgclient.PgBuilder;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.SqlClient;
 import org.jooq.DSLContext;
 import org.jooq.SQLDialect;
 import org.jooq.impl.DSL;
@@ -37,4 +43,33 @@ public final class DatabaseModule extends AbstractModule {
     DSLContext provideDSLContext(DataSource dataSource) {
         return DSL.using(dataSource, SQLDialect.POSTGRES);
     }
+
+    /**
+     * 파이프라이닝 SqlClient (PgPipelineClient가 활성 시에만 Provider로 생성)
+     *
+     * - 연결당 pipeliningLimit개까지 응답 대기 없이 연속 전송, 호출 측이 연결을 점유하지 않음
+     * - 트랜잭션 미지원 → 단일 문장(unnest 배치, UPDATE ... RETURNING)만 사용
+     */
+    @Provides
+    @Singleton
+    SqlClient providePgClient(DatabaseConfig config) {
+        Vertx vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(config.getPgClientEventLoops()));
+        PgConnectOptions connectOptions = new PgConnectOptions()
+                .setHost(config.getHost())
+                .setPort(config.getPort())
+                .setDatabase(config.getName())
+                .setUser(config.getUser())
+                .setPassword(config.getPassword())
+                .setPipeliningLimit(config.getPipeliningLimit())
+                .setCachePreparedStatements(true);
+        PoolOptions poolOptions = new PoolOptions()
+                .setMaxSize(config.getPgClientPoolSize())
+                .setName("trading-pg-pipeline");
+
+        return PgBuilder.client()
+                .with(poolOptions)
+                .connectingTo(connectOptions)
+                .using(vertx)
+                .build();
+    }
 }
@@ -37,4 +37,34 @@ public final class ExecutorModule extends AbstractModule {
                 new ThreadPoolExecutor.CallerRunsPolicy()
         );
     }
+
+    /**
+     * 조회 전용 풀 (주문 샤드 레인과 분리)
+     *
+     * - 큐 포화 시 AbortPolicy → DispatchHandler가 503 응답 (Netty I/O 스레드에서 실행 금지)
+     */
+    @Provides
+    @Singleton
+    @Named("queryPool")
+    ExecutorService provideQueryPool(ServerConfig config) {
+        int threads = config.getQueryPoolThreads();
+        int queueSize = config.getQueryPoolQueueSize();
+
+        java.util.concurrent.atomic.AtomicInteger threadCounter = new java.util.concurrent.atomic.AtomicInteger(0);
+
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r);
+                    t.setName("query-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
 }
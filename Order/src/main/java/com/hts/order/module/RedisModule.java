@@ -5,14 +5,38 @@ import com.google.inject.Provides;
 import com.hts.order.config.RedisConfig;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.RedisURI;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.lettuce.core.resource.NettyCustomizer;
+import io.netty.channel.Channel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 
 import javax.inject.Singleton;
 
 public final class RedisModule extends AbstractModule {
 
+    /**
+     * Lettuce 연결에 flush 병합 적용
+     *
+     * - 여러 워커가 같은 연결로 보낸 명령의 flush를 event loop 1회로 모음 → 명령마다 write syscall X
+     */
     @Provides
     @Singleton
-    RedisClient provideRedisClient(RedisConfig config) {
+    ClientResources provideRedisClientResources() {
+        return DefaultClientResources.builder()
+                .nettyCustomizer(new NettyCustomizer() {
+                    @Override
+                    public void afterChannelInitialized(Channel channel) {
+                        channel.pipeline().addFirst(new FlushConsolidationHandler(
+                                FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true));
+                    }
+                })
+                .build();
+    }
+
+    @Provides
+    @Singleton
+    RedisClient provideRedisClient(RedisConfig config, ClientResources resources) {
         RedisURI redisUri = RedisURI.Builder
                 .redis(config.getHost(), config.getPort())
                 .withDatabase(config.getDatabase())
@@ -22,6 +46,6 @@ public final class RedisModule extends AbstractModule {
             redisUri.setPassword(config.getPassword().toCharArray());
         }
 
-        return RedisClient.create(redisUri);
+        return RedisClient.create(resources, redisUri);
     }
 }
@@ -3,27 +3,45 @@ package com.hts.order.module;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.hts.order.cache.OrderIndexCache;
+import com.hts.order.cache.RedisShardConnections;
 import com.hts.order.client.AccountGrpcClient;
 import com.hts.order.config.AccountServiceConfig;
+import com.hts.order.config.OrderIndexCleanupConfig;
+import com.hts.order.config.OrderValidationConfig;
+import com.hts.order.config.OutboxConfig;
+import com.hts.order.config.PartitionConfig;
+import com.hts.order.config.RelayConfig;
 import com.hts.order.core.TransactionExecutor;
 import com.hts.order.global.DefaultHandlerRegistry;
 import com.hts.order.global.DtoMapper;
 import com.hts.order.global.HandlerRegistry;
 import com.hts.order.global.OrderIdGenerator;
 import com.hts.order.global.ProtobufParser;
+import com.hts.order.global.SymbolRegistry;
 import com.hts.order.core.protocol.PacketHeader;
 import com.hts.order.metrics.MetricsCollector;
 import com.hts.order.outbox.OrderBatchWriter;
+import com.hts.order.outbox.OrderJournal;
 import com.hts.order.outbox.OrderOutboxQueue;
+import com.hts.order.repository.OrderPartitions;
 import com.hts.order.repository.OrderRepository;
+import com.hts.order.repository.PgPipelineClient;
 import com.hts.order.repository.SessionRepository;
+import com.hts.order.repository.SymbolRepository;
+import com.hts.order.relay.GatewaySink;
+import com.hts.order.relay.LocalGatewaySink;
 import com.hts.order.scheduler.CacheCleanupScheduler;
+import com.hts.order.scheduler.OrderPartitionMaintainer;
+import com.hts.order.service.auth.AuthService;
+import com.hts.order.service.order.OrderQueryService;
 import com.hts.order.service.order.OrderService;
+import com.hts.order.service.order.OrderValidator;
 import com.hts.order.shard.ShardSelector;
 import com.hts.order.shard.ModuloShardSelector;
 import com.hts.order.shard.ConsistentShardSelector;
 import com.hts.order.shard.OrderShardExecutor;
-import io.lettuce.core.RedisClient;
+import com.hts.order.state.ClientOrderDeduplicator;
+import com.hts.order.state.LiveOrderRegistry;
 import org.jooq.DSLContext;
 
 import javax.inject.Singleton;
@@ -43,15 +61,26 @@ public final class ServiceModule extends AbstractModule {
     @Singleton
     ProtobufParser provideProtobufParser() {
         ProtobufParser parser = new ProtobufParser();
+        parser.register(PacketHeader.SERVICE_AUTH, AuthService.METHOD_LOGIN, com.hts.order.proto.AuthProto.LoginRequest.parser());
         parser.register(PacketHeader.SERVICE_ORDER, (short) 1, com.hts.order.proto.OrderProto.NewOrderRequest.parser());
         parser.register(PacketHeader.SERVICE_ORDER, (short) 2, com.hts.order.proto.OrderProto.CancelOrderRequest.parser());
+        parser.register(PacketHeader.SERVICE_ORDER, (short) 3, com.hts.order.proto.OrderProto.AmendOrderRequest.parser());
+        parser.register(PacketHeader.SERVICE_ORDER, (short) 4, com.hts.order.proto.OrderProto.MassCancelRequest.parser());
+        parser.register(PacketHeader.SERVICE_ORDER, (short) 5, com.hts.order.proto.OrderProto.GetOrderRequest.parser());
+        parser.register(PacketHeader.SERVICE_ORDER, (short) 6, com.hts.order.proto.OrderProto.ListOpenOrdersRequest.parser());
         return parser;
     }
 
     @Provides
     @Singleton
-    DtoMapper provideDtoMapper() {
-        return new DtoMapper();
+    SymbolRegistry provideSymbolRegistry(SymbolRepository symbolRepository, OrderValidationConfig config) {
+        return new SymbolRegistry(symbolRepository, config);
+    }
+
+    @Provides
+    @Singleton
+    DtoMapper provideDtoMapper(SymbolRegistry symbolRegistry) {
+        return new DtoMapper(symbolRegistry);
     }
 
     /**
@@ -74,32 +103,52 @@ public final class ServiceModule extends AbstractModule {
 
     @Provides
     @Singleton
-    OrderIndexCache provideOrderIndexCache(RedisClient redisClient, OrderRepository orderRepository) {
-        return new OrderIndexCache(redisClient, orderRepository);
+    OrderIndexCache provideOrderIndexCache(RedisShardConnections redis) {
+        return new OrderIndexCache(redis);
     }
 
     @Provides
     @Singleton
     OrderShardExecutor provideOrderShardExecutor(OrderService orderService, MetricsCollector metrics) {
-        return new OrderShardExecutor(orderService, metrics);
+        OrderShardExecutor executor = new OrderShardExecutor(orderService, metrics);
+        orderService.setShardExecutor(executor);  // 일괄 취소 샤드 분배
+        return executor;
     }
 
     @Provides
     @Singleton
-    OrderOutboxQueue provideOrderOutboxQueue() {
-        return new OrderOutboxQueue();
+    OrderOutboxQueue provideOrderOutboxQueue(OrderJournal journal, MetricsCollector metrics) {
+        return new OrderOutboxQueue(journal, metrics);
     }
 
     @Provides
     @Singleton
     OrderBatchWriter provideOrderBatchWriter(OrderOutboxQueue outboxQueue,
                                             DSLContext dsl,
-                                            MetricsCollector metrics) {
-        OrderBatchWriter writer = new OrderBatchWriter(outboxQueue, dsl, metrics);
+                                            OutboxConfig outboxConfig,
+                                            MetricsCollector metrics,
+                                            LiveOrderRegistry liveOrders,
+                                            OrderJournal journal,
+                                            OrderRepository orderRepository,
+                                            PgPipelineClient pipeline) {
+        OrderBatchWriter writer = new OrderBatchWriter(outboxQueue, dsl, outboxConfig, metrics, liveOrders,
+                                                       journal, orderRepository, pipeline);
         writer.start();  // 스레드 풀 시작
         return writer;
     }
 
+    @Provides
+    @Singleton
+    LiveOrderRegistry provideLiveOrderRegistry(MetricsCollector metrics) {
+        return new LiveOrderRegistry(metrics);
+    }
+
+    @Provides
+    @Singleton
+    ClientOrderDeduplicator provideClientOrderDeduplicator() {
+        return new ClientOrderDeduplicator();
+    }
+
     @Provides
     @Singleton
     OrderService provideOrderService(
@@ -109,6 +158,9 @@ public final class ServiceModule extends AbstractModule {
             SessionRepository sessionRepository,
             OrderIndexCache orderIndexCache,
             OrderOutboxQueue outboxQueue,
+            LiveOrderRegistry liveOrders,
+            ClientOrderDeduplicator deduplicator,
+            SymbolRegistry symbolRegistry,
             MetricsCollector metrics) {
         return new OrderService(
                 transactionExecutor,
@@ -117,20 +169,57 @@ public final class ServiceModule extends AbstractModule {
                 sessionRepository,
                 orderIndexCache,
                 outboxQueue,
+                liveOrders,
+                deduplicator,
+                symbolRegistry,
                 metrics
         );
     }
 
     @Provides
     @Singleton
-    AccountGrpcClient provideAccountGrpcClient(AccountServiceConfig config) {
-        return new AccountGrpcClient(config.getHost(), config.getPort());
+    OrderQueryService provideOrderQueryService(
+            SessionRepository sessionRepository,
+            OrderRepository orderRepository,
+            LiveOrderRegistry liveOrders,
+            SymbolRegistry symbolRegistry,
+            MetricsCollector metrics) {
+        return new OrderQueryService(sessionRepository, orderRepository, liveOrders, symbolRegistry, metrics);
+    }
+
+    @Provides
+    @Singleton
+    OrderValidator provideOrderValidator(OrderValidationConfig config,
+                                         SymbolRegistry symbolRegistry,
+                                         MetricsCollector metrics) {
+        return new OrderValidator(config, symbolRegistry, metrics);
     }
 
     @Provides
     @Singleton
-    OrderRepository provideOrderRepository(DSLContext dsl) {
-        return new OrderRepository(dsl);
+    AccountGrpcClient provideAccountGrpcClient(AccountServiceConfig config, MetricsCollector metrics) {
+        return new AccountGrpcClient(config, metrics);
+    }
+
+    @Provides
+    @Singleton
+    GatewaySink provideGatewaySink(RelayConfig config) {
+        return switch (config.getSink()) {
+            case "local" -> new LocalGatewaySink();
+            default -> throw new IllegalArgumentException("Unknown gateway sink: " + config.getSink());
+        };
+    }
+
+    @Provides
+    @Singleton
+    OrderRepository provideOrderRepository(DSLContext dsl, OrderPartitions partitions, PgPipelineClient pipeline) {
+        return new OrderRepository(dsl, partitions, pipeline);
+    }
+
+    @Provides
+    @Singleton
+    SymbolRepository provideSymbolRepository(DSLContext dsl) {
+        return new SymbolRepository(dsl);
     }
 
     // OrderIdGenerator는 더 이상 singleton으로 제공되지 않음
@@ -138,7 +227,24 @@ public final class ServiceModule extends AbstractModule {
 
     @Provides
     @Singleton
-    CacheCleanupScheduler provideCacheCleanupScheduler(OrderIndexCache orderIndexCache) {
-        return new CacheCleanupScheduler(orderIndexCache);
+    CacheCleanupScheduler provideCacheCleanupScheduler(OrderIndexCache orderIndexCache,
+                                                       OrderRepository orderRepository,
+                                                       OrderIndexCleanupConfig config,
+                                                       MetricsCollector metrics) {
+        return new CacheCleanupScheduler(orderIndexCache, orderRepository, config, metrics);
+    }
+
+    @Provides
+    @Singleton
+    OrderPartitions provideOrderPartitions() {
+        return new OrderPartitions();
+    }
+
+    @Provides
+    @Singleton
+    OrderPartitionMaintainer provideOrderPartitionMaintainer(DSLContext dsl,
+                                                             OrderPartitions partitions,
+                                                             PartitionConfig config) {
+        return new OrderPartitionMaintainer(dsl, partitions, config);
     }
 }
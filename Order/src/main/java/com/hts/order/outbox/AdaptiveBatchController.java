@@ -0,0 +1,105 @@
+package com.hts.order.outbox;
+
+import com.hts.order.config.OutboxConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * writer별 배치 크기 / linger 조정 (AIMD)
+ *
+ * - 입력: 배치 행 수, DB 배치 시간(db_batch_duration_ms), 파티션 잔량
+ * - lag 추정 = 잔량 / 처리율(EWMA) → 지금 쌓인 주문이 DB에 들어가기까지 걸리는 시간
+ * - lag > maxLag      : linger 0 + 배치 덧셈 증가 (라운드트립당 행 수 ↑)
+ * - 배치 시간 > target : 배치 곱셈 감소 (DB 지연 폭주 방지)
+ * - 꽉 찬 배치         : 배치 덧셈 증가, linger 절반
+ * - 덜 찬 배치 (저부하): linger 덧셈 증가 → 작은 배치 여러 번 대신 모아서 한 번에
+ *
+ * writer 스레드 전용 (gauge 읽기만 다른 스레드)
+ */
+final class AdaptiveBatchController {
+
+    private static final int BATCH_STEP = 32;
+    private static final double BATCH_DECREASE = 0.7;
+    private static final long LINGER_STEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final boolean enabled;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchNanos;
+    private final long maxLagNanos;
+    private final long maxLingerNanos;
+
+    private volatile int batchSize;
+    private volatile long lingerNanos;
+    private volatile double lagMillis;
+    private double rowsPerNano;  // 처리율 EWMA
+
+    AdaptiveBatchController(OutboxConfig config, int initialBatchSize) {
+        this.enabled = config.isAdaptiveEnabled();
+        this.minBatchSize = config.getMinBatchSize();
+        this.maxBatchSize = config.getMaxBatchSize();
+        this.targetBatchNanos = TimeUnit.MILLISECONDS.toNanos(config.getTargetBatchMillis());
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxLagMillis());
+        this.maxLingerNanos = TimeUnit.MICROSECONDS.toNanos(config.getMaxLingerMicros());
+        this.batchSize = enabled ? clamp(initialBatchSize) : initialBatchSize;
+        this.lingerNanos = 0;
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    long lingerNanos() {
+        return lingerNanos;
+    }
+
+    double lingerMicros() {
+        return lingerNanos / 1_000.0;
+    }
+
+    double lagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * 배치 1회 결과 반영
+     *
+     * @param rows 이번 배치 행 수
+     * @param durationNanos DB 적재 시간
+     * @param remaining 적재 직후 파티션 잔량
+     */
+    void onBatch(int rows, long durationNanos, int remaining) {
+        if (!enabled || rows == 0 || durationNanos <= 0) {
+            return;
+        }
+
+        double rate = (double) rows / durationNanos;
+        rowsPerNano = rowsPerNano == 0 ? rate : rowsPerNano + EWMA_ALPHA * (rate - rowsPerNano);
+        long lagNanos = (long) (remaining / rowsPerNano);
+        lagMillis = lagNanos / 1_000_000.0;
+
+        int size = batchSize;
+        long linger = lingerNanos;
+
+        if (lagNanos > maxLagNanos) {
+            size += BATCH_STEP;
+            linger = 0;
+        } else if (durationNanos > targetBatchNanos) {
+            size = (int) (size * BATCH_DECREASE);
+            linger >>= 1;
+        } else if (rows >= size) {
+            size += BATCH_STEP;
+            linger >>= 1;
+        } else if (lagNanos < maxLagNanos / 2) {
+            linger = Math.min(maxLingerNanos, linger + LINGER_STEP_NANOS);
+        }
+
+        batchSize = clamp(size);
+        lingerNanos = linger;
+    }
+
+    private int clamp(int size) {
+        return Math.max(minBatchSize, Math.min(maxBatchSize, size));
+    }
+}
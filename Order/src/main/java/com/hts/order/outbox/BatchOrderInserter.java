@@ -0,0 +1,50 @@
+package com.hts.order.outbox;
+
+import org.jooq.DSLContext;
+
+/**
+ * JDBC batch INSERT (PREPARE 1회 + 행별 bind)
+ */
+final class BatchOrderInserter implements OrderInserter {
+
+    private final DSLContext dsl;
+
+    BatchOrderInserter(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    @Override
+    public void insert(OrderSlotBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        dsl.transaction(cfg -> {
+            DSLContext tx = org.jooq.impl.DSL.using(cfg);
+
+            // PREPARE 한 번 + 배치 실행
+            var insertBatch = tx.batch(
+                tx.query("""
+                    INSERT INTO orders(order_id, account_id, symbol_id, side, order_type, quantity, price, time_in_force, status)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """)
+            );
+
+            for (int i = 0; i < batch.size(); i++) {
+                insertBatch.bind(
+                    batch.orderId(i),
+                    batch.accountId(i),
+                    batch.symbolId(i),
+                    batch.side(i).name(),
+                    batch.orderType(i).name(),
+                    batch.quantity(i),
+                    batch.price(i),
+                    batch.timeInForce(i).name(),
+                    batch.status(i).name()
+                );
+            }
+
+            insertBatch.execute();
+        });
+    }
+}
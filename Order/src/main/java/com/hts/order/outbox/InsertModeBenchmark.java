@@ -0,0 +1,104 @@
+package com.hts.order.outbox;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.hts.order.module.ConfigModule;
+import com.hts.order.module.DatabaseModule;
+import com.hts.order.proto.OrderProto;
+import com.hts.order.repository.OrderPartitions;
+import com.hts.order.service.order.OrderEntity;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * OrderInserter 벤치마크 (binary COPY vs batch INSERT)
+ *
+ * - 배치 크기별로 동일 행 수를 적재하고 rows/s 비교
+ * - 기존 accounts / symbols 행을 사용 (FK 충족)
+ * - orders는 order_id RANGE 파티션 → 먼 미래 1일 대역의 전용 파티션(orders_bench)을 만들어 적재, 종료 시 DROP
+ * - 실행: java -cp <order classpath> com.hts.order.outbox.InsertModeBenchmark (application.conf의 DB 사용)
+ */
+public final class InsertModeBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(InsertModeBenchmark.class);
+
+    private static final int[] BATCH_SIZES = {64, 128, 256, 512, 1024, 2048};
+    private static final int ROWS_PER_RUN = 200_000;
+    private static final int WARMUP_ROWS = 20_000;
+    private static final String BENCH_PARTITION = "orders_bench";
+    private static final LocalDate BENCH_DAY = LocalDate.now(ZoneOffset.UTC).plusYears(3);  // 일자 파티션 생성 범위 밖
+    private static final long BENCH_ORDER_ID_BASE = OrderPartitions.lowerBound(BENCH_DAY);
+    private static final long BENCH_ORDER_ID_END = OrderPartitions.lowerBound(BENCH_DAY.plusDays(1));
+
+    private static long nextOrderId = BENCH_ORDER_ID_BASE;
+
+    public static void main(String[] args) {
+        Injector injector = Guice.createInjector(new ConfigModule(), new DatabaseModule());
+        DSLContext dsl = injector.getInstance(DSLContext.class);
+
+        long accountId = dsl.transactionResult(cfg ->
+                DSL.using(cfg).fetchSingle("SELECT account_id FROM accounts LIMIT 1").get(0, Long.class));
+        int symbolId = dsl.transactionResult(cfg ->
+                DSL.using(cfg).fetchSingle("SELECT symbol_id FROM symbols LIMIT 1").get(0, Integer.class));
+
+        OrderInserter copy = new CopyOrderInserter(dsl);
+        OrderInserter batch = new BatchOrderInserter(dsl);
+
+        dsl.transaction(cfg -> DSL.using(cfg).execute(
+                "CREATE TABLE " + BENCH_PARTITION + " PARTITION OF orders FOR VALUES FROM ("
+                        + BENCH_ORDER_ID_BASE + ") TO (" + BENCH_ORDER_ID_END + ")"));
+        try {
+            run(copy, 256, WARMUP_ROWS, accountId, symbolId);
+            run(batch, 256, WARMUP_ROWS, accountId, symbolId);
+            cleanup(dsl);
+
+            log.info("========================================");
+            log.info("INSERT MODE BENCHMARK ({} rows per run)", ROWS_PER_RUN);
+            log.info("========================================");
+            for (int batchSize : BATCH_SIZES) {
+                double copyRate = run(copy, batchSize, ROWS_PER_RUN, accountId, symbolId);
+                cleanup(dsl);
+                double batchRate = run(batch, batchSize, ROWS_PER_RUN, accountId, symbolId);
+                cleanup(dsl);
+
+                log.info("batchSize={}  copy={} rows/s  batch={} rows/s  speedup={}x",
+                        batchSize,
+                        String.format("%,.0f", copyRate),
+                        String.format("%,.0f", batchRate),
+                        String.format("%.2f", copyRate / batchRate));
+            }
+        } finally {
+            dsl.transaction(cfg -> DSL.using(cfg).execute("DROP TABLE IF EXISTS " + BENCH_PARTITION));
+        }
+    }
+
+    private static double run(OrderInserter inserter, int batchSize, int rows, long accountId, int symbolId) {
+        OrderSlotBatch batch = new OrderSlotBatch(batchSize);
+        long start = System.nanoTime();
+
+        for (int written = 0; written < rows; written += batchSize) {
+            batch.clear();
+            int n = Math.min(batchSize, rows - written);
+            for (int i = 0; i < n; i++) {
+                batch.add(new OrderEntity(
+                        nextOrderId++, accountId, symbolId,
+                        OrderProto.Side.BUY, OrderProto.OrderType.LIMIT,
+                        1L, 100L, OrderProto.TimeInForce.GTC,
+                        OrderProto.OrderStatus.RECEIVED));
+            }
+            inserter.insert(batch);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return rows / seconds;
+    }
+
+    private static void cleanup(DSLContext dsl) {
+        dsl.transaction(cfg -> DSL.using(cfg).execute("TRUNCATE " + BENCH_PARTITION));
+        nextOrderId = BENCH_ORDER_ID_BASE;
+    }
+}
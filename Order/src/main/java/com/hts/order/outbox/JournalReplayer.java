@@ -0,0 +1,82 @@
+package com.hts.order.outbox;
+
+import com.hts.order.repository.OrderRepository;
+import com.hts.order.service.order.OrderEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 기동 시 저널 복구 → DB 미반영 주문 재적재 + 상태 변경 재반영
+ *
+ * - 이전 프로세스가 남긴 세그먼트 = 응답은 나갔지만 DB INSERT 전일 수 있는 주문
+ * - 이미 DB에 있는 주문은 제외 후 OrderBatchWriter로 동기 적재
+ * - 이어서 저널 기록 정정 → 상태 변경(메모리 취소) 반영
+ *   · 정정: 차액 예약 / 해제된 주문이 이전 수량/가격으로 남지 않도록
+ *   · 취소: 자금 해제된 주문이 RECEIVED로 남아 재적재 / 릴레이되지 않도록
+ * - 전부 성공 시 세그먼트 삭제, 실패 시 세그먼트 보존 + 예외 전파 (기동 중단)
+ *   · 이어서 기동하면 저널 취소(자금 해제 완료)가 빠진 주문이 미체결로 적재 / 릴레이됨
+ * - LiveOrderLoader보다 먼저 호출 (재적재 주문도 샤드 메모리에 올라가도록)
+ */
+@Singleton
+public final class JournalReplayer {
+    private static final Logger log = LoggerFactory.getLogger(JournalReplayer.class);
+
+    private static final int LOOKUP_CHUNK = 10_000;
+
+    private final OrderJournal journal;
+    private final OrderRepository orderRepository;
+    private final OrderBatchWriter batchWriter;
+
+    @Inject
+    public JournalReplayer(OrderJournal journal, OrderRepository orderRepository, OrderBatchWriter batchWriter) {
+        this.journal = journal;
+        this.orderRepository = orderRepository;
+        this.batchWriter = batchWriter;
+    }
+
+    /**
+     * @throws IllegalStateException 재적재 / 재반영 실패 (세그먼트는 다음 기동 시 재시도)
+     */
+    public void replay() {
+        if (!journal.isEnabled()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            OrderJournal.Recovered records = journal.readRecovered();
+            List<OrderEntity> recovered = records.orders();
+            List<OrderEntity> missing = new ArrayList<>();
+
+            for (int from = 0; from < recovered.size(); from += LOOKUP_CHUNK) {
+                List<OrderEntity> chunk = recovered.subList(from, Math.min(from + LOOKUP_CHUNK, recovered.size()));
+                Set<Long> existing = orderRepository.findExistingOrderIds(
+                        chunk.stream().map(OrderEntity::orderId).toList());
+                for (OrderEntity order : chunk) {
+                    if (!existing.contains(order.orderId())) {
+                        missing.add(order);
+                    }
+                }
+            }
+
+            batchWriter.replay(missing);
+            int amendApplied = batchWriter.replayAmendUpdates(records.amendUpdates());
+            int statusApplied = batchWriter.replayStatusUpdates(records.statusUpdates());
+            journal.discardRecovered();
+            log.info("Journal replay done: recovered={}, replayed={}, amendRecovered={}, amendApplied={}, "
+                     + "statusRecovered={}, statusApplied={}, elapsed={}ms",
+                     recovered.size(), missing.size(), records.amendUpdates().size(), amendApplied,
+                     records.statusUpdates().size(), statusApplied, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 세그먼트 보존 → 다음 기동 시 재시도
+            log.error("Journal replay failed, segments kept for next startup", e);
+            throw new IllegalStateException("Journal replay failed", e);
+        }
+    }
+}
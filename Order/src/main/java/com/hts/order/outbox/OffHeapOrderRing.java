@@ -0,0 +1,137 @@
+package com.hts.order.outbox;
+
+import com.hts.order.service.order.OrderEntity;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Outbox 파티션 링 버퍼 (off-heap, 고정 폭 슬롯)
+ *
+ * - direct ByteBuffer에 OrderSlots 포맷으로 저장 → 대기 주문 수가 GC 대상 객체 수에 영향 없음
+ * - offer: 필드를 슬롯에 직접 기록 (OrderEntity는 워커 스택에서 바로 버려짐 → young GC)
+ * - drain: 슬롯 바이트를 writer 배치 버퍼로 bulk copy 후 즉시 슬롯 반환
+ * - 생산/소비 모두 락 1개 (ArrayBlockingQueue와 동일 모델, 파티션별 독립)
+ * - 예약(credit): 워커가 계좌 예약 전에 슬롯 1개를 선점 → offerReserved는 실패하지 않음
+ */
+final class OffHeapOrderRing {
+
+    private final ByteBuffer slots;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private long head;           // 다음 읽기 위치 (lock 보호)
+    private long tail;           // 다음 쓰기 위치 (lock 보호)
+    private int reserved;        // 선점된 슬롯 수 (lock 보호)
+    private volatile int size;   // gauge / isEmpty용
+    private volatile int free;   // 남은 credit (capacity - size - reserved)
+
+    OffHeapOrderRing(int capacity) {
+        this.capacity = capacity;
+        this.slots = ByteBuffer.allocateDirect(capacity * OrderSlots.SLOT_SIZE);
+        this.free = capacity;
+    }
+
+    /**
+     * 슬롯 1개 선점
+     *
+     * @return false if no free slot
+     */
+    boolean tryReserve() {
+        lock.lock();
+        try {
+            if (tail - head + reserved >= capacity) {
+                return false;
+            }
+            reserved++;
+            updateCounts();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void cancelReservation() {
+        lock.lock();
+        try {
+            reserved--;
+            updateCounts();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 선점한 슬롯에 기록 (tryReserve 성공 후 1회)
+     */
+    boolean offerReserved(OrderEntity order, long journalSeq) {
+        lock.lock();
+        try {
+            reserved--;
+            OrderSlots.write(slots, offsetOf(tail), order, journalSeq);
+            tail++;
+            updateCounts();
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 비어 있으면 timeoutNanos까지 대기 후 최대 maxSlots개를 배치 끝에 복사
+     *
+     * @return 복사한 슬롯 수
+     */
+    int drainTo(OrderSlotBatch batch, int maxSlots, long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (tail == head) {
+                if (remaining <= 0) {
+                    return 0;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+
+            int n = (int) Math.min(maxSlots, tail - head);
+            int first = (int) Math.min(n, capacity - (head % capacity));  // wrap 전까지
+            byte[] dst = batch.array();
+            int dstOffset = batch.size() * OrderSlots.SLOT_SIZE;
+
+            slots.get(offsetOf(head), dst, dstOffset, first * OrderSlots.SLOT_SIZE);
+            if (n > first) {
+                slots.get(0, dst, dstOffset + first * OrderSlots.SLOT_SIZE, (n - first) * OrderSlots.SLOT_SIZE);
+            }
+            batch.advance(n);
+            head += n;
+            updateCounts();
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int free() {
+        return free;
+    }
+
+    private void updateCounts() {
+        size = (int) (tail - head);
+        free = capacity - size - reserved;
+    }
+
+    private int offsetOf(long position) {
+        return (int) (position % capacity) * OrderSlots.SLOT_SIZE;
+    }
+}
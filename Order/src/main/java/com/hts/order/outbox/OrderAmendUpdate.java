@@ -0,0 +1,45 @@
+package com.hts.order.outbox;
+
+/**
+ * 비동기 주문 정정 (메모리에서 먼저 확정, DB는 BatchWriter가 반영)
+ *
+ * - 수량/가격 제자리 UPDATE: 0건이면 INSERT가 아직 flush 전 → writer가 보류 후 다음 루프에서 재시도
+ *   · 재시도 상한은 최초 큐잉 시각 기준 (OrderStatusUpdate와 동일)
+ * - 같은 주문의 정정은 version이 큰 쪽만 반영 (워커 / 큐 / 저널 순서와 무관하게 최종 정정 유지)
+ *
+ * @param version LiveOrderTable.amend()가 발급한 주문별 정정 버전
+ * @param attempts 0건 재시도 횟수 (로그용)
+ * @param journalSeq 저널 레코드 seq (저널 미기록이면 NO_SEQ, 반영 / 폐기 시 OrderJournal에 통지)
+ * @param queuedAtNanos 최초 큐잉 시각 (System.nanoTime, 재시도 시 유지)
+ */
+public record OrderAmendUpdate(
+        long orderId,
+        long accountId,
+        long quantity,
+        long price,
+        int version,
+        int attempts,
+        long journalSeq,
+        long queuedAtNanos
+) {
+    public static OrderAmendUpdate of(long orderId, long accountId, long quantity, long price, int version) {
+        return new OrderAmendUpdate(orderId, accountId, quantity, price, version, 0, OrderJournal.NO_SEQ,
+                System.nanoTime());
+    }
+
+    public OrderAmendUpdate retry() {
+        return new OrderAmendUpdate(orderId, accountId, quantity, price, version, attempts + 1, journalSeq,
+                queuedAtNanos);
+    }
+
+    public OrderAmendUpdate withJournalSeq(long seq) {
+        return new OrderAmendUpdate(orderId, accountId, quantity, price, version, attempts, seq, queuedAtNanos);
+    }
+
+    /**
+     * 최초 큐잉 이후 경과 시간
+     */
+    public long ageNanos(long nowNanos) {
+        return nowNanos - queuedAtNanos;
+    }
+}
@@ -0,0 +1,132 @@
+package com.hts.order.outbox;
+
+import com.hts.order.proto.OrderProto;
+import com.hts.order.repository.PgPipelineClient;
+import com.hts.order.state.OrderStatusTransitions;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * 주문 정정 배치 반영 (OrderBatchWriter에서 사용)
+ *
+ * - merge: 같은 주문은 정정 버전이 가장 큰 1건만 (밀려난 정정의 저널 seq는 즉시 정리)
+ * - apply: 배치 전체를 UPDATE ... FROM (VALUES ...) 한 문장으로 반영
+ *   · 정정 가능 여부는 메모리에서 판정 → 조건은 미체결 + 취소 요청 (정정 이후 취소가 먼저 flush돼도 갱신)
+ *   · RETURNING으로 반영된 주문만 돌려줌 (나머지는 호출 측이 재시도/폐기 판단)
+ *   · 파이프라이닝 경로(PgPipelineClient 활성)는 고정 SQL + unnest 배열 4개 (연결 공유)
+ */
+final class OrderAmendWriter {
+    private static final String UNSETTLED_SQL = OrderStatusTransitions.OPEN_SQL
+            + ",'" + OrderProto.OrderStatus.CANCEL_REQUESTED.name() + "'";
+
+    private static final String UPDATE_HEAD = """
+        UPDATE orders AS o
+        SET quantity = v.quantity, price = v.price, updated_at = NOW()
+        FROM (VALUES
+        """;
+    private static final String VALUES_ROW = "(?::bigint, ?::bigint, ?::bigint, ?::bigint)";
+    private static final String UPDATE_TAIL = """
+        ) AS v(order_id, account_id, quantity, price)
+        WHERE o.order_id = v.order_id
+          AND o.account_id = v.account_id
+          AND o.status IN (%s)
+        RETURNING o.order_id
+        """.formatted(UNSETTLED_SQL);
+    private static final String PIPELINED_UPDATE_SQL = """
+        UPDATE orders AS o
+        SET quantity = v.quantity, price = v.price, updated_at = NOW()
+        FROM unnest($1::bigint[], $2::bigint[], $3::bigint[], $4::bigint[]) AS v(order_id, account_id, quantity, price)
+        WHERE o.order_id = v.order_id
+          AND o.account_id = v.account_id
+          AND o.status IN (%s)
+        RETURNING o.order_id
+        """.formatted(UNSETTLED_SQL);
+
+    private final DSLContext dsl;
+    private final PgPipelineClient pipeline;
+
+    OrderAmendWriter(DSLContext dsl, PgPipelineClient pipeline) {
+        this.dsl = dsl;
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * 주문별 최신 정정만 남김 (버전이 같으면 나중 것)
+     *
+     * @param superseded 밀려난 정정의 저널 seq 통지 (남은 정정이 같은 주문의 최종 값을 반영)
+     */
+    static void merge(Map<Long, OrderAmendUpdate> pending, OrderAmendUpdate update, LongConsumer superseded) {
+        OrderAmendUpdate prev = pending.get(update.orderId());
+        if (prev == null) {
+            pending.put(update.orderId(), update);
+        } else if (update.version() >= prev.version()) {
+            pending.put(update.orderId(), update);
+            superseded.accept(prev.journalSeq());
+        } else {
+            superseded.accept(update.journalSeq());
+        }
+    }
+
+    /**
+     * @return 반영된 orderId
+     */
+    Set<Long> apply(Collection<OrderAmendUpdate> updates) {
+        if (pipeline.isEnabled()) {
+            return applyPipelined(updates);
+        }
+
+        StringBuilder sql = new StringBuilder(UPDATE_HEAD.length() + UPDATE_TAIL.length()
+                + updates.size() * (VALUES_ROW.length() + 2));
+        Object[] binds = new Object[updates.size() * 4];
+
+        sql.append(UPDATE_HEAD);
+        int i = 0;
+        for (OrderAmendUpdate update : updates) {
+            if (i > 0) {
+                sql.append(",\n");
+            }
+            sql.append(VALUES_ROW);
+            binds[i * 4] = update.orderId();
+            binds[i * 4 + 1] = update.accountId();
+            binds[i * 4 + 2] = update.quantity();
+            binds[i * 4 + 3] = update.price();
+            i++;
+        }
+        sql.append(UPDATE_TAIL);
+
+        Set<Long> applied = new HashSet<>(updates.size() * 2);
+        dsl.transaction(cfg -> DSL.using(cfg).fetch(sql.toString(), binds)
+                .forEach(r -> applied.add(r.get(0, Long.class))));
+        return applied;
+    }
+
+    private Set<Long> applyPipelined(Collection<OrderAmendUpdate> updates) {
+        int n = updates.size();
+        Long[] orderIds = new Long[n];
+        Long[] accountIds = new Long[n];
+        Long[] quantities = new Long[n];
+        Long[] prices = new Long[n];
+        int i = 0;
+        for (OrderAmendUpdate update : updates) {
+            orderIds[i] = update.orderId();
+            accountIds[i] = update.accountId();
+            quantities[i] = update.quantity();
+            prices[i] = update.price();
+            i++;
+        }
+
+        Set<Long> applied = new HashSet<>(n * 2);
+        for (Row row : pipeline.execute(PIPELINED_UPDATE_SQL, Tuple.of(orderIds, accountIds, quantities, prices))) {
+            applied.add(row.getLong(0));
+        }
+        return applied;
+    }
+}
@@ -1,8 +1,12 @@
 package com.hts.order.outbox;
 
+import com.hts.order.config.OutboxConfig;
 import com.hts.order.metrics.MetricsCollector;
+import com.hts.order.proto.OrderProto;
 import com.hts.order.repository.OrderRepository;
+import com.hts.order.repository.PgPipelineClient;
 import com.hts.order.service.order.OrderEntity;
+import com.hts.order.state.LiveOrderRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.jooq.DSLContext;
 import org.slf4j.Logger;
@@ -12,75 +16,143 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 비동기 주문 DB Batch Writer
  *
- * - 4개 스레드가 큐에서 주문을 poll
- * - 최대 256개씩 배치로 모아서 한 번에 DB INSERT
+ * - Outbox 파티션(샤드)마다 전용 writer 스레드가 자기 파티션만 poll (파티션 간 락 경합 없음)
+ * - writersPerPartition = 1 이면 파티션 내 INSERT / 상태 UPDATE 순서가 접수 순서와 동일
+ * - 주문은 off-heap 슬롯에서 writer 전용 배치 버퍼로 복사해 그대로 bind / COPY 인코딩 (주문당 객체 생성 없음)
+ * - 배치 크기 / linger는 writer별 AdaptiveBatchController가 조정, 모아서 한 번에 DB 적재 (OutboxConfig.insertMode: binary COPY | batch INSERT)
+ * - PgPipelineClient 활성 시 INSERT / 상태 UPDATE 모두 단일 문장 파이프라이닝 (insertMode 무시, Hikari 연결 미사용)
  * - 10ms timeout으로 작은 배치도 빠르게 처리
+ * - 정정(OrderAmendUpdate) → 상태 변경(OrderStatusUpdate) 순으로 매 루프마다 drain 후 batch UPDATE
+ * - 적재 완료 주문은 OrderJournal에 통지 (세그먼트 정리)
+ * - INSERT 실패 배치는 버리지 않고 다음 루프에서 재시도 (이미 적재된 주문은 제외 후, poll은 성공할 때까지 보류)
  * - Graceful shutdown 지원
  */
 @Singleton
 public final class OrderBatchWriter {
     private static final Logger log = LoggerFactory.getLogger(OrderBatchWriter.class);
 
-    private static final int WRITER_THREADS = 16;  // 4 → 16 (처리량 4배)
-    private static final int BATCH_SIZE = 512;     // 256 → 512 (배치 크기 2배)
+    private static final int BATCH_SIZE = 512;     // 초기값 (adaptive 비활성 시 고정)
     private static final long POLL_TIMEOUT_MS = 5;  // 10ms → 5ms (더 빠른 반응)
+    private static final int STATUS_BATCH_SIZE = 512;
+    private static final long STATUS_MAX_WAIT_NANOS = TimeUnit.SECONDS.toNanos(10);  // 최초 큐잉 후 INSERT flush 대기 상한
 
     private final OrderOutboxQueue outboxQueue;
-    private final DSLContext dsl;
+    private final OrderInserter inserter;
+    private final OrderStatusWriter statusWriter;
+    private final OrderAmendWriter amendWriter;
     private final MetricsCollector metrics;
+    private final LiveOrderRegistry liveOrders;
+    private final OrderJournal journal;
+    private final OrderRepository orderRepository;
+    private final int writersPerPartition;
+    private final OutboxConfig outboxConfig;
     private final List<Thread> writerThreads = new ArrayList<>();
     private volatile boolean running = true;
 
     @Inject
     public OrderBatchWriter(OrderOutboxQueue outboxQueue,
                            DSLContext dsl,
-                           MetricsCollector metrics) {
+                           OutboxConfig outboxConfig,
+                           MetricsCollector metrics,
+                           LiveOrderRegistry liveOrders,
+                           OrderJournal journal,
+                           OrderRepository orderRepository,
+                           PgPipelineClient pipeline) {
         this.outboxQueue = outboxQueue;
-        this.dsl = dsl;
+        this.inserter = pipeline.isEnabled() ? new PipelinedOrderInserter(pipeline)
+                : switch (outboxConfig.getInsertMode()) {
+                    case COPY -> new CopyOrderInserter(dsl);
+                    case BATCH -> new BatchOrderInserter(dsl);
+                };
+        this.statusWriter = new OrderStatusWriter(dsl, pipeline);
+        this.amendWriter = new OrderAmendWriter(dsl, pipeline);
         this.metrics = metrics;
+        this.liveOrders = liveOrders;
+        this.journal = journal;
+        this.orderRepository = orderRepository;
+        this.writersPerPartition = outboxConfig.getWritersPerPartition();
+        this.outboxConfig = outboxConfig;
     }
 
     /**
      * Writer 스레드 풀 시작
      */
     public void start() {
-        for (int i = 0; i < WRITER_THREADS; i++) {
-            Thread writer = new Thread(this::writerLoop, "order-batch-writer-" + i);
-            writer.setDaemon(false);
-            writer.start();
-            writerThreads.add(writer);
+        for (int p = 0; p < outboxQueue.partitionCount(); p++) {
+            final int partition = p;
+            for (int i = 0; i < writersPerPartition; i++) {
+                Thread writer = new Thread(() -> writerLoop(partition), "order-batch-writer-p" + p + "-" + i);
+                writer.setDaemon(false);
+                writer.start();
+                writerThreads.add(writer);
+            }
         }
-        log.info("OrderBatchWriter started: {} threads, batchSize={}, pollTimeout={}ms",
-                 WRITER_THREADS, BATCH_SIZE, POLL_TIMEOUT_MS);
+        log.info("OrderBatchWriter started: {} partitions x {} threads, batchSize={}, pollTimeout={}ms, inserter={}",
+                 outboxQueue.partitionCount(), writersPerPartition, BATCH_SIZE, POLL_TIMEOUT_MS,
+                 inserter.getClass().getSimpleName());
     }
 
     /**
-     * Writer 메인 루프
+     * Writer 메인 루프 (파티션 전용)
      */
-    private void writerLoop() {
+    private void writerLoop(int partition) {
         final String threadName = Thread.currentThread().getName();
-        List<OrderEntity> batch = new ArrayList<>(BATCH_SIZE);
+        OrderSlotBatch batch = new OrderSlotBatch(Math.max(BATCH_SIZE, outboxConfig.getMaxBatchSize()));
+        List<OrderStatusUpdate> statusBatch = new ArrayList<>(STATUS_BATCH_SIZE);
+        List<OrderAmendUpdate> amendBatch = new ArrayList<>(STATUS_BATCH_SIZE);
+        Map<Long, OrderAmendUpdate> pendingAmends = new LinkedHashMap<>();  // INSERT flush 대기 정정 (writer 전용)
+        AdaptiveBatchController controller = new AdaptiveBatchController(outboxConfig, BATCH_SIZE);
+        metrics.registerOutboxBatchGauges(threadName, controller,
+                AdaptiveBatchController::batchSize,
+                AdaptiveBatchController::lingerMicros,
+                AdaptiveBatchController::lagMillis);
+
+        boolean insertFailed = false;  // 직전 INSERT 실패 → batch 보존, 다음 루프에서 재시도
 
-        while (running || !outboxQueue.isEmpty()) {
+        while (running || !outboxQueue.isEmpty(partition) || !pendingAmends.isEmpty() || insertFailed) {
             try {
-                int polled = outboxQueue.pollBatch(batch, BATCH_SIZE, POLL_TIMEOUT_MS);
+                int polled = insertFailed
+                        ? excludePersisted(batch)
+                        : outboxQueue.pollBatch(partition, batch,
+                                Math.min(controller.batchSize(), batch.capacity()), POLL_TIMEOUT_MS,
+                                controller.lingerNanos());
 
-                if (polled == 0) {
-                    continue;
-                }
+                if (polled > 0) {
+                    // Batch INSERT
+                    Timer.Sample sample = metrics.startTimer();
+                    insertFailed = true;
+                    inserter.insert(batch);
+                    insertFailed = false;
+                    journal.markPersisted(batch);
+                    long durationNanos = metrics.recordDbBatchDuration(sample, batch.size());
+                    controller.onBatch(polled, durationNanos, outboxQueue.size(partition));
 
-                // Batch INSERT
-                Timer.Sample sample = metrics.startTimer();
-                batchInsert(batch);
-                metrics.recordDbBatchDuration(sample, batch.size());
+                    if (polled >= 100) {
+                        log.info("[{}] Batch inserted {} orders", threadName, polled);
+                    }
+                }
 
-                if (polled >= 100) {
-                    log.info("[{}] Batch inserted {} orders", threadName, polled);
+                // INSERT 이후 정정 → 상태 변경 반영 (같은 루프에서 flush된 주문은 바로 매칭)
+                //   정정은 메모리에서 미체결일 때만 확정 → 같은 주문의 이후 취소보다 먼저 반영
+                outboxQueue.drainAmendUpdates(partition, amendBatch, STATUS_BATCH_SIZE);
+                for (OrderAmendUpdate update : amendBatch) {
+                    OrderAmendWriter.merge(pendingAmends, update, journal::markPersisted);
+                }
+                if (!pendingAmends.isEmpty()) {
+                    batchUpdateAmends(pendingAmends);
+                }
+                if (outboxQueue.drainStatusUpdates(partition, statusBatch, STATUS_BATCH_SIZE) > 0) {
+                    batchUpdateStatus(statusBatch);
                 }
 
             } catch (InterruptedException e) {
@@ -102,41 +174,144 @@ public final class OrderBatchWriter {
     }
 
     /**
-     * Batch INSERT (jOOQ - 최적화된 COPY 방식)
+     * INSERT 재시도 전 이미 DB에 있는 주문 제외 (커밋 후 응답 유실 → 중복 키로 무한 실패 방지)
+     *
+     * - 제외된 주문은 적재 완료로 저널에 통지
+     *
+     * @return 재시도할 주문 수
      */
-    private void batchInsert(List<OrderEntity> batch) {
-        if (batch.isEmpty()) {
-            return;
+    private int excludePersisted(OrderSlotBatch batch) {
+        List<Long> orderIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            orderIds.add(batch.orderId(i));
+        }
+        Set<Long> existing = orderRepository.findExistingOrderIds(orderIds);
+        if (!existing.isEmpty()) {
+            int removed = batch.removeOrders(existing, journal::markPersisted);
+            log.warn("Retrying failed insert batch without {} already persisted orders", removed);
         }
+        return batch.size();
+    }
 
-        // PostgreSQL COPY 방식으로 초고속 삽입
-        dsl.transaction(cfg -> {
-            DSLContext tx = org.jooq.impl.DSL.using(cfg);
-
-            // PREPARE 한 번 + 배치 실행 (훨씬 빠름)
-            var insertBatch = tx.batch(
-                tx.query("""
-                    INSERT INTO orders(order_id, account_id, symbol, side, order_type, quantity, price, time_in_force, status)
-                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-                """)
-            );
-
-            for (OrderEntity order : batch) {
-                insertBatch.bind(
-                    order.orderId(),
-                    order.accountId(),
-                    order.symbol(),
-                    order.side().name(),
-                    order.orderType().name(),
-                    order.quantity(),
-                    order.price(),
-                    order.timeInForce().name(),
-                    order.status().name()
-                );
+    /**
+     * 저널 복구 주문 동기 적재 (JournalReplayer, 기동 시 writer 루프와 별개로 호출)
+     *
+     * - 실패 시 예외 전파 (호출 측이 세그먼트를 보존)
+     */
+    public void replay(List<OrderEntity> orders) {
+        OrderSlotBatch batch = new OrderSlotBatch(BATCH_SIZE);
+        for (OrderEntity order : orders) {
+            batch.add(order);
+            if (batch.size() == BATCH_SIZE) {
+                inserter.insert(batch);
+                batch.clear();
             }
+        }
+        if (!batch.isEmpty()) {
+            inserter.insert(batch);
+        }
+    }
 
-            insertBatch.execute();
-        });
+    /**
+     * 상태 변경 Batch UPDATE
+     *
+     * - 배치 내 같은 주문은 최종 상태로 병합 후 UPDATE ... FROM (VALUES ...) 1문장 (OrderStatusWriter)
+     * - 전이 규칙(OrderStatusTransitions)에 맞는 이전 상태에서만 반영 (종결 주문 덮어쓰기 방지)
+     * - 미반영: 주문 INSERT가 아직 큐에 있음 → 재큐잉 (최초 큐잉 후 STATUS_MAX_WAIT_NANOS 경과 시 폐기 + 에러 로그)
+     * - 반영 완료된 CANCEL_REQUESTED 주문은 LiveOrderTable에서 제거 (이후 DB가 기준)
+     * - 반영 / 폐기 확정된 저널 기록 변경은 OrderJournal에 통지 (세그먼트 정리)
+     */
+    private void batchUpdateStatus(List<OrderStatusUpdate> updates) {
+        List<OrderStatusUpdate> coalesced = OrderStatusWriter.coalesce(updates);
+        Set<Long> applied = statusWriter.apply(coalesced);
+        long now = System.nanoTime();
+
+        for (OrderStatusUpdate update : coalesced) {
+            if (applied.contains(update.orderId())) {
+                if (update.status() == OrderProto.OrderStatus.CANCEL_REQUESTED) {
+                    liveOrders.shard(update.shardId())
+                              .removeIfStatus(update.orderId(), OrderProto.OrderStatus.CANCEL_REQUESTED);
+                }
+                journal.markPersisted(update.journalSeq());
+            } else if (update.ageNanos(now) < STATUS_MAX_WAIT_NANOS) {
+                outboxQueue.offerStatusUpdate(update.retry());
+            } else {
+                log.error("Status update dropped after {}ms ({} attempts): orderId={}, status={}",
+                          TimeUnit.NANOSECONDS.toMillis(update.ageNanos(now)), update.attempts(),
+                          update.orderId(), update.status());
+                journal.markPersisted(update.journalSeq());
+            }
+        }
+    }
+
+    /**
+     * 정정 Batch UPDATE (writer 전용 보류 맵 기준)
+     *
+     * - 주문별 최신 정정 1건만 UPDATE ... FROM (VALUES ...) 1문장 (OrderAmendWriter)
+     * - 미반영: 주문 INSERT가 아직 큐에 있음 → 맵에 남겨 다음 루프에서 재시도
+     *   · 재큐잉하지 않음 (뒤이은 정정보다 늦게 반영돼 이전 값으로 덮어쓰는 것 방지)
+     *   · 최초 큐잉 후 STATUS_MAX_WAIT_NANOS 경과 시 폐기 + 에러 로그
+     * - 반영 / 폐기 확정된 저널 기록 정정은 OrderJournal에 통지 (세그먼트 정리)
+     */
+    private void batchUpdateAmends(Map<Long, OrderAmendUpdate> pending) {
+        Set<Long> applied = amendWriter.apply(pending.values());
+        long now = System.nanoTime();
+
+        Iterator<Map.Entry<Long, OrderAmendUpdate>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, OrderAmendUpdate> entry = it.next();
+            OrderAmendUpdate update = entry.getValue();
+            if (applied.contains(update.orderId())) {
+                it.remove();
+                journal.markPersisted(update.journalSeq());
+            } else if (update.ageNanos(now) < STATUS_MAX_WAIT_NANOS) {
+                entry.setValue(update.retry());
+            } else {
+                it.remove();
+                log.error("Amend dropped after {}ms ({} attempts): orderId={}, quantity={}, price={}",
+                          TimeUnit.NANOSECONDS.toMillis(update.ageNanos(now)), update.attempts(),
+                          update.orderId(), update.quantity(), update.price());
+                journal.markPersisted(update.journalSeq());
+            }
+        }
+    }
+
+    /**
+     * 저널 복구 정정 동기 반영 (JournalReplayer, 주문 재적재 이후 / 상태 변경 이전 호출)
+     *
+     * - 주문별 최신 정정만 반영 (이미 반영된 값이면 같은 값으로 덮어씀)
+     * - 실패 시 예외 전파 (호출 측이 세그먼트를 보존)
+     *
+     * @return 반영 건수
+     */
+    public int replayAmendUpdates(List<OrderAmendUpdate> updates) {
+        Map<Long, OrderAmendUpdate> latest = new LinkedHashMap<>(updates.size() * 2);
+        for (OrderAmendUpdate update : updates) {
+            OrderAmendWriter.merge(latest, update, seq -> {});
+        }
+        List<OrderAmendUpdate> merged = new ArrayList<>(latest.values());
+        int applied = 0;
+        for (int from = 0; from < merged.size(); from += STATUS_BATCH_SIZE) {
+            applied += amendWriter.apply(merged.subList(from, Math.min(from + STATUS_BATCH_SIZE, merged.size()))).size();
+        }
+        return applied;
+    }
+
+    /**
+     * 저널 복구 상태 변경 동기 반영 (JournalReplayer, 주문 재적재 이후 호출)
+     *
+     * - 전이 규칙 조건부 UPDATE → 이미 반영됐거나 종결된 주문은 0건 (무시)
+     * - 실패 시 예외 전파 (호출 측이 세그먼트를 보존)
+     *
+     * @return 반영 건수
+     */
+    public int replayStatusUpdates(List<OrderStatusUpdate> updates) {
+        int applied = 0;
+        for (int from = 0; from < updates.size(); from += STATUS_BATCH_SIZE) {
+            List<OrderStatusUpdate> chunk = updates.subList(from, Math.min(from + STATUS_BATCH_SIZE, updates.size()));
+            applied += statusWriter.apply(OrderStatusWriter.coalesce(chunk)).size();
+        }
+        return applied;
     }
 
     /**
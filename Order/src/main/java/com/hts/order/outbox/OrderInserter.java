@@ -0,0 +1,12 @@
+package com.hts.order.outbox;
+
+/**
+ * 주문 배치 DB 적재 전략 (OrderBatchWriter에서 사용)
+ *
+ * - 여러 writer 스레드가 동시에 호출 (구현체는 thread-safe)
+ * - 입력은 슬롯 배치 (OrderSlotBatch) → 인덱스 접근자로 바로 bind / 인코딩
+ */
+interface OrderInserter {
+
+    void insert(OrderSlotBatch batch);
+}
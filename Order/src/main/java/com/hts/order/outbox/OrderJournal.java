@@ -0,0 +1,526 @@
+package com.hts.order.outbox;
+
+import com.hts.order.config.JournalConfig;
+import com.hts.order.proto.OrderProto;
+import com.hts.order.service.order.OrderEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 주문 접수 / 상태 변경 / 정정 write-ahead journal (memory-mapped, append-only)
+ *
+ * - 워커가 고정 크기(64B) 레코드를 mmap 세그먼트에 append (락 구간 = 64B 복사 + 큐 offer)
+ * - flusher 스레드가 쌓인 구간을 한 번에 force (group commit) → 구간 내 응답 콜백 일괄 실행
+ * - OrderBatchWriter가 DB 적재 / 상태 / 정정 반영 완료를 알려주면 세그먼트별로 집계 → 전부 반영 + fsync 완료된 세그먼트 삭제
+ * - 기동 시 남아 있는 세그먼트 = DB 미반영 가능성 있는 주문 / 상태 변경 / 정정 → JournalReplayer가 재반영 후 삭제
+ *
+ * 레코드: magic(4) crc32c(4) pad(8) + 본문 48B
+ * - 주문(MAGIC): 본문 = OrderSlots 포맷, journalSeq 자리는 NO_SEQ
+ * - 상태 변경(STATUS_MAGIC): 본문 = orderId(8) accountId(8) status(1), 나머지 0
+ *   · 메모리에서 확정한 취소 요청을 자금 해제 / 응답 전에 기록 (크래시 후 재기동 시 재반영)
+ * - 정정(AMEND_MAGIC): 본문 = orderId(8) accountId(8) quantity(8) price(8) version(4), 나머지 0
+ *   · 메모리에서 확정한 정정을 차액 해제 / 응답 전에 기록
+ * - crc는 16..63 구간 (torn write / 미기록 영역 판별)
+ */
+@Singleton
+public final class OrderJournal {
+    private static final Logger log = LoggerFactory.getLogger(OrderJournal.class);
+
+    static final int RECORD_SIZE = 64;
+    static final long NO_SEQ = -1L;  // 저널 미사용 / 복구 주문
+    private static final int MAGIC = 0x4F4A524E;  // "OJRN"
+    private static final int STATUS_MAGIC = 0x4F4A5354;  // "OJST"
+    private static final int AMEND_MAGIC = 0x4F4A414D;   // "OJAM"
+    private static final int CRC_OFFSET = 4;
+    private static final int BODY_OFFSET = 16;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final long RECLAIM_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final Path dir;
+    private final int segmentRecords;
+    private final long groupCommitIntervalNanos;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Map<Long, Segment> segments = new ConcurrentHashMap<>();  // segmentIndex → 세그먼트
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();  // seq 오름차순
+    private final List<Path> recoveredSegments = new ArrayList<>();
+    private final ThreadLocal<RecordEncoder> encoders = ThreadLocal.withInitial(RecordEncoder::new);
+
+    private Segment active;               // appendLock 보호
+    private long nextSeq;                 // appendLock 보호
+    private volatile long writtenSeq;     // append 완료 상한 (exclusive)
+    private volatile long durableSeq;     // force 완료 상한 (exclusive)
+    private volatile boolean running = true;
+    private long lastReclaimNanos;        // flusher 스레드 전용
+    private Thread flusher;
+
+    @Inject
+    public OrderJournal(JournalConfig config) {
+        this.enabled = config.isEnabled();
+        this.dir = config.getDir();
+        this.segmentRecords = config.getSegmentRecords();
+        this.groupCommitIntervalNanos = TimeUnit.MICROSECONDS.toNanos(config.getGroupCommitIntervalMicros());
+
+        if (!enabled) {
+            log.info("OrderJournal disabled");
+            return;
+        }
+
+        try {
+            Files.createDirectories(dir);
+            long maxIndex = -1;
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path path : files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                                      .sorted().toList()) {
+                    recoveredSegments.add(path);
+                    maxIndex = Math.max(maxIndex, segmentIndexOf(path));
+                }
+            }
+            // 복구 대상 세그먼트와 번호가 겹치지 않도록 다음 번호부터 시작
+            this.nextSeq = (maxIndex + 1) * segmentRecords;
+            this.writtenSeq = nextSeq;
+            this.durableSeq = nextSeq;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal directory init failed: " + dir, e);
+        }
+
+        this.flusher = new Thread(this::flushLoop, "order-journal-flusher");
+        flusher.setDaemon(false);
+        flusher.start();
+        log.info("OrderJournal started: dir={}, segmentRecords={}, groupCommitInterval={}us, recoveredSegments={}",
+                 dir, segmentRecords, config.getGroupCommitIntervalMicros(), recoveredSegments.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 레코드 append + handoff (OrderOutboxQueue 적재)
+     *
+     * - handoff 실패 (큐 포화) 시 레코드를 쓰지 않고 false
+     * - handoff에 레코드 seq 전달 → outbox 슬롯에 함께 저장 (DB 적재 후 markPersisted 집계용)
+     * - onDurable은 group commit(fsync) 완료 후 flusher 스레드에서 실행
+     *
+     * @return true if journaled and handed off
+     */
+    public boolean append(OrderEntity order, Runnable onDurable, Handoff handoff) {
+        return appendRecord(encoder -> encoder.encode(order), onDurable, seq -> handoff.offer(order, seq));
+    }
+
+    /**
+     * 상태 변경 레코드 append + handoff (OrderOutboxQueue 상태 큐 적재)
+     *
+     * - handoff 실패 (큐 포화) 시 레코드를 쓰지 않고 false
+     * - handoff에는 레코드 seq가 붙은 변경 전달 → DB 반영 후 markPersisted 집계용
+     * - onDurable은 group commit(fsync) 완료 후 flusher 스레드에서 실행 (저널 비활성 시 즉시)
+     *
+     * @return true if journaled and handed off
+     */
+    public boolean appendStatus(OrderStatusUpdate update, Runnable onDurable, StatusHandoff handoff) {
+        return appendRecord(encoder -> encoder.encodeStatus(update), onDurable,
+                seq -> handoff.offer(update.withJournalSeq(seq)));
+    }
+
+    /**
+     * 정정 레코드 append + handoff (OrderOutboxQueue 정정 큐 적재, 규칙은 appendStatus와 동일)
+     *
+     * @return true if journaled and handed off
+     */
+    public boolean appendAmend(OrderAmendUpdate update, Runnable onDurable, AmendHandoff handoff) {
+        return appendRecord(encoder -> encoder.encodeAmend(update), onDurable,
+                seq -> handoff.offer(update.withJournalSeq(seq)));
+    }
+
+    /**
+     * 공통 append (저널 비활성 시 NO_SEQ로 handoff 후 즉시 onDurable)
+     */
+    private boolean appendRecord(Function<RecordEncoder, byte[]> encode, Runnable onDurable, LongPredicate handoff) {
+        if (!enabled) {
+            if (!handoff.test(NO_SEQ)) {
+                return false;
+            }
+            onDurable.run();
+            return true;
+        }
+
+        byte[] record = encode.apply(encoders.get());
+
+        appendLock.lock();
+        try {
+            long seq = nextSeq;
+            Segment segment = active;
+            if (segment == null || seq >= segment.endSeq) {
+                segment = roll(seq);
+            }
+
+            if (!handoff.test(seq)) {
+                return false;
+            }
+
+            segment.buffer.put(segment.offsetOf(seq), record, 0, RECORD_SIZE);
+            segment.appended++;
+            nextSeq = seq + 1;
+            waiters.add(new Waiter(seq, onDurable));
+            writtenSeq = seq + 1;
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 상태 변경 / 정정 DB 반영 완료 통지 (OrderBatchWriter, 반영 / 폐기 확정 시)
+     */
+    void markPersisted(long seq) {
+        if (!enabled || seq == NO_SEQ) {
+            return;
+        }
+        Segment segment = segments.get(seq / segmentRecords);
+        if (segment != null) {
+            segment.persisted.incrementAndGet();
+        }
+    }
+
+    /**
+     * DB 적재 완료 통지 (OrderBatchWriter)
+     */
+    void markPersisted(OrderSlotBatch batch) {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            long seq = batch.journalSeq(i);
+            if (seq == NO_SEQ) {
+                continue;
+            }
+            Segment segment = segments.get(seq / segmentRecords);
+            if (segment != null) {
+                segment.persisted.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 기동 시점에 남아 있던 세그먼트의 유효 레코드 (JournalReplayer)
+     *
+     * - magic/crc 불일치 레코드는 건너뜀 (fsync 전 크래시 → 응답 안 나간 주문 / 취소 / 정정)
+     */
+    public Recovered readRecovered() {
+        List<OrderEntity> orders = new ArrayList<>();
+        List<OrderStatusUpdate> statusUpdates = new ArrayList<>();
+        List<OrderAmendUpdate> amendUpdates = new ArrayList<>();
+        for (Path path : recoveredSegments) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                RecordEncoder decoder = encoders.get();
+                int records = (int) (channel.size() / RECORD_SIZE);
+                for (int i = 0; i < records; i++) {
+                    decoder.decode(buffer, i * RECORD_SIZE, orders, statusUpdates, amendUpdates);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Journal segment read failed: " + path, e);
+            }
+        }
+        return new Recovered(orders, statusUpdates, amendUpdates);
+    }
+
+    /**
+     * 복구 완료된 세그먼트 삭제 (재적재 성공 이후에만 호출)
+     */
+    public void discardRecovered() {
+        for (Path path : recoveredSegments) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.error("Recovered segment delete failed: {}", path, e);
+            }
+        }
+        log.info("Recovered journal segments discarded: {}", recoveredSegments.size());
+        recoveredSegments.clear();
+    }
+
+    /**
+     * 새 세그먼트 생성 + 이전 세그먼트 봉인 (appendLock 보유 상태)
+     */
+    private Segment roll(long seq) {
+        if (active != null) {
+            active.sealed = true;
+        }
+        long index = seq / segmentRecords;
+        Path path = dir.resolve(String.format("%016d%s", index, SEGMENT_SUFFIX));
+        try {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+            Segment segment = new Segment(index, path, channel, buffer, index * segmentRecords, segmentRecords);
+            segments.put(index, segment);
+            active = segment;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal segment create failed: " + path, e);
+        }
+    }
+
+    /**
+     * Group commit 루프
+     *
+     * - append된 구간 [durableSeq, writtenSeq) 를 한 번에 force → 해당 응답 일괄 전송
+     * - force 동안 들어온 레코드는 다음 회차에 묶임 (부하가 클수록 배치가 커짐)
+     */
+    private void flushLoop() {
+        while (running || durableSeq < writtenSeq) {
+            long target = writtenSeq;
+            long from = durableSeq;
+            if (target == from) {
+                // 유휴 중에도 DB 적재 완료된 세그먼트 정리
+                if (System.nanoTime() - lastReclaimNanos > RECLAIM_INTERVAL_NANOS) {
+                    reclaim();
+                }
+                LockSupport.parkNanos(groupCommitIntervalNanos);
+                continue;
+            }
+
+            try {
+                force(from, target);
+            } catch (Exception e) {
+                log.error("Journal force failed: seq=[{}, {})", from, target, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                continue;
+            }
+            durableSeq = target;
+
+            Waiter waiter;
+            while ((waiter = waiters.peek()) != null && waiter.seq < target) {
+                waiters.poll();
+                try {
+                    waiter.onDurable.run();
+                } catch (Exception e) {
+                    log.error("Journal durable callback failed: seq={}", waiter.seq, e);
+                }
+            }
+
+            reclaim();
+        }
+        log.info("OrderJournal flusher terminated, durableSeq={}", durableSeq);
+    }
+
+    private void force(long from, long to) {
+        for (long index = from / segmentRecords; index <= (to - 1) / segmentRecords; index++) {
+            Segment segment = segments.get(index);
+            if (segment == null) {
+                continue;
+            }
+            long start = Math.max(from, segment.baseSeq);
+            long end = Math.min(to, segment.endSeq);
+            segment.buffer.force(segment.offsetOf(start), (int) (end - start) * RECORD_SIZE);
+        }
+    }
+
+    /**
+     * 봉인 + fsync 완료 + 전 레코드 DB 적재된 세그먼트 삭제 (flusher 스레드 전용)
+     */
+    private void reclaim() {
+        lastReclaimNanos = System.nanoTime();
+        for (Segment segment : segments.values()) {
+            if (segment.sealed
+                    && segment.endSeq <= durableSeq
+                    && segment.persisted.get() >= segment.appended) {
+                segments.remove(segment.index);
+                try {
+                    segment.channel.close();
+                    Files.deleteIfExists(segment.path);
+                } catch (IOException e) {
+                    log.error("Journal segment delete failed: {}", segment.path, e);
+                }
+            }
+        }
+    }
+
+    private static long segmentIndexOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        try {
+            flusher.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("OrderJournal closed, writtenSeq={}, durableSeq={}", writtenSeq, durableSeq);
+    }
+
+    private record Waiter(long seq, Runnable onDurable) {}
+
+    /**
+     * 복구 레코드 (주문은 재적재, 정정 → 상태 변경 순으로 재적재 이후 반영)
+     */
+    public record Recovered(List<OrderEntity> orders, List<OrderStatusUpdate> statusUpdates,
+                            List<OrderAmendUpdate> amendUpdates) {}
+
+    /**
+     * 레코드 seq와 함께 outbox에 적재 (appendLock 안에서 호출)
+     */
+    @FunctionalInterface
+    public interface Handoff {
+        boolean offer(OrderEntity order, long journalSeq);
+    }
+
+    /**
+     * seq가 붙은 상태 변경을 상태 큐에 적재 (appendLock 안에서 호출)
+     */
+    @FunctionalInterface
+    public interface StatusHandoff {
+        boolean offer(OrderStatusUpdate update);
+    }
+
+    /**
+     * seq가 붙은 정정을 정정 큐에 적재 (appendLock 안에서 호출)
+     */
+    @FunctionalInterface
+    public interface AmendHandoff {
+        boolean offer(OrderAmendUpdate update);
+    }
+
+    private static final class Segment {
+        final long index;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final long baseSeq;
+        final long endSeq;
+        final AtomicInteger persisted = new AtomicInteger();
+        volatile int appended;        // appendLock 보유 스레드만 증가
+        volatile boolean sealed;
+
+        Segment(long index, Path path, FileChannel channel, MappedByteBuffer buffer, long baseSeq, int records) {
+            this.index = index;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.baseSeq = baseSeq;
+            this.endSeq = baseSeq + records;
+        }
+
+        int offsetOf(long seq) {
+            return (int) (seq - baseSeq) * RECORD_SIZE;
+        }
+    }
+
+    /**
+     * 레코드 인코딩/디코딩 (스레드 전용 버퍼 + CRC32C)
+     */
+    private static final class RecordEncoder {
+        private final byte[] bytes = new byte[RECORD_SIZE];
+        private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        private final CRC32C crc = new CRC32C();
+
+        byte[] encode(OrderEntity order) {
+            OrderSlots.write(buffer, BODY_OFFSET, order, NO_SEQ);
+
+            crc.reset();
+            crc.update(bytes, BODY_OFFSET, RECORD_SIZE - BODY_OFFSET);
+            buffer.putInt(CRC_OFFSET, (int) crc.getValue());
+            buffer.putInt(0, MAGIC);
+            return bytes;
+        }
+
+        byte[] encodeStatus(OrderStatusUpdate update) {
+            Arrays.fill(bytes, BODY_OFFSET, RECORD_SIZE, (byte) 0);
+            buffer.putLong(BODY_OFFSET, update.orderId());
+            buffer.putLong(BODY_OFFSET + 8, update.accountId());
+            buffer.put(BODY_OFFSET + 16, (byte) update.status().getNumber());
+
+            crc.reset();
+            crc.update(bytes, BODY_OFFSET, RECORD_SIZE - BODY_OFFSET);
+            buffer.putInt(CRC_OFFSET, (int) crc.getValue());
+            buffer.putInt(0, STATUS_MAGIC);
+            return bytes;
+        }
+
+        byte[] encodeAmend(OrderAmendUpdate update) {
+            Arrays.fill(bytes, BODY_OFFSET, RECORD_SIZE, (byte) 0);
+            buffer.putLong(BODY_OFFSET, update.orderId());
+            buffer.putLong(BODY_OFFSET + 8, update.accountId());
+            buffer.putLong(BODY_OFFSET + 16, update.quantity());
+            buffer.putLong(BODY_OFFSET + 24, update.price());
+            buffer.putInt(BODY_OFFSET + 32, update.version());
+
+            crc.reset();
+            crc.update(bytes, BODY_OFFSET, RECORD_SIZE - BODY_OFFSET);
+            buffer.putInt(CRC_OFFSET, (int) crc.getValue());
+            buffer.putInt(0, AMEND_MAGIC);
+            return bytes;
+        }
+
+        /**
+         * 유효 레코드를 종류별 목록에 추가 (손상 / 미기록 레코드는 무시)
+         */
+        void decode(ByteBuffer source, int offset, List<OrderEntity> orders, List<OrderStatusUpdate> statusUpdates,
+                    List<OrderAmendUpdate> amendUpdates) {
+            int magic = source.getInt(offset);
+            if (magic != MAGIC && magic != STATUS_MAGIC && magic != AMEND_MAGIC) {
+                return;
+            }
+            source.get(offset, bytes, 0, RECORD_SIZE);
+            crc.reset();
+            crc.update(bytes, BODY_OFFSET, RECORD_SIZE - BODY_OFFSET);
+            if (buffer.getInt(CRC_OFFSET) != (int) crc.getValue()) {
+                return;
+            }
+
+            if (magic == MAGIC) {
+                OrderEntity order = OrderSlots.read(buffer, BODY_OFFSET);
+                if (order != null) {
+                    orders.add(order);
+                }
+                return;
+            }
+            long orderId = buffer.getLong(BODY_OFFSET);
+            if (magic == AMEND_MAGIC) {
+                amendUpdates.add(OrderAmendUpdate.of(orderId, buffer.getLong(BODY_OFFSET + 8),
+                        buffer.getLong(BODY_OFFSET + 16), buffer.getLong(BODY_OFFSET + 24),
+                        buffer.getInt(BODY_OFFSET + 32)));
+                return;
+            }
+            OrderProto.OrderStatus status = OrderProto.OrderStatus.forNumber(buffer.get(BODY_OFFSET + 16));
+            if (status != null) {
+                statusUpdates.add(OrderStatusUpdate.of(orderId, buffer.getLong(BODY_OFFSET + 8),
+                        OrderOutboxQueue.partitionOf(orderId), status));
+            }
+        }
+    }
+}
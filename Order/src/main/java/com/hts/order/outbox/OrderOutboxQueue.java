@@ -1,93 +1,317 @@
 package com.hts.order.outbox;
 
+import com.hts.order.global.OrderIdGenerator;
+import com.hts.order.metrics.MetricsCollector;
 import com.hts.order.service.order.OrderEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
+import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
- * 비동기 주문 DB 저장 큐
+ * 비동기 주문 DB 저장 큐 (샤드 파티션)
  *
- * - Worker 스레드에서 즉시 offer (1μs 이내)
- * - BatchWriter 스레드가 비동기로 DB에 batch insert
+ * - Worker 스레드가 계좌 예약 전에 파티션 슬롯을 credit으로 선점 (acquireCredit) → 예약 후 offer는 자리 부족으로 실패하지 않음
+ * - 여유 credit이 low watermark 미만인 파티션이 있으면 isCreditLow → 읽기 중단 (OutboxReadThrottle), high watermark 회복 시 재개 통지
+ * - Worker 스레드에서 즉시 offer (1μs 이내) + OrderJournal 기록 (응답은 group commit 이후)
+ * - 파티션 = orderId의 샤드 비트 → 샤드 워커끼리 큐 락 경합 없음
+ * - 주문은 파티션별 off-heap 링(OffHeapOrderRing)에 고정 폭 슬롯으로 보관 → DB 지연으로 적체돼도 힙/GC 영향 없음
+ * - 파티션별 전용 BatchWriter 스레드가 비동기로 DB에 batch insert (파티션 내 순서 유지)
+ * - 상태 변경(취소 요청 등) / 정정도 같은 파티션의 별도 큐로 받아 batch update
  * - Graceful shutdown 지원
  */
 @Singleton
 public final class OrderOutboxQueue {
     private static final Logger log = LoggerFactory.getLogger(OrderOutboxQueue.class);
 
-    private static final int QUEUE_CAPACITY = 500_000;  // 100k → 500k (버퍼 5배)
+    private static final int PARTITIONS = 16;  // 샤드 수와 동일
+    private static final int PARTITION_CAPACITY = 32_768;         // 16 * 32k ≈ 기존 500k (슬롯 48B → 파티션당 1.5MB direct)
+    private static final int STATUS_PARTITION_CAPACITY = 8_192;   // 16 * 8k ≈ 기존 100k
+    private static final int AMEND_PARTITION_CAPACITY = 4_096;
+    private static final int CREDIT_LOW_WATERMARK = PARTITION_CAPACITY / 8;   // 여유 4k 미만 → 읽기 중단
+    private static final int CREDIT_HIGH_WATERMARK = PARTITION_CAPACITY / 4;  // 여유 8k 이상 → 재개
 
-    private final BlockingQueue<OrderEntity> queue;
+    private final OffHeapOrderRing[] rings;
+    private final List<BlockingQueue<OrderStatusUpdate>> statusQueues;
+    private final List<BlockingQueue<OrderAmendUpdate>> amendQueues;
+    private final OrderJournal journal;
+    private final AtomicIntegerArray creditLow = new AtomicIntegerArray(PARTITIONS);  // 파티션별 low 상태 (0/1)
+    private final AtomicInteger creditLowPartitions = new AtomicInteger();
+    private volatile Runnable creditRestoredListener = () -> {};
     private volatile boolean shuttingDown = false;
 
-    public OrderOutboxQueue() {
-        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
-        log.info("OrderOutboxQueue initialized: capacity={}", QUEUE_CAPACITY);
+    @Inject
+    public OrderOutboxQueue(OrderJournal journal, MetricsCollector metrics) {
+        this.journal = journal;
+        this.rings = new OffHeapOrderRing[PARTITIONS];
+        this.statusQueues = new ArrayList<>(PARTITIONS);
+        this.amendQueues = new ArrayList<>(PARTITIONS);
+        for (int p = 0; p < PARTITIONS; p++) {
+            rings[p] = new OffHeapOrderRing(PARTITION_CAPACITY);
+            statusQueues.add(new ArrayBlockingQueue<>(STATUS_PARTITION_CAPACITY));
+            amendQueues.add(new ArrayBlockingQueue<>(AMEND_PARTITION_CAPACITY));
+            metrics.registerOutboxDepthGauge(p, rings[p], OffHeapOrderRing::size);
+        }
+        log.info("OrderOutboxQueue initialized: partitions={}, capacity={}, statusCapacity={}",
+                 PARTITIONS, PARTITION_CAPACITY, STATUS_PARTITION_CAPACITY);
+    }
+
+    public int partitionCount() {
+        return PARTITIONS;
+    }
+
+    /**
+     * 주문 → 파티션 (orderId 샤드 비트, 취소 라우팅과 동일)
+     */
+    public static int partitionOf(long orderId) {
+        return OrderIdGenerator.extractShard(orderId) & (PARTITIONS - 1);
+    }
+
+    /**
+     * 주문 파티션 슬롯 선점 (계좌 예약 전)
+     *
+     * @return false if partition full or shutting down (예약 없이 거절)
+     */
+    public boolean acquireCredit(long orderId) {
+        if (shuttingDown) {
+            return false;
+        }
+        int partition = partitionOf(orderId);
+        OffHeapOrderRing ring = rings[partition];
+        if (!ring.tryReserve()) {
+            log.error("Outbox partition full! orderId={}, partition={}, queueSize={}",
+                     orderId, partition, ring.size());
+            return false;
+        }
+        if (ring.free() < CREDIT_LOW_WATERMARK && creditLow.compareAndSet(partition, 0, 1)) {
+            creditLowPartitions.incrementAndGet();
+            log.warn("Outbox credits low: partition={}, free={}", partition, ring.free());
+        }
+        return true;
+    }
+
+    /**
+     * 선점 슬롯 반환 (예약 실패 / 예외 등 offer 전에 접수 중단 시)
+     */
+    public void releaseCredit(long orderId) {
+        int partition = partitionOf(orderId);
+        rings[partition].cancelReservation();
+        checkCreditRestored(partition);
     }
 
     /**
-     * 주문을 큐에 추가 (비차단, 빠른 반환)
+     * 선점 슬롯에 주문을 저널 기록 후 추가 (acquireCredit 성공 후 1회)
+     *
+     * - onDurable: 저널 fsync 완료 후 실행 (저널 비활성 시 즉시)
+     * - 실패(false)는 shutdown 중일 때만 (슬롯은 반환됨)
      *
      * @param order 주문 엔티티
-     * @return true if added, false if queue full
+     * @param onDurable 접수 응답 전송
+     * @return true if added
      */
-    public boolean offer(OrderEntity order) {
+    public boolean offer(OrderEntity order, Runnable onDurable) {
         if (shuttingDown) {
             log.warn("Rejecting order during shutdown: orderId={}", order.orderId());
+            releaseCredit(order.orderId());
             return false;
         }
+        return journal.append(order, onDurable, rings[partitionOf(order.orderId())]::offerReserved);
+    }
 
-        boolean added = queue.offer(order);
-        if (!added) {
-            log.error("Outbox queue full! orderId={}, queueSize={}",
-                     order.orderId(), queue.size());
+    /**
+     * 여유 credit이 low watermark 미만인 파티션 존재 여부
+     */
+    public boolean isCreditLow() {
+        return creditLowPartitions.get() > 0;
+    }
+
+    /**
+     * 모든 파티션 credit 회복 시 실행 (writer 스레드에서 호출)
+     */
+    public void setCreditRestoredListener(Runnable listener) {
+        this.creditRestoredListener = listener;
+    }
+
+    private void checkCreditRestored(int partition) {
+        if (creditLow.get(partition) == 1
+                && rings[partition].free() >= CREDIT_HIGH_WATERMARK
+                && creditLow.compareAndSet(partition, 1, 0)
+                && creditLowPartitions.decrementAndGet() == 0) {
+            log.info("Outbox credits restored");
+            creditRestoredListener.run();
         }
-        return added;
     }
 
     /**
-     * 큐에서 주문 배치 poll (BatchWriter용)
+     * 파티션에서 주문 배치 poll (BatchWriter용)
+     *
+     * - 슬롯 바이트를 배치 버퍼로 복사 (주문 객체 생성 없음)
+     * - 첫 주문 이후 lingerNanos 동안 maxSize까지 추가로 모음 (0이면 즉시 drain만)
      *
-     * @param batch 배치 버퍼
+     * @param partition 파티션 번호
+     * @param batch 배치 버퍼 (capacity >= maxSize)
      * @param maxSize 최대 배치 크기
-     * @param timeoutMs 대기 시간 (ms)
+     * @param timeoutMs 첫 주문 대기 시간 (ms)
+     * @param lingerNanos 배치 채우기 대기 시간 (ns)
      * @return polled count
      */
-    public int pollBatch(java.util.List<OrderEntity> batch, int maxSize, long timeoutMs)
-            throws InterruptedException {
+    int pollBatch(int partition, OrderSlotBatch batch, int maxSize, long timeoutMs,
+                  long lingerNanos) throws InterruptedException {
         batch.clear();
+        OffHeapOrderRing ring = rings[partition];
 
-        // 첫 번째 요소 대기
-        OrderEntity first = queue.poll(timeoutMs, TimeUnit.MILLISECONDS);
-        if (first == null) {
+        // 첫 주문 대기 + 있는 만큼 즉시 drain
+        int count = ring.drainTo(batch, maxSize, TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+        if (count == 0) {
             return 0;
         }
+        checkCreditRestored(partition);
 
-        batch.add(first);
+        // linger: 덜 찬 배치는 잠시 더 모아서 라운드트립 절약
+        if (lingerNanos > 0) {
+            long deadline = System.nanoTime() + lingerNanos;
+            while (count < maxSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                int drained = ring.drainTo(batch, maxSize - count, remaining);
+                if (drained == 0) {
+                    break;
+                }
+                count += drained;
+            }
+            checkCreditRestored(partition);
+        }
+        return count;
+    }
 
-        // 나머지 즉시 drain
-        int drained = queue.drainTo(batch, maxSize - 1);
-        return 1 + drained;
+    /**
+     * 상태 변경을 큐에 추가 (비차단)
+     *
+     * - shutdown 중에도 허용 (이미 메모리에서 확정된 변경 → 유실 방지)
+     * - 주문과 같은 파티션 → 같은 writer가 INSERT 이후 반영
+     *
+     * @return true if added, false if queue full
+     */
+    public boolean offerStatusUpdate(OrderStatusUpdate update) {
+        BlockingQueue<OrderStatusUpdate> statusQueue = statusQueues.get(partitionOf(update.orderId()));
+        boolean added = statusQueue.offer(update);
+        if (!added) {
+            log.error("Status queue full! orderId={}, status={}, queueSize={}",
+                     update.orderId(), update.status(), statusQueue.size());
+        }
+        return added;
+    }
+
+    /**
+     * 상태 변경을 저널 기록 후 큐에 추가 (비차단, fsync 완료는 반환된 future로 확인)
+     *
+     * - 메모리에서 확정한 취소를 자금 해제 / 응답 전에 영속화 (크래시 시 JournalReplayer가 재반영)
+     * - future는 group commit 이후 flusher 스레드에서 완료 (seq 순서 → 마지막 future 완료 = 앞선 기록 모두 완료)
+     * - 저널 비활성 시 즉시 완료 (주문 접수와 같은 수준, DB 반영 전 크래시 시 유실)
+     *
+     * @return fsync 완료 future, null if queue full (기록 안 함)
+     */
+    public CompletableFuture<Void> offerJournaledStatusUpdate(OrderStatusUpdate update) {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        if (!journal.appendStatus(update, () -> durable.complete(null), this::offerStatusUpdate)) {
+            return null;
+        }
+        return durable;
+    }
+
+    /**
+     * 파티션 상태 변경 배치 drain (BatchWriter용, 대기 없음)
+     *
+     * @return drained count
+     */
+    public int drainStatusUpdates(int partition, List<OrderStatusUpdate> batch, int maxSize) {
+        batch.clear();
+        return statusQueues.get(partition).drainTo(batch, maxSize);
     }
 
     /**
-     * 현재 큐 크기
+     * 정정을 저널 기록 후 큐에 추가 (비차단, 규칙은 offerJournaledStatusUpdate와 동일)
+     *
+     * - 메모리에서 확정한 정정을 차액 해제 / 응답 전에 영속화
+     * - shutdown 중에도 허용 (이미 메모리 / 예수금에 반영된 변경 → 유실 방지)
+     *
+     * @return fsync 완료 future, null if queue full (기록 안 함)
+     */
+    public CompletableFuture<Void> offerJournaledAmendUpdate(OrderAmendUpdate update) {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        if (!journal.appendAmend(update, () -> durable.complete(null), this::offerAmendUpdate)) {
+            return null;
+        }
+        return durable;
+    }
+
+    private boolean offerAmendUpdate(OrderAmendUpdate update) {
+        BlockingQueue<OrderAmendUpdate> amendQueue = amendQueues.get(partitionOf(update.orderId()));
+        boolean added = amendQueue.offer(update);
+        if (!added) {
+            log.error("Amend queue full! orderId={}, queueSize={}", update.orderId(), amendQueue.size());
+        }
+        return added;
+    }
+
+    /**
+     * 파티션 정정 배치 drain (BatchWriter용, 대기 없음)
+     *
+     * @return drained count
+     */
+    public int drainAmendUpdates(int partition, List<OrderAmendUpdate> batch, int maxSize) {
+        batch.clear();
+        return amendQueues.get(partition).drainTo(batch, maxSize);
+    }
+
+    /**
+     * 현재 큐 크기 (전체 파티션 합)
      */
     public int size() {
-        return queue.size();
+        int total = 0;
+        for (OffHeapOrderRing ring : rings) {
+            total += ring.size();
+        }
+        return total;
+    }
+
+    /**
+     * 파티션 큐 크기
+     */
+    public int size(int partition) {
+        return rings[partition].size();
     }
 
     /**
-     * 큐가 비었는지 확인
+     * 파티션이 비었는지 확인
+     */
+    public boolean isEmpty(int partition) {
+        return rings[partition].isEmpty() && statusQueues.get(partition).isEmpty()
+                && amendQueues.get(partition).isEmpty();
+    }
+
+    /**
+     * 전체 파티션이 비었는지 확인
      */
     public boolean isEmpty() {
-        return queue.isEmpty();
+        for (int p = 0; p < PARTITIONS; p++) {
+            if (!isEmpty(p)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -95,7 +319,7 @@ public final class OrderOutboxQueue {
      */
     @PreDestroy
     public void initiateShutdown() {
-        log.info("OrderOutboxQueue shutdown initiated, queueSize={}", queue.size());
+        log.info("OrderOutboxQueue shutdown initiated, queueSize={}", size());
         shuttingDown = true;
     }
 
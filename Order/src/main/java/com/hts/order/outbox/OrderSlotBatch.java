@@ -0,0 +1,127 @@
+package com.hts.order.outbox;
+
+import com.hts.order.proto.OrderProto;
+import com.hts.order.service.order.OrderEntity;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * writer 스레드 전용 배치 버퍼 (슬롯 바이트 그대로 보관, 재사용)
+ *
+ * - 링에서 슬롯 단위 bulk copy로 채움 → 주문당 객체 생성 없음
+ * - inserter는 인덱스 접근자로 바로 bind / COPY 인코딩
+ */
+final class OrderSlotBatch {
+
+    private final byte[] bytes;
+    private final ByteBuffer view;
+    private final int capacity;
+    private int count;
+
+    OrderSlotBatch(int capacity) {
+        this.capacity = capacity;
+        this.bytes = new byte[capacity * OrderSlots.SLOT_SIZE];
+        this.view = ByteBuffer.wrap(bytes);
+    }
+
+    int size() {
+        return count;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * 링 → 배치 복사용 (OffHeapOrderRing)
+     */
+    byte[] array() {
+        return bytes;
+    }
+
+    void advance(int slots) {
+        count += slots;
+    }
+
+    /**
+     * 지정 주문 제거 후 앞으로 당김 (INSERT 재시도 전 이미 적재된 주문 제외)
+     *
+     * @param removedSeq 제거된 주문의 저널 seq 통지
+     * @return 제거 건수
+     */
+    int removeOrders(Set<Long> orderIds, LongConsumer removedSeq) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (orderIds.contains(orderId(i))) {
+                removedSeq.accept(journalSeq(i));
+            } else {
+                if (kept != i) {
+                    System.arraycopy(bytes, i * OrderSlots.SLOT_SIZE, bytes, kept * OrderSlots.SLOT_SIZE,
+                            OrderSlots.SLOT_SIZE);
+                }
+                kept++;
+            }
+        }
+        int removed = count - kept;
+        count = kept;
+        return removed;
+    }
+
+    /**
+     * 힙 주문 추가 (저널 재적재 / 벤치마크)
+     */
+    void add(OrderEntity order) {
+        OrderSlots.write(view, count * OrderSlots.SLOT_SIZE, order, OrderJournal.NO_SEQ);
+        count++;
+    }
+
+    long orderId(int i) {
+        return view.getLong(i * OrderSlots.SLOT_SIZE + OrderSlots.ORDER_ID);
+    }
+
+    long accountId(int i) {
+        return view.getLong(i * OrderSlots.SLOT_SIZE + OrderSlots.ACCOUNT_ID);
+    }
+
+    long quantity(int i) {
+        return view.getLong(i * OrderSlots.SLOT_SIZE + OrderSlots.QUANTITY);
+    }
+
+    long price(int i) {
+        return view.getLong(i * OrderSlots.SLOT_SIZE + OrderSlots.PRICE);
+    }
+
+    int symbolId(int i) {
+        return view.getInt(i * OrderSlots.SLOT_SIZE + OrderSlots.SYMBOL_ID);
+    }
+
+    OrderProto.Side side(int i) {
+        return OrderProto.Side.forNumber(view.get(i * OrderSlots.SLOT_SIZE + OrderSlots.SIDE));
+    }
+
+    OrderProto.OrderType orderType(int i) {
+        return OrderProto.OrderType.forNumber(view.get(i * OrderSlots.SLOT_SIZE + OrderSlots.ORDER_TYPE));
+    }
+
+    OrderProto.TimeInForce timeInForce(int i) {
+        return OrderProto.TimeInForce.forNumber(view.get(i * OrderSlots.SLOT_SIZE + OrderSlots.TIME_IN_FORCE));
+    }
+
+    OrderProto.OrderStatus status(int i) {
+        return OrderProto.OrderStatus.forNumber(view.get(i * OrderSlots.SLOT_SIZE + OrderSlots.STATUS));
+    }
+
+    long journalSeq(int i) {
+        return view.getLong(i * OrderSlots.SLOT_SIZE + OrderSlots.JOURNAL_SEQ);
+    }
+}
@@ -0,0 +1,67 @@
+package com.hts.order.outbox;
+
+import com.hts.order.proto.OrderProto;
+import com.hts.order.service.order.OrderEntity;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 주문 고정 폭 바이너리 슬롯 (48B, outbox 링 / 배치 / 저널 본문 공용)
+ *
+ * orderId(8) accountId(8) quantity(8) price(8) symbolId(4)
+ * side(1) orderType(1) tif(1) status(1) journalSeq(8)
+ * - enum은 proto number 1바이트
+ */
+final class OrderSlots {
+
+    static final int SLOT_SIZE = 48;
+
+    static final int ORDER_ID = 0;
+    static final int ACCOUNT_ID = 8;
+    static final int QUANTITY = 16;
+    static final int PRICE = 24;
+    static final int SYMBOL_ID = 32;
+    static final int SIDE = 36;
+    static final int ORDER_TYPE = 37;
+    static final int TIME_IN_FORCE = 38;
+    static final int STATUS = 39;
+    static final int JOURNAL_SEQ = 40;
+
+    private OrderSlots() {}
+
+    static void write(ByteBuffer buffer, int offset, OrderEntity order, long journalSeq) {
+        buffer.putLong(offset + ORDER_ID, order.orderId());
+        buffer.putLong(offset + ACCOUNT_ID, order.accountId());
+        buffer.putLong(offset + QUANTITY, order.quantity());
+        buffer.putLong(offset + PRICE, order.price());
+        buffer.putInt(offset + SYMBOL_ID, order.symbolId());
+        buffer.put(offset + SIDE, (byte) order.side().getNumber());
+        buffer.put(offset + ORDER_TYPE, (byte) order.orderType().getNumber());
+        buffer.put(offset + TIME_IN_FORCE, (byte) order.timeInForce().getNumber());
+        buffer.put(offset + STATUS, (byte) order.status().getNumber());
+        buffer.putLong(offset + JOURNAL_SEQ, journalSeq);
+    }
+
+    /**
+     * @return 주문 or null (enum 값 손상)
+     */
+    static OrderEntity read(ByteBuffer buffer, int offset) {
+        OrderProto.Side side = OrderProto.Side.forNumber(buffer.get(offset + SIDE));
+        OrderProto.OrderType orderType = OrderProto.OrderType.forNumber(buffer.get(offset + ORDER_TYPE));
+        OrderProto.TimeInForce tif = OrderProto.TimeInForce.forNumber(buffer.get(offset + TIME_IN_FORCE));
+        OrderProto.OrderStatus status = OrderProto.OrderStatus.forNumber(buffer.get(offset + STATUS));
+        if (side == null || orderType == null || tif == null || status == null) {
+            return null;
+        }
+        return new OrderEntity(
+                buffer.getLong(offset + ORDER_ID),
+                buffer.getLong(offset + ACCOUNT_ID),
+                buffer.getInt(offset + SYMBOL_ID),
+                side,
+                orderType,
+                buffer.getLong(offset + QUANTITY),
+                buffer.getLong(offset + PRICE),
+                tif,
+                status);
+    }
+}
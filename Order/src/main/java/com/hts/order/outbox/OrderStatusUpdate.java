@@ -0,0 +1,43 @@
+package com.hts.order.outbox;
+
+import com.hts.order.proto.OrderProto;
+
+/**
+ * 비동기 주문 상태 변경 (메모리에서 먼저 확정, DB는 BatchWriter가 반영)
+ *
+ * - fromStatuses 조건부 UPDATE: 0건이면 INSERT가 아직 flush 전 → attempts 증가 후 재큐잉
+ *   · 재큐잉 상한은 최초 큐잉 시각 기준 (재시도 횟수는 poll 주기 / 큐 길이에 따라 시간과 무관)
+ *
+ * @param shardId 주문 샤드 (반영 후 LiveOrderTable evict용)
+ * @param attempts 0건 재시도 횟수 (로그용)
+ * @param journalSeq 저널 레코드 seq (저널 미기록이면 NO_SEQ, 반영 / 폐기 시 OrderJournal에 통지)
+ * @param queuedAtNanos 최초 큐잉 시각 (System.nanoTime, 재시도 / 병합 시 유지)
+ */
+public record OrderStatusUpdate(
+        long orderId,
+        long accountId,
+        int shardId,
+        OrderProto.OrderStatus status,
+        int attempts,
+        long journalSeq,
+        long queuedAtNanos
+) {
+    public static OrderStatusUpdate of(long orderId, long accountId, int shardId, OrderProto.OrderStatus status) {
+        return new OrderStatusUpdate(orderId, accountId, shardId, status, 0, OrderJournal.NO_SEQ, System.nanoTime());
+    }
+
+    public OrderStatusUpdate retry() {
+        return new OrderStatusUpdate(orderId, accountId, shardId, status, attempts + 1, journalSeq, queuedAtNanos);
+    }
+
+    public OrderStatusUpdate withJournalSeq(long seq) {
+        return new OrderStatusUpdate(orderId, accountId, shardId, status, attempts, seq, queuedAtNanos);
+    }
+
+    /**
+     * 최초 큐잉 이후 경과 시간
+     */
+    public long ageNanos(long nowNanos) {
+        return nowNanos - queuedAtNanos;
+    }
+}
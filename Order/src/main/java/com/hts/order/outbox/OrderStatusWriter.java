@@ -0,0 +1,148 @@
+package com.hts.order.outbox;
+
+import com.hts.order.repository.PgPipelineClient;
+import com.hts.order.state.OrderStatusTransitions;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상태 전이 배치 반영 (OrderBatchWriter에서 사용)
+ *
+ * - coalesce: 배치 내 같은 주문은 최종 상태 1건만 (중간 전이가 규칙 위반이면 해당 변경 폐기)
+ * - apply: 배치 전체를 UPDATE ... FROM (VALUES ...) 한 문장으로 반영
+ *   · 조건 = 최종 상태에 도달 가능한 이전 상태 (OrderStatusTransitions.sourcesOf)
+ *   · RETURNING으로 반영된 주문만 돌려줌 (나머지는 호출 측이 재시도/폐기 판단)
+ *   · 파이프라이닝 경로(PgPipelineClient 활성)는 고정 SQL + unnest 배열 4개 (연결 공유)
+ */
+final class OrderStatusWriter {
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusWriter.class);
+
+    private static final String UPDATE_HEAD = """
+        UPDATE orders AS o
+        SET status = v.status, updated_at = NOW()
+        FROM (VALUES
+        """;
+    private static final String VALUES_ROW = "(?::bigint, ?::bigint, ?::varchar, ?::text)";
+    private static final String UPDATE_TAIL = """
+        ) AS v(order_id, account_id, status, sources)
+        WHERE o.order_id = v.order_id
+          AND o.account_id = v.account_id
+          AND o.status = ANY(string_to_array(v.sources, ','))
+        RETURNING o.order_id
+        """;
+    private static final String PIPELINED_UPDATE_SQL = """
+        UPDATE orders AS o
+        SET status = v.status, updated_at = NOW()
+        FROM unnest($1::bigint[], $2::bigint[], $3::varchar[], $4::text[]) AS v(order_id, account_id, status, sources)
+        WHERE o.order_id = v.order_id
+          AND o.account_id = v.account_id
+          AND o.status = ANY(string_to_array(v.sources, ','))
+        RETURNING o.order_id
+        """;
+
+    private final DSLContext dsl;
+    private final PgPipelineClient pipeline;
+
+    OrderStatusWriter(DSLContext dsl, PgPipelineClient pipeline) {
+        this.dsl = dsl;
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * 배치 내 주문별 최종 상태만 남김 (도착 순서 유지)
+     *
+     * - 저널 seq는 남는 쪽으로 이어 붙임 (병합 / 폐기된 변경의 레코드도 최종 변경 반영 시 함께 정리)
+     *   · 저널 기록 변경은 주문당 1건 (취소 요청, 재취소는 메모리에서 거절)
+     */
+    static List<OrderStatusUpdate> coalesce(List<OrderStatusUpdate> updates) {
+        Map<Long, OrderStatusUpdate> latest = new LinkedHashMap<>(updates.size() * 2);
+        for (OrderStatusUpdate update : updates) {
+            OrderStatusUpdate prev = latest.get(update.orderId());
+            if (prev == null) {
+                latest.put(update.orderId(), update);
+            } else if (OrderStatusTransitions.isValid(prev.status(), update.status())) {
+                // 재시도 횟수는 큰 쪽, 큐잉 시각은 이른 쪽 유지 (무한 재큐잉 방지)
+                latest.put(update.orderId(), new OrderStatusUpdate(update.orderId(), update.accountId(),
+                        update.shardId(), update.status(), Math.max(prev.attempts(), update.attempts()),
+                        journalSeqOf(prev, update), earlierOf(prev.queuedAtNanos(), update.queuedAtNanos())));
+            } else {
+                log.warn("Invalid status transition dropped: orderId={}, {} -> {}",
+                         update.orderId(), prev.status(), update.status());
+                latest.put(update.orderId(), prev.withJournalSeq(journalSeqOf(prev, update)));
+            }
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private static long earlierOf(long a, long b) {
+        return a - b <= 0 ? a : b;  // nanoTime 비교는 차이로 (overflow 안전)
+    }
+
+    private static long journalSeqOf(OrderStatusUpdate prev, OrderStatusUpdate next) {
+        return prev.journalSeq() != OrderJournal.NO_SEQ ? prev.journalSeq() : next.journalSeq();
+    }
+
+    /**
+     * @return 반영된 orderId
+     */
+    Set<Long> apply(List<OrderStatusUpdate> updates) {
+        if (pipeline.isEnabled()) {
+            return applyPipelined(updates);
+        }
+
+        StringBuilder sql = new StringBuilder(UPDATE_HEAD.length() + UPDATE_TAIL.length()
+                + updates.size() * (VALUES_ROW.length() + 2));
+        Object[] binds = new Object[updates.size() * 4];
+
+        sql.append(UPDATE_HEAD);
+        for (int i = 0; i < updates.size(); i++) {
+            OrderStatusUpdate update = updates.get(i);
+            if (i > 0) {
+                sql.append(",\n");
+            }
+            sql.append(VALUES_ROW);
+            binds[i * 4] = update.orderId();
+            binds[i * 4 + 1] = update.accountId();
+            binds[i * 4 + 2] = update.status().name();
+            binds[i * 4 + 3] = OrderStatusTransitions.sourcesOf(update.status());
+        }
+        sql.append(UPDATE_TAIL);
+
+        Set<Long> applied = new HashSet<>(updates.size() * 2);
+        dsl.transaction(cfg -> DSL.using(cfg).fetch(sql.toString(), binds)
+                .forEach(r -> applied.add(r.get(0, Long.class))));
+        return applied;
+    }
+
+    private Set<Long> applyPipelined(List<OrderStatusUpdate> updates) {
+        int n = updates.size();
+        Long[] orderIds = new Long[n];
+        Long[] accountIds = new Long[n];
+        String[] statuses = new String[n];
+        String[] sources = new String[n];
+        for (int i = 0; i < n; i++) {
+            OrderStatusUpdate update = updates.get(i);
+            orderIds[i] = update.orderId();
+            accountIds[i] = update.accountId();
+            statuses[i] = update.status().name();
+            sources[i] = OrderStatusTransitions.sourcesOf(update.status());
+        }
+
+        Set<Long> applied = new HashSet<>(n * 2);
+        for (Row row : pipeline.execute(PIPELINED_UPDATE_SQL, Tuple.of(orderIds, accountIds, statuses, sources))) {
+            applied.add(row.getLong(0));
+        }
+        return applied;
+    }
+}
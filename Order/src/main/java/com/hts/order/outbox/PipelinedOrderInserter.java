@@ -0,0 +1,59 @@
+package com.hts.order.outbox;
+
+import com.hts.order.repository.PgPipelineClient;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Vert.x pg client 파이프라이닝 적재
+ *
+ * - 배치 전체를 컬럼 배열 9개로 묶어 INSERT ... SELECT FROM unnest(...) 한 문장 (원자적, 트랜잭션 불필요)
+ * - 문장 1개 = 명령 1개 → 모든 파티션 writer가 소수 연결을 공유하며 응답 대기 없이 연속 전송
+ * - 고정 SQL → 연결별 prepared statement 캐시 재사용
+ */
+final class PipelinedOrderInserter implements OrderInserter {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO orders(order_id, account_id, symbol_id, side, order_type, quantity, price, time_in_force, status)
+        SELECT * FROM unnest($1::bigint[], $2::bigint[], $3::int[], $4::varchar[], $5::varchar[],
+                             $6::bigint[], $7::bigint[], $8::varchar[], $9::varchar[])
+    """;
+
+    private final PgPipelineClient client;
+
+    PipelinedOrderInserter(PgPipelineClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void insert(OrderSlotBatch batch) {
+        int n = batch.size();
+        if (n == 0) {
+            return;
+        }
+
+        Long[] orderIds = new Long[n];
+        Long[] accountIds = new Long[n];
+        Integer[] symbolIds = new Integer[n];
+        String[] sides = new String[n];
+        String[] orderTypes = new String[n];
+        Long[] quantities = new Long[n];
+        Long[] prices = new Long[n];
+        String[] tifs = new String[n];
+        String[] statuses = new String[n];
+
+        for (int i = 0; i < n; i++) {
+            orderIds[i] = batch.orderId(i);
+            accountIds[i] = batch.accountId(i);
+            symbolIds[i] = batch.symbolId(i);
+            sides[i] = batch.side(i).name();
+            orderTypes[i] = batch.orderType(i).name();
+            quantities[i] = batch.quantity(i);
+            prices[i] = batch.price(i);
+            tifs[i] = batch.timeInForce(i).name();
+            statuses[i] = batch.status(i).name();
+        }
+
+        client.execute(INSERT_SQL, Tuple.of(orderIds, accountIds, symbolIds, sides, orderTypes,
+                quantities, prices, tifs, statuses));
+    }
+}
@@ -0,0 +1,15 @@
+package com.hts.order.relay;
+
+import java.util.List;
+
+/**
+ * 거래소 게이트웨이 전송 (OrderOutboxRelay에서 사용)
+ *
+ * - 배치는 orderId 오름차순, 같은 샤드 주문은 항상 같은 릴레이 스레드에서 호출
+ * - 정상 반환 = 게이트웨이 수신 확인 → 같은 트랜잭션에서 SENT 반영
+ * - 예외 시 트랜잭션 롤백 후 재전송 (at-least-once, 게이트웨이는 orderId로 중복 제거)
+ */
+public interface GatewaySink {
+
+    void send(List<RelayedOrder> batch);
+}
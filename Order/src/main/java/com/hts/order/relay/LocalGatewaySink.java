@@ -0,0 +1,40 @@
+package com.hts.order.relay;
+
+import com.hts.order.global.OrderIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 로컬 게이트웨이 대역 (실 게이트웨이 연동 전 / 테스트용)
+ *
+ * - 전송 즉시 수신 확인
+ * - 샤드별 마지막 orderId를 기록해 순서 역전 감지 시 경고
+ */
+public final class LocalGatewaySink implements GatewaySink {
+    private static final Logger log = LoggerFactory.getLogger(LocalGatewaySink.class);
+
+    private final AtomicLongArray lastOrderIds = new AtomicLongArray(OrderIdGenerator.getLogicalShardCount());
+    private final AtomicLong received = new AtomicLong();
+
+    @Override
+    public void send(List<RelayedOrder> batch) {
+        for (RelayedOrder order : batch) {
+            int shard = OrderIdGenerator.extractShard(order.orderId());
+            long prev = lastOrderIds.getAndSet(shard, order.orderId());
+            if (order.orderId() <= prev) {
+                log.warn("Gateway order out of sequence: shard={}, orderId={}, previous={}",
+                         shard, order.orderId(), prev);
+            }
+        }
+        long total = received.addAndGet(batch.size());
+        log.debug("Local gateway received {} orders (total={})", batch.size(), total);
+    }
+
+    public long receivedCount() {
+        return received.get();
+    }
+}
@@ -0,0 +1,270 @@
+package com.hts.order.relay;
+
+import com.hts.order.config.DatabaseConfig;
+import com.hts.order.config.RelayConfig;
+import com.hts.order.global.OrderIdGenerator;
+import com.hts.order.metrics.MetricsCollector;
+import com.hts.order.proto.OrderProto;
+import com.hts.order.state.LiveOrderRegistry;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 접수 주문 → 거래소 게이트웨이 릴레이 (orders 테이블이 outbox)
+ *
+ * - 대기 행 = status RECEIVED (BatchWriter 적재분), orderId 오름차순 keyset 조회 (OFFSET 없음)
+ * - 트랜잭션: SELECT ... FOR UPDATE → GatewaySink 전송 → SENT 일괄 UPDATE → commit
+ *   · 전송 중 같은 행의 취소 UPDATE는 대기 후 SENT 기준으로 반영 (SENT → CANCEL_REQUESTED 유효)
+ *   · 전송 실패 시 롤백 → 다음 루프에서 재전송 (at-least-once)
+ * - 샤드 % threads 로 스레드별 샤드 소유 → 샤드 내 전송 순서 = orderId 순서
+ * - 대기: V4 트리거의 NOTIFY로 즉시 깨움, 유실 대비 fallbackPollMillis 상한
+ * - 메모리 취소와의 경합: 전송 직전 LiveOrderTable.claimForSend()로 선점
+ *   · 이미 메모리에서 취소(응답 + 자금 해제 완료)된 주문은 전송 / SENT 반영 제외
+ *     → RECEIVED로 남았다가 상태 UPDATE flush 후 CANCEL_REQUESTED (재조회 대상에서 빠짐)
+ *   · 메모리 정정이 아직 DB에 반영 안 된 주문도 제외 → 정정 UPDATE flush 후 새 수량/가격으로 전송
+ *   · 선점 이후 취소는 SENT 기준으로 판정
+ * - 외부 주문(음수 ID)은 대상 아님
+ * - relay lag: 마지막 배치의 가장 오래된 주문 생성 시각 기준 (비면 0)
+ */
+@Singleton
+public class OrderOutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private static final long FAILURE_BACKOFF_MILLIS = 100;
+
+    private static final String SELECT_PENDING_SQL = """
+        SELECT order_id, account_id, symbol_id, side, order_type, quantity, price, time_in_force
+        FROM orders
+        WHERE status = 'RECEIVED'
+          AND order_id > ?
+          AND %s %% ? = ?
+        ORDER BY order_id
+        LIMIT ?
+        FOR UPDATE
+    """.formatted(OrderIdGenerator.shardSqlExpression("order_id"));
+
+    private static final String MARK_SENT_SQL = """
+        UPDATE orders SET status = 'SENT', updated_at = NOW()
+        WHERE order_id = ANY(?) AND status = 'RECEIVED'
+    """;
+
+    private final DSLContext dsl;
+    private final GatewaySink sink;
+    private final RelayConfig config;
+    private final DatabaseConfig dbConfig;
+    private final MetricsCollector metrics;
+    private final LiveOrderRegistry liveOrders;
+    private final List<Thread> relayThreads = new ArrayList<>();
+
+    private final ReentrantLock wakeLock = new ReentrantLock();
+    private final Condition wakeup = wakeLock.newCondition();
+    private long wakeups;  // wakeLock 보호
+
+    private OutboxNotificationListener listener;
+    private volatile boolean running = true;
+
+    @Inject
+    public OrderOutboxRelay(DSLContext dsl, GatewaySink sink, RelayConfig config,
+                            DatabaseConfig dbConfig, MetricsCollector metrics, LiveOrderRegistry liveOrders) {
+        this.dsl = dsl;
+        this.sink = sink;
+        this.config = config;
+        this.dbConfig = dbConfig;
+        this.metrics = metrics;
+        this.liveOrders = liveOrders;
+    }
+
+    public void start() {
+        if (!config.isEnabled()) {
+            log.info("OrderOutboxRelay disabled");
+            return;
+        }
+
+        listener = new OutboxNotificationListener(dbConfig, config.getChannel(), this::wakeAll);
+        Thread listenerThread = new Thread(listener, "order-relay-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+
+        int threads = config.getThreads();
+        for (int i = 0; i < threads; i++) {
+            final int relayId = i;
+            Thread relay = new Thread(() -> relayLoop(relayId, threads), "order-relay-" + i);
+            relay.setDaemon(false);
+            relay.start();
+            relayThreads.add(relay);
+        }
+        log.info("OrderOutboxRelay started: threads={}, batchSize={}, channel={}, sink={}",
+                 threads, config.getBatchSize(), config.getChannel(), sink.getClass().getSimpleName());
+    }
+
+    /**
+     * 릴레이 메인 루프 (shard % threads == relayId 인 샤드 전담)
+     */
+    private void relayLoop(int relayId, int threads) {
+        final String threadName = Thread.currentThread().getName();
+        RelayLag lag = new RelayLag();
+        metrics.registerRelayLagGauge(threadName, lag, RelayLag::millis);
+
+        long seenWakeups = -1;
+        while (running) {
+            try {
+                int sent = drain(relayId, threads, lag);
+                if (sent > 0) {
+                    metrics.recordRelaySent(threadName, sent);
+                    continue;  // 전송 중 도착분 바로 확인
+                }
+
+                wakeLock.lock();
+                try {
+                    if (wakeups == seenWakeups && running) {
+                        wakeup.await(config.getFallbackPollMillis(), TimeUnit.MILLISECONDS);
+                    }
+                    seenWakeups = wakeups;
+                } finally {
+                    wakeLock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("[{}] Relay batch failed, retrying...", threadName, e);
+                try {
+                    Thread.sleep(FAILURE_BACKOFF_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.info("[{}] Relay terminated", threadName);
+    }
+
+    /**
+     * 대기 행을 keyset 배치로 끝까지 전송
+     *
+     * @return 전송 건수
+     */
+    private int drain(int relayId, int threads, RelayLag lag) {
+        int batchSize = config.getBatchSize();
+        long cursor = -1L;  // 내부 주문만 (order_id >= 0)
+        int total = 0;
+
+        while (running) {
+            final long from = cursor;
+            RelayBatch batch = dsl.transactionResult(cfg -> {
+                DSLContext tx = DSL.using(cfg);
+                List<RelayedOrder> fetched = new ArrayList<>(batchSize);
+                for (Record r : tx.fetch(SELECT_PENDING_SQL, from, threads, relayId, batchSize)) {
+                    fetched.add(toRelayedOrder(r));
+                }
+                if (fetched.isEmpty()) {
+                    return RelayBatch.EMPTY;
+                }
+
+                List<RelayedOrder> orders = new ArrayList<>(fetched.size());
+                for (RelayedOrder order : fetched) {
+                    int shardId = OrderIdGenerator.extractShard(order.orderId());
+                    if (liveOrders.shard(shardId).claimForSend(order.orderId(), order.quantity(), order.price())) {
+                        orders.add(order);
+                    }
+                }
+                if (!orders.isEmpty()) {
+                    sink.send(orders);
+
+                    Long[] ids = new Long[orders.size()];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = orders.get(i).orderId();
+                    }
+                    tx.execute(MARK_SENT_SQL, (Object) ids);
+                }
+                return new RelayBatch(fetched.size(), fetched.get(0).orderId(),
+                        fetched.get(fetched.size() - 1).orderId(), orders.size());
+            });
+
+            if (batch.fetched() == 0) {
+                lag.set(0);
+                break;
+            }
+            lag.set(System.currentTimeMillis() - OrderIdGenerator.extractTimestampMillis(batch.firstOrderId()));
+            total += batch.sent();
+            cursor = batch.lastOrderId();
+            if (batch.fetched() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private void wakeAll() {
+        wakeLock.lock();
+        try {
+            wakeups++;
+            wakeup.signalAll();
+        } finally {
+            wakeLock.unlock();
+        }
+    }
+
+    private static RelayedOrder toRelayedOrder(Record r) {
+        return new RelayedOrder(
+                r.get("order_id", Long.class),
+                r.get("account_id", Long.class),
+                r.get("symbol_id", Integer.class),
+                OrderProto.Side.valueOf(r.get("side", String.class)),
+                OrderProto.OrderType.valueOf(r.get("order_type", String.class)),
+                r.get("quantity", Long.class),
+                r.get("price", Long.class),
+                OrderProto.TimeInForce.valueOf(r.get("time_in_force", String.class)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Shutting down OrderOutboxRelay");
+        running = false;
+        if (listener != null) {
+            listener.stop();
+        }
+        wakeAll();
+        for (Thread relay : relayThreads) {
+            try {
+                relay.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 트랜잭션 1회 결과 (조회 건수는 keyset 진행용, 전송 건수는 취소 선반영분 제외)
+     */
+    private record RelayBatch(int fetched, long firstOrderId, long lastOrderId, int sent) {
+        static final RelayBatch EMPTY = new RelayBatch(0, 0L, 0L, 0);
+    }
+
+    /**
+     * 릴레이 스레드별 lag (gauge 읽기만 다른 스레드)
+     */
+    private static final class RelayLag {
+        private volatile long millis;
+
+        void set(long millis) {
+            this.millis = Math.max(0, millis);
+        }
+
+        double millis() {
+            return millis;
+        }
+    }
+}
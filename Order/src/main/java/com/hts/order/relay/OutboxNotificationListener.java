@@ -0,0 +1,76 @@
+package com.hts.order.relay;
+
+import com.hts.order.config.DatabaseConfig;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * orders INSERT 알림 수신 (LISTEN)
+ *
+ * - 풀과 별도 전용 연결 1개 (autoCommit, LISTEN 상태 유지)
+ * - 알림 도착 시 onNotify 실행 (릴레이 스레드 깨우기) → 폴링 없이 적재 직후 전송
+ * - 연결 끊김 시 재연결 + 재연결 직후 onNotify 1회 (끊긴 동안 놓친 알림 보정)
+ */
+final class OutboxNotificationListener implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(OutboxNotificationListener.class);
+
+    private static final int WAIT_MILLIS = 500;
+    private static final long RECONNECT_BACKOFF_MILLIS = 1_000;
+
+    private final DatabaseConfig dbConfig;
+    private final String channel;
+    private final Runnable onNotify;
+    private volatile boolean running = true;
+
+    OutboxNotificationListener(DatabaseConfig dbConfig, String channel, Runnable onNotify) {
+        this.dbConfig = dbConfig;
+        this.channel = channel;
+        this.onNotify = onNotify;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(
+                    dbConfig.getJdbcUrl(), dbConfig.getUser(), dbConfig.getPassword())) {
+                conn.setAutoCommit(true);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN " + channel);
+                }
+                log.info("Listening on channel {}", channel);
+                onNotify.run();
+
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(WAIT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        onNotify.run();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.error("Outbox listener connection failed, reconnecting in {}ms", RECONNECT_BACKOFF_MILLIS, e);
+                try {
+                    Thread.sleep(RECONNECT_BACKOFF_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.info("Outbox listener terminated");
+    }
+
+    void stop() {
+        running = false;
+    }
+}
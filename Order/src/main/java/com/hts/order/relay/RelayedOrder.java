@@ -0,0 +1,18 @@
+package com.hts.order.relay;
+
+import com.hts.order.proto.OrderProto;
+
+/**
+ * 게이트웨이로 전달되는 주문 (orders RECEIVED 행)
+ */
+public record RelayedOrder(
+        long orderId,
+        long accountId,
+        int symbolId,
+        OrderProto.Side side,
+        OrderProto.OrderType orderType,
+        long quantity,
+        long price,
+        OrderProto.TimeInForce timeInForce
+) {
+}
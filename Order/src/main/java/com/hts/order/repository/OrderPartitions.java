@@ -0,0 +1,78 @@
+package com.hts.order.repository;
+
+import com.hts.order.global.OrderIdGenerator;
+
+import javax.inject.Singleton;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * orders 일 단위 파티션 (RANGE on order_id)
+ *
+ * - 경계 = 해당 일자 00:00 UTC의 최소 orderId (상위 41bit = 생성 시각)
+ * - 단건 조회는 orderId 시각 비트로 파티션을 바로 지정 (플래너 pruning 생략)
+ * - 존재 확인된 파티션만 직접 지정, 그 외(외부 주문, 레거시, 미확인 일자)는 부모 테이블
+ * - 파티션 목록은 OrderPartitionMaintainer가 갱신
+ */
+@Singleton
+public final class OrderPartitions {
+
+    public static final String PARENT_TABLE = "orders";
+    private static final String PREFIX = "orders_p";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;  // yyyyMMdd
+
+    private volatile Set<LocalDate> knownDays = Set.of();
+
+    /**
+     * 주문이 들어 있는 테이블 (일자 파티션 or 부모)
+     */
+    public String tableOf(long orderId) {
+        if (OrderIdGenerator.isExternal(orderId)) {
+            return PARENT_TABLE;
+        }
+        LocalDate day = dayOf(orderId);
+        return knownDays.contains(day) ? partitionName(day) : PARENT_TABLE;
+    }
+
+    public void refresh(Set<LocalDate> days) {
+        this.knownDays = Set.copyOf(days);
+    }
+
+    public Set<LocalDate> knownDays() {
+        return knownDays;
+    }
+
+    public static LocalDate dayOf(long orderId) {
+        return Instant.ofEpochMilli(OrderIdGenerator.extractTimestampMillis(orderId))
+                      .atZone(ZoneOffset.UTC)
+                      .toLocalDate();
+    }
+
+    /**
+     * 일자 파티션 하한 (포함)
+     */
+    public static long lowerBound(LocalDate day) {
+        return OrderIdGenerator.minOrderIdAt(day.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+    }
+
+    public static String partitionName(LocalDate day) {
+        return PREFIX + DAY_FORMAT.format(day);
+    }
+
+    /**
+     * 파티션 이름 → 일자 (일자 파티션이 아니면 null)
+     */
+    public static LocalDate parseDay(String tableName) {
+        if (!tableName.startsWith(PREFIX) || tableName.length() != PREFIX.length() + 8) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(tableName.substring(PREFIX.length()), DAY_FORMAT);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
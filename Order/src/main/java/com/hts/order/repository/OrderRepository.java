@@ -1,31 +1,49 @@
 package com.hts.order.repository;
 
+import com.hts.order.global.OrderIdGenerator;
 import com.hts.order.service.order.OrderEntity;
+import com.hts.order.state.OrderStatusTransitions;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.Tuple;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
 import org.jooq.Record;
 
 import javax.inject.Inject;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public final class OrderRepository {
 
     private final DSLContext dsl;
+    private final OrderPartitions partitions;
+    private final PgPipelineClient pipeline;
 
     @Inject
-    public OrderRepository(DSLContext dsl) {
+    public OrderRepository(DSLContext dsl, OrderPartitions partitions, PgPipelineClient pipeline) {
         this.dsl = dsl;
+        this.partitions = partitions;
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * 파이프라이닝 경로 사용 여부 (단건 취소 반영)
+     */
+    public boolean isPipelined() {
+        return pipeline.isEnabled();
     }
 
     public void insertOrder(DSLContext tx, OrderEntity order) {
         tx.execute("""
-            INSERT INTO orders(order_id, account_id, symbol, side, order_type, quantity, price, time_in_force, status)
+            INSERT INTO orders(order_id, account_id, symbol_id, side, order_type, quantity, price, time_in_force, status)
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
         """,
         order.orderId(),
         order.accountId(),
-        order.symbol(),
+        order.symbolId(),
         order.side().name(),
         order.orderType().name(),
         order.quantity(),
@@ -34,18 +52,65 @@ public final class OrderRepository {
         order.status().name());
     }
 
-    public void insertOutbox(DSLContext tx, OrderEntity order, String eventType) {
-        tx.execute("""
-           INSERT INTO outbox(event_type, aggregate_id, payload, status)
-           VALUES (?, ?, ?, 'PENDING')
-        """, eventType, order.orderId(), order.serializeForOutbox());
+    public boolean markCancelRequested(DSLContext tx, long orderId, long accountId) {
+        int rows = tx.execute("""
+           UPDATE %s SET status = 'CANCEL_REQUESTED'
+           WHERE order_id = ? AND account_id = ? AND status IN (%s)
+        """.formatted(partitions.tableOf(orderId), OrderStatusTransitions.OPEN_SQL), orderId, accountId);
+        return rows == 1;
     }
 
-    public boolean markCancelRequested(DSLContext tx, long orderId, long accountId) {
+    /**
+     * 취소 요청 단일 문장 반영 (파이프라이닝 경로, 트랜잭션 / 연결 점유 없음)
+     *
+     * - 상태 조건 확인 + 변경 + 해제 금액 조회를 UPDATE ... RETURNING 1문장으로
+     *
+     * @return 해제할 주문 금액 or null (없거나 취소 불가 상태)
+     */
+    public Long requestCancelPipelined(long orderId, long accountId) {
+        RowIterator<Row> rows = pipeline.execute("""
+           UPDATE %s SET status = 'CANCEL_REQUESTED', updated_at = NOW()
+           WHERE order_id = $1 AND account_id = $2 AND status IN (%s)
+           RETURNING price * quantity AS amount
+        """.formatted(partitions.tableOf(orderId), OrderStatusTransitions.OPEN_SQL), Tuple.of(orderId, accountId)).iterator();
+        return rows.hasNext() ? rows.next().getLong("amount") : null;
+    }
+
+    /**
+     * 정정 대상 주문 잠금 조회 (SELECT ... FOR UPDATE)
+     *
+     * - 체결 전 미체결(접수/승인/전송) 상태의 지정가 주문만 정정 가능
+     * - 같은 트랜잭션에서 updateQuantityAndPrice()로 행을 제자리 갱신
+     *
+     * @return 현재 수량/가격 or null (없거나 정정 불가 상태)
+     */
+    public OrderQuantityPrice lockAmendableOrder(DSLContext tx, long orderId, long accountId) {
+        Record record = tx.fetchOne("""
+            SELECT quantity, price
+            FROM %s
+            WHERE order_id = ? AND account_id = ?
+              AND status IN (%s)
+              AND order_type = 'LIMIT'
+            FOR UPDATE
+        """.formatted(partitions.tableOf(orderId), OrderStatusTransitions.OPEN_SQL), orderId, accountId);
+
+        if (record == null) {
+            return null;
+        }
+        return new OrderQuantityPrice(
+                record.get("quantity", Long.class),
+                record.get("price", Long.class));
+    }
+
+    /**
+     * 주문 수량/가격 제자리 갱신 (orderId 유지)
+     */
+    public boolean updateQuantityAndPrice(DSLContext tx, long orderId, long accountId,
+                                          long quantity, long price) {
         int rows = tx.execute("""
-           UPDATE orders SET status = 'CANCEL_REQUESTED'
-           WHERE order_id = ? AND account_id = ? AND status IN ('RECEIVED', 'ACCEPTED')
-        """, orderId, accountId);
+           UPDATE %s SET quantity = ?, price = ?, updated_at = NOW()
+           WHERE order_id = ? AND account_id = ? AND status IN (%s)
+        """.formatted(partitions.tableOf(orderId), OrderStatusTransitions.OPEN_SQL), quantity, price, orderId, accountId);
         return rows == 1;
     }
 
@@ -56,9 +121,9 @@ public final class OrderRepository {
     public Long getOrderAmount(DSLContext tx, long orderId, long accountId) {
         Record record = tx.fetchOne("""
             SELECT price * quantity as amount
-            FROM orders
+            FROM %s
             WHERE order_id = ? AND account_id = ?
-        """, orderId, accountId);
+        """.formatted(partitions.tableOf(orderId)), orderId, accountId);
 
         if (record == null) {
             return null;
@@ -66,6 +131,38 @@ public final class OrderRepository {
         return record.get("amount", Long.class);
     }
 
+    /**
+     * 주문 단건 조회 (조회 API - 메모리에 없는 종결 주문용, PK 포인트 조회, 파이프라이닝 경로 우선)
+     * @return 주문 or null (없거나 다른 계좌 주문)
+     */
+    public OrderRow findOrder(long orderId, long accountId) {
+        if (pipeline.isEnabled()) {
+            RowIterator<Row> rows = pipeline.execute("""
+                SELECT order_id, account_id, symbol_id, order_type, quantity, price, status
+                FROM %s
+                WHERE order_id = $1 AND account_id = $2
+            """.formatted(partitions.tableOf(orderId)), Tuple.of(orderId, accountId)).iterator();
+            if (!rows.hasNext()) {
+                return null;
+            }
+            Row row = rows.next();
+            return new OrderRow(row.getLong("order_id"), row.getLong("account_id"), row.getInteger("symbol_id"),
+                    row.getString("order_type"), row.getLong("quantity"), row.getLong("price"),
+                    row.getString("status"));
+        }
+
+        Record record = dsl.fetchOne("""
+            SELECT order_id, account_id, symbol_id, order_type, quantity, price, status
+            FROM %s
+            WHERE order_id = ? AND account_id = ?
+        """.formatted(partitions.tableOf(orderId)), orderId, accountId);
+
+        if (record == null) {
+            return null;
+        }
+        return toOrderRow(record);
+    }
+
     /**
      * Get symbol by orderId (fallback용 - DispatchHandler에서 사용)
      *
@@ -75,10 +172,11 @@ public final class OrderRepository {
      */
     public String getSymbolByOrderId(long orderId) {
         Record record = dsl.fetchOne("""
-            SELECT symbol
-            FROM orders
-            WHERE order_id = ?
-        """, orderId);
+            SELECT s.symbol
+            FROM %s o
+            JOIN symbols s ON s.symbol_id = o.symbol_id
+            WHERE o.order_id = ?
+        """.formatted(partitions.tableOf(orderId)), orderId);
 
         if (record == null) {
             return null;
@@ -87,24 +185,90 @@ public final class OrderRepository {
     }
 
     /**
-     * Find order IDs older than cutoff date (cleanup용)
+     * 주문 ID keyset 페이지 (OrderIndexCache 정리용)
      *
-     * OrderIndexCache 정리 스케줄러에서 사용
-     * 오래된 주문의 Redis 캐시 삭제 대상 조회
+     * - (afterOrderId, beforeOrderId) 범위를 order_id 오름차순으로 limit건
+     * - 시각 기준 상한은 OrderIdGenerator.minOrderIdAt으로 변환 (파티션 pruning + PK 순서 스캔)
+     * - 다음 페이지는 마지막 order_id를 afterOrderId로 (OFFSET 없음)
      *
-     * @param cutoff 기준 일시
-     * @return old order IDs
+     * @return order IDs (비어 있으면 범위 끝)
      */
-    public List<Long> findOrderIdsOlderThan(LocalDateTime cutoff) {
+    public List<Long> findOrderIdsBetween(long afterOrderId, long beforeOrderId, int limit) {
         return dsl.fetch("""
             SELECT order_id
             FROM orders
-            WHERE created_at < ?
-            ORDER BY created_at ASC
-            LIMIT 1000
-        """, cutoff)
+            WHERE order_id > ? AND order_id < ?
+            ORDER BY order_id ASC
+            LIMIT ?
+        """, afterOrderId, beforeOrderId, limit)
         .stream()
         .map(r -> r.get("order_id", Long.class))
         .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * 이미 적재된 주문 ID 조회 (저널 복구 시 중복 INSERT 방지)
+     *
+     * @param orderIds 확인할 주문 ID
+     * @return DB에 존재하는 주문 ID
+     */
+    public Set<Long> findExistingOrderIds(List<Long> orderIds) {
+        return dsl.transactionResult(cfg -> org.jooq.impl.DSL.using(cfg).fetch("""
+            SELECT order_id
+            FROM orders
+            WHERE order_id = ANY(?)
+        """, (Object) orderIds.toArray(new Long[0]))
+        .stream()
+        .map(r -> r.get("order_id", Long.class))
+        .collect(Collectors.toSet()));
+    }
+
+    /**
+     * 미체결 주문 전체 스트리밍 (기동 시 샤드 메모리 적재용)
+     *
+     * - fetchSize 커서로 읽어 전체 결과를 힙에 올리지 않음 (PG는 트랜잭션 안에서만 커서 동작)
+     *
+     * @return 적재된 주문 수
+     */
+    public int forEachOpenOrder(Consumer<OrderRow> consumer) {
+        int[] count = {0};
+        dsl.transaction(cfg -> {
+            DSLContext tx = org.jooq.impl.DSL.using(cfg);
+            try (Cursor<Record> cursor = tx.resultQuery("""
+                SELECT order_id, account_id, symbol_id, order_type, quantity, price, status
+                FROM orders
+                WHERE status IN (%s)
+            """.formatted(OrderStatusTransitions.OPEN_SQL)).fetchSize(10_000).fetchLazy()) {
+                for (Record record : cursor) {
+                    consumer.accept(toOrderRow(record));
+                    count[0]++;
+                }
+            }
+        });
+        return count[0];
+    }
+
+    private static OrderRow toOrderRow(Record record) {
+        return new OrderRow(
+                record.get("order_id", Long.class),
+                record.get("account_id", Long.class),
+                record.get("symbol_id", Integer.class),
+                record.get("order_type", String.class),
+                record.get("quantity", Long.class),
+                record.get("price", Long.class),
+                record.get("status", String.class));
+    }
+
+    public record OrderQuantityPrice(long quantity, long price) {
+        /**
+         * @throws ArithmeticException long 범위 초과
+         */
+        public long amount() {
+            return Math.multiplyExact(quantity, price);
+        }
+    }
+
+    public record OrderRow(long orderId, long accountId, int symbolId, String orderType, long quantity, long price,
+                           String status) {
+    }
+}
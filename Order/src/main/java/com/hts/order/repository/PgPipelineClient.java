@@ -0,0 +1,60 @@
+package com.hts.order.repository;
+
+import com.hts.order.config.DatabaseConfig;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+import org.jooq.exception.DataAccessException;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 파이프라이닝 Postgres 경로 (Vert.x pg client)
+ *
+ * - 여러 스레드의 문장이 소수 연결을 공유, 연결당 응답 대기 없이 연속 전송
+ * - 호출 스레드는 자기 문장 결과만 대기 (timeout) → JDBC처럼 연결 1개를 왕복 동안 점유하지 않음
+ * - 비활성(database.pg-client.enabled=false) 시 SqlClient / event loop 생성 안 함
+ * - 실패는 jOOQ DataAccessException으로 변환 (기존 JDBC 경로와 같은 예외 처리)
+ */
+@Singleton
+public final class PgPipelineClient {
+
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final Provider<SqlClient> client;
+
+    @Inject
+    public PgPipelineClient(DatabaseConfig config, Provider<SqlClient> client) {
+        this.enabled = config.isPgClientEnabled();
+        this.timeoutMillis = config.getPgClientTimeoutMillis();
+        this.client = client;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * prepared 문장 실행 후 결과 대기
+     */
+    public RowSet<Row> execute(String sql, Tuple params) {
+        try {
+            return client.get().preparedQuery(sql).execute(params)
+                    .toCompletionStage().toCompletableFuture()
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Pipelined query interrupted", e);
+        } catch (ExecutionException e) {
+            throw new DataAccessException("Pipelined query failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new DataAccessException("Pipelined query timed out after " + timeoutMillis + "ms", e);
+        }
+    }
+}
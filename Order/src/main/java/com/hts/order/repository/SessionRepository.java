@@ -1,39 +1,64 @@
 package com.hts.order.repository;
 
-import io.lettuce.core.RedisClient;
-import io.lettuce.core.api.StatefulRedisConnection;
-import io.lettuce.core.api.sync.RedisCommands;
+import com.hts.order.cache.RedisShardConnections;
+import com.hts.order.cache.SessionNearCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+/**
+ * 세션 → 계좌 조회 (Redis)
+ *
+ * - 샤드 워커는 자기 샤드 연결 사용 (워커 간 단일 연결 경합 없음)
+ * - 샤드 없는 호출(조회 풀 등)은 sessionId로 연결 분산
+ * - 조회는 SessionNearCache 우선 (miss만 Redis GET, 없는 세션은 캐시하지 않음)
+ */
 @Singleton
 public final class SessionRepository {
     private static final Logger log = LoggerFactory.getLogger(SessionRepository.class);
     private static final String SESSION_PREFIX = "session:";
 
-    private final StatefulRedisConnection<String, String> connection;
-    private final RedisCommands<String, String> commands;
+    private final RedisShardConnections redis;
+    private final SessionNearCache nearCache;
 
     @Inject
-    public SessionRepository(RedisClient redisClient) {
-        this.connection = redisClient.connect();
-        this.commands = connection.sync();
+    public SessionRepository(RedisShardConnections redis, SessionNearCache nearCache) {
+        this.redis = redis;
+        this.nearCache = nearCache;
     }
 
     public Long getAccountId(long sessionId) {
+        return getAccountIdOn(connectionOf(sessionId), sessionId);
+    }
+
+    /**
+     * 샤드 워커용 (샤드 전용 연결)
+     */
+    public Long getAccountId(int shardId, long sessionId) {
+        return getAccountIdOn(redis.connectionOf(shardId), sessionId);
+    }
+
+    private Long getAccountIdOn(int connection, long sessionId) {
+        long cached = nearCache.get(sessionId);
+        if (cached != SessionNearCache.MISS) {
+            return cached;
+        }
+
         try {
+            long epoch = nearCache.epoch();
             String key = SESSION_PREFIX + sessionId;
-            String value = commands.get(key);
+            String value = redis.await(connection, c -> c.get(key));
 
             if (value == null) {
                 log.warn("Session not found: sessionId={}", sessionId);
                 return null;
             }
 
-            return Long.parseLong(value);
+            long accountId = Long.parseLong(value);
+            nearCache.put(sessionId, accountId, epoch);
+            return accountId;
         } catch (Exception e) {
             log.error("Failed to get accountId for sessionId={}", sessionId, e);
             return null;
@@ -43,7 +68,8 @@ public final class SessionRepository {
     public void createSession(long sessionId, long accountId) {
         try {
             String key = SESSION_PREFIX + sessionId;
-            commands.setex(key, 86400, String.valueOf(accountId));
+            redis.await(connectionOf(sessionId), c -> c.setex(key, 86400, String.valueOf(accountId)));
+            nearCache.invalidate(sessionId);
             log.debug("Session created: sessionId={}, accountId={}", sessionId, accountId);
         } catch (Exception e) {
             log.error("Failed to create session: sessionId={}, accountId={}", sessionId, accountId, e);
@@ -53,7 +79,8 @@ public final class SessionRepository {
     public void deleteSession(long sessionId) {
         try {
             String key = SESSION_PREFIX + sessionId;
-            commands.del(key);
+            redis.await(connectionOf(sessionId), c -> c.del(key));
+            nearCache.invalidate(sessionId);
         } catch (Exception e) {
             log.error("Failed to delete session: sessionId={}", sessionId, e);
         }
@@ -62,14 +89,14 @@ public final class SessionRepository {
     public boolean isValidSession(long sessionId) {
         try {
             String key = SESSION_PREFIX + sessionId;
-            return commands.exists(key) > 0;
+            return redis.await(connectionOf(sessionId), c -> c.exists(key)) > 0;
         } catch (Exception e) {
             log.error("Failed to validate session: sessionId={}", sessionId, e);
             return false;
         }
     }
 
-    public void close() {
-        connection.close();
+    private int connectionOf(long sessionId) {
+        return (int) Math.floorMod(sessionId, (long) redis.size());
     }
 }
@@ -0,0 +1,47 @@
+package com.hts.order.repository;
+
+import org.jooq.DSLContext;
+import org.jooq.Record;
+
+import javax.inject.Inject;
+import java.util.List;
+
+/**
+ * 종목 기준정보 (symbols 테이블)
+ *
+ * - symbol_id는 DB가 발급 (재시작/다중 인스턴스 간 동일 ID 보장)
+ */
+public final class SymbolRepository {
+
+    private final DSLContext dsl;
+
+    @Inject
+    public SymbolRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public List<SymbolRow> findAll() {
+        return dsl.fetch("""
+            SELECT symbol_id, symbol
+            FROM symbols
+            ORDER BY symbol_id
+        """).map(r -> new SymbolRow(
+                r.get("symbol_id", Integer.class),
+                r.get("symbol", String.class)));
+    }
+
+    /**
+     * 종목 등록 (이미 있으면 기존 ID 반환)
+     */
+    public int register(String symbol) {
+        Record record = dsl.fetchOne("""
+            INSERT INTO symbols(symbol) VALUES (?)
+            ON CONFLICT (symbol) DO UPDATE SET symbol = EXCLUDED.symbol
+            RETURNING symbol_id
+        """, symbol);
+        return record.get("symbol_id", Integer.class);
+    }
+
+    public record SymbolRow(int symbolId, String symbol) {
+    }
+}
@@ -1,12 +1,24 @@
 package com.hts.order.scheduler;
 
+import com.google.common.util.concurrent.RateLimiter;
 import com.hts.order.cache.OrderIndexCache;
+import com.hts.order.config.OrderIndexCleanupConfig;
+import com.hts.order.global.OrderIdGenerator;
+import com.hts.order.metrics.MetricsCollector;
+import com.hts.order.repository.OrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -14,25 +26,54 @@ import java.util.concurrent.TimeUnit;
 /**
  * OrderIndexCache 정기 정리 스케줄러
  *
- * - 매월 1일 02:00에 90일 이상 지난 주문 캐시 삭제
- * - 실제로는 매일 02:00에 실행 (간단한 구현)
- * - 프로덕션에서는 Quartz 등으로 교체 권장
+ * - 매일 02:00 실행: 보존 기간 초과 주문의 order:{id} 키 삭제
+ * - DB는 order_id keyset 페이지로 스트리밍 (created_at 스캔 / 건수 상한 없음)
+ * - 페이지를 unlinkBatch 단위로 나눠 연결별 다중 키 UNLINK 파이프라이닝, 페이지 끝에서만 대기
+ * - 예산:
+ *   · Redis: 초당 삭제 키 maxOpsPerSecond (RateLimiter)
+ *   · CPU: 정리 스레드 CPU 시간 / 경과 시간이 maxCpuPercent를 넘으면 sleep
+ *   · 장중(trading-hours)에는 중지, 커서를 유지해 다음 실행에서 이어서 처리
+ * - 진행: 페이지 결과 Counter + 진행률 Gauge, 1만 건마다 로그
  */
 @Singleton
 public class CacheCleanupScheduler {
     private static final Logger log = LoggerFactory.getLogger(CacheCleanupScheduler.class);
 
+    private static final long PROGRESS_LOG_INTERVAL = 10_000;
+    private static final long PAGE_TIMEOUT_SECONDS = 30;
+
     private final OrderIndexCache orderIndexCache;
+    private final OrderRepository orderRepository;
+    private final OrderIndexCleanupConfig config;
+    private final MetricsCollector metrics;
     private final ScheduledExecutorService scheduler;
+    private final RateLimiter opsLimiter;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    // 스케줄러 스레드 전용 (실행 간 유지 → 장중 중지 후 이어서)
+    private long cursor = -1;
+
+    // 진행률 Gauge용
+    private volatile long runStart = -1;
+    private volatile long runBound = -1;
+    private volatile long runCursor = -1;
 
     @Inject
-    public CacheCleanupScheduler(OrderIndexCache orderIndexCache) {
+    public CacheCleanupScheduler(OrderIndexCache orderIndexCache,
+                                 OrderRepository orderRepository,
+                                 OrderIndexCleanupConfig config,
+                                 MetricsCollector metrics) {
         this.orderIndexCache = orderIndexCache;
+        this.orderRepository = orderRepository;
+        this.config = config;
+        this.metrics = metrics;
+        this.opsLimiter = RateLimiter.create(config.getMaxOpsPerSecond());
         this.scheduler = Executors.newScheduledThreadPool(1, r -> {
             Thread t = new Thread(r, "cache-cleanup-scheduler");
             t.setDaemon(true);
             return t;
         });
+        metrics.registerIndexCleanupProgress(this, CacheCleanupScheduler::progress);
     }
 
     /**
@@ -52,8 +93,10 @@ public class CacheCleanupScheduler {
             TimeUnit.HOURS
         );
 
-        log.info("CacheCleanupScheduler started: initial delay {} hours, then every 24 hours",
-                 initialDelayHours);
+        log.info("CacheCleanupScheduler started: initial delay {} hours, then every 24 hours " +
+                 "(retention={}d, maxOps={}/s, maxCpu={}%)",
+                 initialDelayHours, config.getRetentionDays(), config.getMaxOpsPerSecond(),
+                 config.getMaxCpuPercent());
     }
 
     /**
@@ -83,12 +126,104 @@ public class CacheCleanupScheduler {
      */
     private void runCleanup() {
         try {
-            log.info("Starting scheduled OrderIndexCache cleanup");
-            orderIndexCache.cleanupOldOrders();
-            log.info("Completed scheduled OrderIndexCache cleanup");
+            long bound = OrderIdGenerator.minOrderIdAt(
+                    System.currentTimeMillis() - TimeUnit.DAYS.toMillis(config.getRetentionDays()));
+            log.info("Starting scheduled OrderIndexCache cleanup: cursor={}, bound={}", cursor, bound);
+
+            runStart = cursor;
+            runBound = bound;
+            long scanned = 0;
+            long removed = 0;
+            long nextLog = PROGRESS_LOG_INTERVAL;
+
+            while (!Thread.currentThread().isInterrupted()) {
+                if (isTradingHours()) {
+                    log.info("OrderIndexCache cleanup paused for trading hours: cursor={}, scanned={}, removed={}",
+                             cursor, scanned, removed);
+                    return;
+                }
+
+                long cpuStart = threads.getCurrentThreadCpuTime();
+                long wallStart = System.nanoTime();
+
+                List<Long> page = orderRepository.findOrderIdsBetween(cursor, bound, config.getPageSize());
+                if (page.isEmpty()) {
+                    break;
+                }
+                long pageRemoved = unlinkPage(page);
+
+                cursor = page.get(page.size() - 1);
+                runCursor = cursor;
+                scanned += page.size();
+                removed += pageRemoved;
+                metrics.recordIndexCleanup(page.size(), pageRemoved);
+
+                if (scanned >= nextLog) {
+                    log.info("OrderIndexCache cleanup progress: cursor={}, scanned={}, removed={}, progress={}%",
+                             cursor, scanned, removed, Math.round(progress() * 100));
+                    nextLog += PROGRESS_LOG_INTERVAL;
+                }
+
+                throttleCpu(threads.getCurrentThreadCpuTime() - cpuStart, System.nanoTime() - wallStart);
+            }
+
+            log.info("Completed scheduled OrderIndexCache cleanup: scanned={}, removed={}", scanned, removed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
-            log.error("Failed to run scheduled cache cleanup", e);
+            // 커서는 마지막 완료 페이지 → 다음 실행에서 해당 페이지부터 재시도
+            log.error("Failed to run scheduled cache cleanup: cursor={}", cursor, e);
+        }
+    }
+
+    /**
+     * 페이지를 unlinkBatch 단위로 파이프라이닝 (RateLimiter로 키 수만큼 허가), 전체 완료 대기
+     */
+    private long unlinkPage(List<Long> page) throws Exception {
+        int batchSize = config.getUnlinkBatch();
+        List<CompletableFuture<Long>> results = new ArrayList<>((page.size() + batchSize - 1) / batchSize);
+        for (int from = 0; from < page.size(); from += batchSize) {
+            List<Long> batch = page.subList(from, Math.min(from + batchSize, page.size()));
+            opsLimiter.acquire(batch.size());
+            results.add(orderIndexCache.unlink(batch));
+        }
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+                         .get(PAGE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        long removed = 0;
+        for (CompletableFuture<Long> result : results) {
+            removed += result.join();
+        }
+        return removed;
+    }
+
+    /**
+     * CPU 예산: 사용률 = cpu / (wall + sleep) ≤ maxCpuPercent 가 되도록 sleep
+     */
+    private void throttleCpu(long cpuNanos, long wallNanos) throws InterruptedException {
+        if (cpuNanos <= 0) {
+            return;  // CPU 시간 측정 미지원
+        }
+        long requiredWall = cpuNanos * 100 / Math.max(1, config.getMaxCpuPercent());
+        long sleepNanos = requiredWall - wallNanos;
+        if (sleepNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        }
+    }
+
+    private boolean isTradingHours() {
+        LocalTime now = ZonedDateTime.now(config.getZone()).toLocalTime();
+        return !now.isBefore(config.getTradingStart()) && now.isBefore(config.getTradingEnd());
+    }
+
+    private double progress() {
+        long start = runStart;
+        long bound = runBound;
+        long current = runCursor;
+        if (bound <= start || current < start) {
+            return 0;
         }
+        return Math.min(1.0, (double) (current - start) / (bound - start));
     }
 
     /**
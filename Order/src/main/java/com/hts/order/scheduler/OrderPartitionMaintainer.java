@@ -0,0 +1,181 @@
+package com.hts.order.scheduler;
+
+import com.hts.order.config.PartitionConfig;
+import com.hts.order.repository.OrderPartitions;
+import com.hts.order.state.OrderStatusTransitions;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * orders 일 단위 파티션 관리 스케줄러
+ *
+ * - 기동 시 1회 동기 실행 (저널 재적재 / 접수 전에 오늘 파티션 보장) 후 1시간마다
+ * - 오늘 ~ 오늘+premakeDays 파티션 미리 생성
+ * - retentionDays 초과 파티션: 미체결 주문이 없을 때만 detach (+ 설정 시 DROP)
+ * - 현재 파티션 목록을 OrderPartitions에 반영 (단건 조회 직접 지정용)
+ */
+@Singleton
+public class OrderPartitionMaintainer {
+    private static final Logger log = LoggerFactory.getLogger(OrderPartitionMaintainer.class);
+
+    private static final long INTERVAL_HOURS = 1;
+    private static final String OVERLAP_SQL_STATE = "42P17";  // partition would overlap
+
+    private final DSLContext dsl;
+    private final OrderPartitions partitions;
+    private final PartitionConfig config;
+    private final ScheduledExecutorService scheduler;
+
+    @Inject
+    public OrderPartitionMaintainer(DSLContext dsl, OrderPartitions partitions, PartitionConfig config) {
+        this.dsl = dsl;
+        this.partitions = partitions;
+        this.config = config;
+        this.scheduler = Executors.newScheduledThreadPool(1, r -> {
+            Thread t = new Thread(r, "order-partition-maintainer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start() {
+        runMaintenance();
+        scheduler.scheduleAtFixedRate(this::runMaintenance, INTERVAL_HOURS, INTERVAL_HOURS, TimeUnit.HOURS);
+        log.info("OrderPartitionMaintainer started: premakeDays={}, retentionDays={}, dropDetached={}",
+                 config.getPremakeDays(), config.getRetentionDays(), config.isDropDetached());
+    }
+
+    private void runMaintenance() {
+        try {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            Set<LocalDate> days = loadPartitionDays();
+
+            for (int i = 0; i <= config.getPremakeDays(); i++) {
+                LocalDate day = today.plusDays(i);
+                if (!days.contains(day) && createPartition(day)) {
+                    days.add(day);
+                }
+            }
+
+            LocalDate expiry = today.minusDays(config.getRetentionDays());
+            for (LocalDate day : Set.copyOf(days)) {
+                if (day.isBefore(expiry) && detachPartition(day)) {
+                    days.remove(day);
+                }
+            }
+
+            partitions.refresh(days);
+        } catch (Exception e) {
+            log.error("Order partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * 현재 붙어 있는 일자 파티션 (레거시 파티션 제외)
+     */
+    private Set<LocalDate> loadPartitionDays() {
+        Set<LocalDate> days = new TreeSet<>();
+        dsl.transaction(cfg -> DSL.using(cfg).fetch("""
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = ?
+        """, OrderPartitions.PARENT_TABLE).forEach(r -> {
+            LocalDate day = OrderPartitions.parseDay(r.get(0, String.class));
+            if (day != null) {
+                days.add(day);
+            }
+        }));
+        return days;
+    }
+
+    private boolean createPartition(LocalDate day) {
+        String name = OrderPartitions.partitionName(day);
+        long from = OrderPartitions.lowerBound(day);
+        long to = OrderPartitions.lowerBound(day.plusDays(1));
+        try {
+            dsl.transaction(cfg -> DSL.using(cfg).execute(
+                    "CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + OrderPartitions.PARENT_TABLE
+                    + " FOR VALUES FROM (" + from + ") TO (" + to + ")"));
+            log.info("Order partition created: {} [{}, {})", name, from, to);
+            return true;
+        } catch (DataAccessException e) {
+            if (OVERLAP_SQL_STATE.equals(e.sqlState())) {
+                // 레거시 파티션 범위에 포함된 일자 (파티셔닝 전환 당일)
+                log.debug("Order partition {} covered by existing partition", name);
+            } else {
+                log.error("Order partition create failed: {}", name, e);
+            }
+            return false;
+        } catch (Exception e) {
+            log.error("Order partition create failed: {}", name, e);
+            return false;
+        }
+    }
+
+    /**
+     * 만료 파티션 detach (+ DROP)
+     *
+     * - 미체결 주문이 남아 있으면 보류 (취소/체결 반영 대상 유실 방지)
+     * - 단건 조회 직접 지정 대상에서 먼저 제외 후 detach
+     */
+    private boolean detachPartition(LocalDate day) {
+        String name = OrderPartitions.partitionName(day);
+        try {
+            boolean hasOpen = dsl.transactionResult(cfg -> DSL.using(cfg).fetchExists(DSL.selectOne()
+                    .from(DSL.table(DSL.name(name)))
+                    .where(DSL.field(DSL.name("status")).in(
+                            OrderStatusTransitions.UNSETTLED.stream().map(Enum::name).toList()))));
+            if (hasOpen) {
+                log.warn("Order partition {} expired but still has open orders, detach deferred", name);
+                return false;
+            }
+
+            Set<LocalDate> remaining = new TreeSet<>(partitions.knownDays());
+            remaining.remove(day);
+            partitions.refresh(remaining);
+
+            dsl.transaction(cfg -> {
+                DSLContext tx = DSL.using(cfg);
+                tx.execute("ALTER TABLE " + OrderPartitions.PARENT_TABLE + " DETACH PARTITION " + name);
+                if (config.isDropDetached()) {
+                    tx.execute("DROP TABLE " + name);
+                }
+            });
+            log.info("Order partition {}: {}", config.isDropDetached() ? "dropped" : "detached", name);
+            return true;
+        } catch (Exception e) {
+            log.error("Order partition detach failed: {}", name, e);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Shutting down OrderPartitionMaintainer");
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
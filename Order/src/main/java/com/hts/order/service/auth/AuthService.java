@@ -0,0 +1,128 @@
+package com.hts.order.service.auth;
+
+import com.hts.order.core.protocol.PacketHeader;
+import com.hts.order.global.AttributeKeys;
+import com.hts.order.global.ResponseUtil;
+import com.hts.order.proto.AuthProto;
+import com.hts.order.repository.SessionRepository;
+import io.netty.channel.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 연결 로그인 (SERVICE_AUTH)
+ *
+ * - Login(method 1): 세션 1회 검증 → 채널 속성(SESSION_ID / ACCOUNT_ID)에 바인딩
+ * - 바인딩된 채널의 주문: 같은 sessionId면 세션 조회 생략 (boundAccountId)
+ *   · 다른 sessionId를 실은 요청은 기존처럼 개별 검증
+ * - 채널 종료 시 바인딩 해제, 해당 세션을 바인딩한 마지막 채널이면 세션 폐기 (Redis 삭제)
+ */
+@Singleton
+public final class AuthService {
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
+    public static final short METHOD_LOGIN = 1;
+
+    private final SessionRepository sessionRepository;
+
+    // sessionId → 바인딩된 채널 수
+    private final Map<Long, Integer> boundChannels = new ConcurrentHashMap<>();
+
+    @Inject
+    public AuthService(SessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    /**
+     * 채널에 바인딩된 계좌 (sessionId가 바인딩 세션과 다르면 null → 개별 검증)
+     */
+    public static Long boundAccountId(Channel channel, long sessionId) {
+        Long boundSession = channel.attr(AttributeKeys.SESSION_ID).get();
+        if (boundSession == null || boundSession != sessionId) {
+            return null;
+        }
+        return channel.attr(AttributeKeys.ACCOUNT_ID).get();
+    }
+
+    /**
+     * Login 처리 (blockingPool에서 호출)
+     */
+    public void handle(Channel channel, PacketHeader header, AuthProto.LoginRequest request) {
+        if (header.getMethodId() != METHOD_LOGIN) {
+            ResponseUtil.sendError(channel, header, 400, "Unknown auth method");
+            return;
+        }
+
+        long sessionId = request.getSecure().getSessionId();
+        Long accountId = sessionRepository.getAccountId(sessionId);
+        if (accountId == null) {
+            log.warn("corrId={} Login failed: sessionId={}", header.getCorrelationId(), sessionId);
+            ResponseUtil.sendError(channel, header, 401, "Invalid session");
+            return;
+        }
+
+        synchronized (channel) {
+            if (!channel.isActive()) {
+                return;  // 검증 중 종료 → 바인딩하지 않음 (unbind와 경합 방지)
+            }
+            Long previous = channel.attr(AttributeKeys.SESSION_ID).get();
+            if (previous == null || previous != sessionId) {
+                if (previous != null) {
+                    release(previous);
+                }
+                boundChannels.merge(sessionId, 1, Integer::sum);
+            }
+            channel.attr(AttributeKeys.ACCOUNT_ID).set(accountId);
+            channel.attr(AttributeKeys.SESSION_ID).set(sessionId);
+        }
+
+        log.debug("Channel bound: remote={}, sessionId={}, accountId={}",
+                  channel.remoteAddress(), sessionId, accountId);
+        ResponseUtil.sendOk(channel, header, AuthProto.LoginResponse.newBuilder()
+                .setAccountId(accountId)
+                .setMessage("Logged in")
+                .build());
+    }
+
+    /**
+     * 채널 종료 시 바인딩 해제 (세션 폐기는 Redis 호출 → blockingPool에서)
+     *
+     * @return 폐기할 sessionId (마지막 바인딩 채널이 아니면 null)
+     */
+    public Long unbind(Channel channel) {
+        Long sessionId;
+        synchronized (channel) {
+            sessionId = channel.attr(AttributeKeys.SESSION_ID).getAndSet(null);
+            channel.attr(AttributeKeys.ACCOUNT_ID).set(null);
+        }
+        if (sessionId == null || !release(sessionId)) {
+            return null;
+        }
+        return sessionId;
+    }
+
+    public void revoke(long sessionId) {
+        sessionRepository.deleteSession(sessionId);
+        log.debug("Session revoked on channel close: sessionId={}", sessionId);
+    }
+
+    /**
+     * @return 마지막 바인딩이 해제되었으면 true
+     */
+    private boolean release(long sessionId) {
+        boolean[] last = new boolean[1];
+        boundChannels.computeIfPresent(sessionId, (k, count) -> {
+            if (count > 1) {
+                return count - 1;
+            }
+            last[0] = true;
+            return null;
+        });
+        return last[0];
+    }
+}
@@ -0,0 +1,69 @@
+package com.hts.order.service.order;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 계좌 전 종목 일괄 취소 집계 (샤드 레인마다 1개 작업)
+ *
+ * - 각 샤드 작업이 자기 샤드 메모리만 취소 판정 후 Tally 합산 (레인 하나가 전 샤드를 순회하지 않음)
+ * - 마지막으로 끝난 샤드 작업이 onComplete 실행: 저널 대기 → 합산 금액 1회 해제 → 응답
+ * - 큐 포화로 제출 못 한 샤드는 skip() → 부분 취소로 집계
+ */
+final class MassCancelFanOut {
+    private final AtomicInteger remaining;
+    private final Tally total = new Tally();
+    private final Consumer<Tally> onComplete;
+
+    MassCancelFanOut(int shards, Consumer<Tally> onComplete) {
+        this.remaining = new AtomicInteger(shards);
+        this.onComplete = onComplete;
+    }
+
+    /**
+     * 샤드 작업 결과 합산 (워커 스레드, 샤드당 1회)
+     */
+    void complete(Tally shard) {
+        synchronized (total) {
+            total.merge(shard);
+        }
+        if (remaining.decrementAndGet() == 0) {
+            onComplete.accept(total);
+        }
+    }
+
+    /**
+     * 제출 못 한 샤드 (취소 없이 부분 처리로 집계)
+     */
+    void skip() {
+        Tally skipped = new Tally();
+        skipped.truncated = true;
+        complete(skipped);
+    }
+
+    /**
+     * 취소 판정 합계 (샤드 작업 전용 → 완료 후 total에 합산)
+     */
+    static final class Tally {
+        int cancelled;
+        long releaseTotal;
+        boolean truncated;
+        CompletableFuture<Void> journaled;  // 마지막 취소 기록 fsync (없으면 null)
+
+        void add(long amount, CompletableFuture<Void> journaled) {
+            cancelled++;
+            releaseTotal += amount;
+            this.journaled = journaled;  // 같은 저널 내 기록은 seq 순서로 완료
+        }
+
+        private void merge(Tally other) {
+            cancelled += other.cancelled;
+            releaseTotal += other.releaseTotal;
+            truncated |= other.truncated;
+            if (other.journaled != null) {
+                journaled = journaled == null ? other.journaled : CompletableFuture.allOf(journaled, other.journaled);
+            }
+        }
+    }
+}
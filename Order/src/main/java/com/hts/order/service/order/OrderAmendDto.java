@@ -0,0 +1,20 @@
+package com.hts.order.service.order;
+
+import com.hts.order.proto.OrderProto;
+
+public record OrderAmendDto(
+        long sessionId,
+        long orderId,
+        long quantity,
+        long price
+) implements OrderDto {
+
+    public static OrderAmendDto fromProto(OrderProto.AmendOrderRequest req) {
+        return new OrderAmendDto(
+                req.getSecure().getSessionId(),
+                req.getOrderId(),
+                req.getQuantity(),
+                req.getPrice()
+        );
+    }
+}
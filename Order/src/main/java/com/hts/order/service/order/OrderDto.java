@@ -6,7 +6,8 @@ package com.hts.order.service.order;
  * - OrderShardExecutor에서 타입 안정성 보장
  * - 컴파일 타임에 허용된 타입만 사용 가능
  */
-public sealed interface OrderDto permits OrderPlaceDto, OrderCancelDto {
+public sealed interface OrderDto permits OrderPlaceDto, OrderCancelDto, OrderAmendDto, OrderMassCancelDto,
+        OrderMassCancelShardDto, OrderGetDto, OrderListOpenDto {
     /**
      * 모든 Order 요청은 sessionId를 포함
      */
@@ -5,7 +5,7 @@ import com.hts.order.proto.OrderProto;
 public record OrderEntity(
         long orderId,
         long accountId,
-        String symbol,
+        int symbolId,
         OrderProto.Side side,
         OrderProto.OrderType orderType,
         long quantity,
@@ -13,11 +13,11 @@ public record OrderEntity(
         OrderProto.TimeInForce timeInForce,
         OrderProto.OrderStatus status
 ) {
-    public static OrderEntity from(OrderPlaceDto dto, long orderId, long accountId) {
+    public static OrderEntity from(OrderPlaceDto dto, int symbolId, long orderId, long accountId) {
         return new OrderEntity(
                 orderId,
                 accountId,
-                dto.symbol(),
+                symbolId,
                 dto.side(),
                 dto.orderType(),
                 dto.quantity(),
@@ -26,11 +26,4 @@ public record OrderEntity(
                 OrderProto.OrderStatus.RECEIVED
         );
     }
-
-    public byte[] serializeForOutbox() {
-        return String.format(
-                "{\"orderId\":%d,\"accountId\":%d,\"symbol\":\"%s\",\"side\":\"%s\",\"quantity\":%d,\"price\":%d}",
-                orderId, accountId, symbol, side, quantity, price
-        ).getBytes();
-    }
 }
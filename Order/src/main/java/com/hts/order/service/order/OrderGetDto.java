@@ -0,0 +1,16 @@
+package com.hts.order.service.order;
+
+import com.hts.order.proto.OrderProto;
+
+public record OrderGetDto(
+        long sessionId,
+        long orderId
+) implements OrderDto {
+
+    public static OrderGetDto fromProto(OrderProto.GetOrderRequest req) {
+        return new OrderGetDto(
+                req.getSecure().getSessionId(),
+                req.getOrderId()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.hts.order.service.order;
+
+import com.hts.order.proto.OrderProto;
+
+/**
+ * 미체결 주문 목록 조회
+ *
+ * @param symbol 종목 필터 (null이면 전 종목)
+ * @param afterOrderId keyset 커서 (이 ID 초과만 반환)
+ * @param limit 페이지 크기 (0이면 서버 기본값)
+ */
+public record OrderListOpenDto(
+        long sessionId,
+        String symbol,
+        long afterOrderId,
+        int limit
+) implements OrderDto {
+
+    public static OrderListOpenDto fromProto(OrderProto.ListOpenOrdersRequest req) {
+        return new OrderListOpenDto(
+                req.getSecure().getSessionId(),
+                req.getSymbol().isEmpty() ? null : req.getSymbol(),
+                req.getAfterOrderId(),
+                req.getLimit()
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.hts.order.service.order;
+
+import com.hts.order.proto.OrderProto;
+
+/**
+ * 일괄 취소 요청
+ *
+ * @param symbol 종목 필터 (null이면 세션 계좌의 전 종목)
+ */
+public record OrderMassCancelDto(
+        long sessionId,
+        String symbol
+) implements OrderDto {
+
+    public static OrderMassCancelDto fromProto(OrderProto.MassCancelRequest req) {
+        return new OrderMassCancelDto(
+                req.getSecure().getSessionId(),
+                req.getSymbol().isEmpty() ? null : req.getSymbol()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.hts.order.service.order;
+
+/**
+ * 계좌 전 종목 일괄 취소의 샤드별 작업 (OrderService가 샤드 레인마다 분배, 외부 요청 아님)
+ *
+ * @param accountId 원 요청에서 확인된 계좌 (세션 재조회 X)
+ * @param fanOut 샤드별 결과 집계 → 마지막 샤드가 합산 해제 + 응답
+ */
+public record OrderMassCancelShardDto(
+        long sessionId,
+        long accountId,
+        MassCancelFanOut fanOut
+) implements OrderDto {
+}
@@ -1,26 +1,37 @@
 package com.hts.order.service.order;
 
+import com.hts.order.global.SymbolRegistry;
 import com.hts.order.proto.OrderProto;
 
+/**
+ * @param symbolId 디코드 시 발급된 종목 ID (SymbolRegistry.UNKNOWN이면 미등록 종목)
+ * @param symbol 종목 코드 (등록 종목은 레지스트리 정규 인스턴스 공유)
+ * @param clientOrderId 클라이언트 주문 ID (null이면 중복 제거 안 함)
+ */
 public record OrderPlaceDto(
         long sessionId,
+        int symbolId,
         String symbol,
         OrderProto.Side side,
         OrderProto.OrderType orderType,
         long quantity,
         long price,
-        OrderProto.TimeInForce timeInForce
+        OrderProto.TimeInForce timeInForce,
+        String clientOrderId
 ) implements OrderDto {
 
-    public static OrderPlaceDto fromProto(OrderProto.NewOrderRequest req) {
+    public static OrderPlaceDto fromProto(OrderProto.NewOrderRequest req, SymbolRegistry symbols) {
+        int symbolId = symbols.idOf(req.getSymbol());
         return new OrderPlaceDto(
                 req.getSecure().getSessionId(),
-                req.getSymbol(),
+                symbolId,
+                symbolId != SymbolRegistry.UNKNOWN ? symbols.symbol(symbolId) : req.getSymbol(),
                 req.getSide(),
                 req.getOrderType(),
                 req.getQuantity(),
                 req.getPrice(),
-                req.getTimeInForce()
+                req.getTimeInForce(),
+                req.getClientOrderId().isEmpty() ? null : req.getClientOrderId()
         );
     }
 }
@@ -0,0 +1,193 @@
+package com.hts.order.service.order;
+
+import com.hts.order.core.protocol.PacketHeader;
+import com.hts.order.global.OrderIdGenerator;
+import com.hts.order.global.ResponseUtil;
+import com.hts.order.global.SymbolRegistry;
+import com.hts.order.metrics.MetricsCollector;
+import com.hts.order.proto.OrderProto;
+import com.hts.order.repository.OrderRepository;
+import com.hts.order.repository.SessionRepository;
+import com.hts.order.service.Handler;
+import com.hts.order.service.auth.AuthService;
+import com.hts.order.service.exception.ServiceException;
+import com.hts.order.state.LiveOrder;
+import com.hts.order.state.LiveOrderRegistry;
+import com.hts.order.state.LiveOrderTable;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * 주문 조회 처리 (GetOrder / ListOpenOrders)
+ *
+ * - 조회 전용 풀(queryPool)에서 실행 → 주문 샤드 레인 지연 없음
+ * - 미체결 주문: 샤드 메모리(LiveOrderTable) 스냅샷으로 응답
+ * - 메모리에 없는 주문 (종결 후 evict): DB PK 포인트 조회
+ * - 목록은 order_id 오름차순 keyset 페이지 (offset 없음)
+ */
+public class OrderQueryService implements Handler {
+    private static final Logger log = LoggerFactory.getLogger(OrderQueryService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final SessionRepository sessionRepository;
+    private final OrderRepository orderRepository;
+    private final LiveOrderRegistry liveOrders;
+    private final SymbolRegistry symbolRegistry;
+    private final MetricsCollector metrics;
+
+    public OrderQueryService(
+            SessionRepository sessionRepository,
+            OrderRepository orderRepository,
+            LiveOrderRegistry liveOrders,
+            SymbolRegistry symbolRegistry,
+            MetricsCollector metrics) {
+        this.sessionRepository = sessionRepository;
+        this.orderRepository = orderRepository;
+        this.liveOrders = liveOrders;
+        this.symbolRegistry = symbolRegistry;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 조회 메서드 여부 (5: GetOrder, 6: ListOpenOrders) - DispatchHandler 라우팅용
+     */
+    public static boolean isQueryMethod(short methodId) {
+        return methodId == 5 || methodId == 6;
+    }
+
+    @Override
+    public void handle(Channel channel, PacketHeader header, OrderDto dto) {
+        Timer.Sample sample = metrics.startTimer();
+        try {
+            Long accountId = AuthService.boundAccountId(channel, dto.sessionId());
+            if (accountId == null) {
+                accountId = sessionRepository.getAccountId(dto.sessionId());
+            }
+            if (accountId == null) {
+                metrics.recordOrderRequest(header.getMethodId(), "INVALID_SESSION");
+                ResponseUtil.sendError(channel, header, 401, "Invalid session");
+                return;
+            }
+
+            if (dto instanceof OrderGetDto get) {
+                handleGet(channel, header, get, accountId);
+            } else if (dto instanceof OrderListOpenDto list) {
+                handleListOpen(channel, header, list, accountId);
+            } else {
+                throw new ServiceException("Unknown method", header, 400);
+            }
+        } catch (ServiceException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("corrId={} Order query failed", header.getCorrelationId(), e);
+            metrics.recordError(e.getClass().getSimpleName());
+            metrics.recordOrderRequest(header.getMethodId(), "ERROR");
+            ResponseUtil.sendError(channel, header, 500, "Internal order error");
+        } finally {
+            metrics.recordOrderLatency(sample, header.getMethodId());
+        }
+    }
+
+    /**
+     * 단건 조회: 소유 샤드 메모리 → miss 시 DB 포인트 조회
+     */
+    private void handleGet(Channel channel, PacketHeader header, OrderGetDto dto, long accountId) {
+        int shardId = OrderIdGenerator.extractShard(dto.orderId());
+        LiveOrder live = shardId >= 0 ? liveOrders.shard(shardId).get(dto.orderId()) : null;
+
+        OrderProto.OrderDetail detail;
+        if (live != null) {
+            detail = live.accountId() == accountId ? toDetail(live) : null;
+        } else {
+            OrderRepository.OrderRow row = orderRepository.findOrder(dto.orderId(), accountId);
+            detail = row != null ? toDetail(row) : null;
+        }
+
+        if (detail == null) {
+            ResponseUtil.sendError(channel, header, 404, "Order not found");
+            metrics.recordOrderRequest(header.getMethodId(), "NOT_FOUND");
+            return;
+        }
+        ResponseUtil.sendOk(channel, header, detail);
+        metrics.recordOrderRequest(header.getMethodId(), live != null ? "OK_MEMORY" : "OK_DB");
+    }
+
+    /**
+     * 미체결 목록: 전 샤드 account 인덱스 → afterOrderId 초과 후보 정렬 → limit개 스냅샷
+     */
+    private void handleListOpen(Channel channel, PacketHeader header, OrderListOpenDto dto, long accountId) {
+        int limit = dto.limit() <= 0 ? DEFAULT_PAGE_SIZE : Math.min(dto.limit(), MAX_PAGE_SIZE);
+
+        // 1. 후보 수집 (커서 이후만)
+        long[] candidates = new long[0];
+        int count = 0;
+        for (int shardId = 0; shardId < liveOrders.shardCount(); shardId++) {
+            long[] ids = liveOrders.shard(shardId).orderIdsOfAccount(accountId);
+            if (candidates.length < count + ids.length) {
+                candidates = Arrays.copyOf(candidates, count + ids.length);
+            }
+            for (long id : ids) {
+                if (id > dto.afterOrderId()) {
+                    candidates[count++] = id;
+                }
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+
+        // 2. keyset 페이지 구성 (미체결 + 종목 필터, 미등록 종목 필터면 UNKNOWN → 일치 없음)
+        int symbolId = dto.symbol() != null ? symbolRegistry.idOf(dto.symbol()) : SymbolRegistry.UNKNOWN;
+        OrderProto.ListOpenOrdersResponse.Builder response = OrderProto.ListOpenOrdersResponse.newBuilder();
+        long lastId = 0;
+        int i = 0;
+        for (; i < count && response.getOrdersCount() < limit; i++) {
+            long orderId = candidates[i];
+            LiveOrderTable table = liveOrders.shard(OrderIdGenerator.extractShard(orderId));
+            LiveOrder live = table.get(orderId);
+            lastId = orderId;
+            if (live == null || !live.isCancellable()
+                    || (dto.symbol() != null && symbolId != live.symbolId())) {
+                continue;
+            }
+            response.addOrders(toDetail(live));
+        }
+
+        // 남은 후보가 있으면 다음 커서 제공
+        response.setNextAfterOrderId(i < count ? lastId : 0);
+        ResponseUtil.sendOk(channel, header, response.build());
+        metrics.recordOrderRequest(header.getMethodId(), "OK");
+    }
+
+    private OrderProto.OrderDetail toDetail(LiveOrder live) {
+        return OrderProto.OrderDetail.newBuilder()
+                .setOrderId(live.orderId())
+                .setSymbol(symbolName(live.symbolId()))
+                .setQuantity(live.quantity())
+                .setPrice(live.price())
+                .setStatus(live.status())
+                .build();
+    }
+
+    private OrderProto.OrderDetail toDetail(OrderRepository.OrderRow row) {
+        return OrderProto.OrderDetail.newBuilder()
+                .setOrderId(row.orderId())
+                .setSymbol(symbolName(row.symbolId()))
+                .setQuantity(row.quantity())
+                .setPrice(row.price())
+                .setStatus(OrderProto.OrderStatus.valueOf(row.status()))
+                .build();
+    }
+
+    /**
+     * 다른 인스턴스가 발급한 ID 등 로컬 스냅샷에 없으면 빈 문자열
+     */
+    private String symbolName(int symbolId) {
+        String symbol = symbolRegistry.symbol(symbolId);
+        return symbol != null ? symbol : "";
+    }
+}
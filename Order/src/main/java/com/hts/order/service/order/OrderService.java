@@ -2,24 +2,38 @@ package com.hts.order.service.order;
 
 import com.hts.order.cache.OrderIndexCache;
 import com.hts.order.client.AccountGrpcClient;
+import com.hts.order.client.AccountRequestIds;
 import com.hts.order.core.protocol.PacketHeader;
 import com.hts.order.core.TransactionExecutor;
 import com.hts.order.global.ResponseUtil;
+import com.hts.order.global.SymbolRegistry;
 import com.hts.order.metrics.BufferedLogger;
 import com.hts.order.metrics.MetricsCollector;
 import com.hts.order.metrics.SamplingLogger;
+import com.hts.order.outbox.OrderAmendUpdate;
 import com.hts.order.outbox.OrderOutboxQueue;
+import com.hts.order.outbox.OrderStatusUpdate;
 import com.hts.order.proto.OrderProto;
 import com.hts.order.repository.OrderRepository;
 import com.hts.order.repository.SessionRepository;
+import com.hts.order.service.auth.AuthService;
 import com.hts.order.service.exception.ServiceException;
 import com.hts.order.shard.OrderShardExecutor;
+import com.hts.order.state.ClientOrderDeduplicator;
+import com.hts.order.state.LiveOrder;
+import com.hts.order.state.LiveOrderRegistry;
+import com.hts.order.state.LiveOrderTable;
+import com.hts.order.state.OrderStatusTransitions;
 import io.micrometer.core.instrument.Timer;
 import io.netty.channel.Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * ⚠️ 중요 제약사항:
@@ -38,6 +52,7 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
 
     // 🌟 트레이스 샘플링 비율 (1/N) - 500개 요청마다 1개 트레이싱
     private static final int TRACE_SAMPLE_RATE = 500;
+    private static final long JOURNAL_WAIT_MILLIS = 5_000;  // 취소 / 정정 기록 fsync 대기 상한
 
     // 🌟 ThreadLocal을 사용하여 워커 스레드별 요청 카운트 기록
     private final ThreadLocal<int[]> requestCounter = ThreadLocal.withInitial(() -> new int[1]);
@@ -48,7 +63,11 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
     private final SessionRepository sessionRepository;
     private final OrderIndexCache orderIndexCache;
     private final OrderOutboxQueue outboxQueue;
+    private final LiveOrderRegistry liveOrders;
+    private final ClientOrderDeduplicator deduplicator;
+    private final SymbolRegistry symbolRegistry;
     private final MetricsCollector metrics;
+    private volatile OrderShardExecutor shardExecutor;  // 일괄 취소 샤드 분배용 (executor가 이 서비스를 handler로 생성 → 생성 후 주입)
 
     public OrderService(
             TransactionExecutor transactionExecutor,
@@ -57,6 +76,9 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
             SessionRepository sessionRepository,
             OrderIndexCache orderIndexCache,
             OrderOutboxQueue outboxQueue,
+            LiveOrderRegistry liveOrders,
+            ClientOrderDeduplicator deduplicator,
+            SymbolRegistry symbolRegistry,
             MetricsCollector metrics) {
         this.transactionExecutor = transactionExecutor;
         this.accountClient = accountClient;
@@ -64,9 +86,19 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
         this.sessionRepository = sessionRepository;
         this.orderIndexCache = orderIndexCache;
         this.outboxQueue = outboxQueue;
+        this.liveOrders = liveOrders;
+        this.deduplicator = deduplicator;
+        this.symbolRegistry = symbolRegistry;
         this.metrics = metrics;
     }
 
+    /**
+     * 샤드 executor 연결 (ServiceModule, executor 생성 직후 1회)
+     */
+    public void setShardExecutor(OrderShardExecutor shardExecutor) {
+        this.shardExecutor = shardExecutor;
+    }
+
     @Override
     public void handle(OrderShardExecutor.OrderTask task, long orderId) {
         int method = task.header().getMethodId();
@@ -74,11 +106,22 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
             handlePlace(task, orderId);
         } else if (method == 2) {
             handleCancel(task);
+        } else if (method == 3) {
+            handleAmend(task, orderId);
+        } else if (method == 4) {
+            handleMassCancel(task, orderId);
         } else {
             throw new ServiceException("Unknown method", task.header(), 400);
         }
     }
 
+    /**
+     * 세션 → 계좌 (로그인 바인딩된 연결이면 세션 조회 생략, 아니면 샤드 연결로 조회)
+     */
+    private Long resolveAccountId(OrderShardExecutor.OrderTask task, long sessionId) {
+        Long bound = AuthService.boundAccountId(task.channel(), sessionId);
+        return bound != null ? bound : sessionRepository.getAccountId(task.shardId(), sessionId);
+    }
 
     /**
      * 주문 접수 처리
@@ -112,10 +155,15 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
         }
 
         slowLog.info("corrId={} [START] PlaceOrder sessionId={}", correlationId, dto.sessionId());
+        boolean dedupPending = false;  // clientOrderId PENDING 등록 후 응답 확정 전
+        boolean creditHeld = false;    // outbox 슬롯 선점 후 offer 전
+        BigDecimal reservedAmount = null;  // 예수금 예약 반영 후 offer 완료 전 (예외 시 해제 대상)
+        long reservedAccountId = 0L;
+        boolean liveRegistered = false;    // 샤드 메모리 등록 후 offer 완료 전 (실패 시 제거)
         try {
             // 1. Session validation & get accountId
             long t1 = System.nanoTime();
-            Long accountId = sessionRepository.getAccountId(dto.sessionId());
+            Long accountId = resolveAccountId(task, dto.sessionId());
             long sessionLookupMs = (System.nanoTime() - t1) / 1_000_000;
 
             if (accountId == null) {
@@ -128,41 +176,124 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
             traceLog.add("corrId=" + correlationId + " [1.SESSION] accountId=" + accountId +
                     ", lookup=" + sessionLookupMs + "ms");
 
+            // 1-1. clientOrderId 중복 확인 (샤드 메모리만 사용, 재전송 시 원 응답 반환)
+            if (dto.clientOrderId() != null) {
+                ClientOrderDeduplicator.Result dup =
+                        deduplicator.begin(task.shardId(), dto.sessionId(), dto.clientOrderId());
+                if (dup.outcome() == ClientOrderDeduplicator.Result.Outcome.IN_FLIGHT) {
+                    ResponseUtil.sendError(channel, header, 409, "Duplicate order in flight");
+                    metrics.recordOrderRequest(header.getMethodId(), "DUPLICATE_IN_FLIGHT");
+                    return;
+                }
+                if (dup.outcome() == ClientOrderDeduplicator.Result.Outcome.DUPLICATE) {
+                    log.info("corrId={} Duplicate clientOrderId={}, returning orderId={}",
+                            correlationId, dto.clientOrderId(), dup.response().getOrderId());
+                    ResponseUtil.sendOk(channel, header, dup.response());
+                    metrics.recordOrderRequest(header.getMethodId(), "DUPLICATE");
+                    return;
+                }
+                dedupPending = true;
+            }
+
+            // 1-2. 레지스트리에 없는 종목은 거절 (검증 비활성 시에만 도달, 클라이언트 입력으로 종목 발급 X)
+            int symbolId = dto.symbolId();
+            if (symbolId == SymbolRegistry.UNKNOWN) {
+                ResponseUtil.sendError(channel, header, 400, "Unknown symbol");
+                metrics.recordOrderRequest(header.getMethodId(), "UNKNOWN_SYMBOL");
+                return;
+            }
+
             // 2. OrderId는 이미 워커에서 생성됨 (lock-free)
             int shardId = task.shardId();
             traceLog.add("corrId=" + correlationId + " [2.ID_GEN] orderId=" + orderId +
                     ", shardId=" + shardId + ", gen=0ms (pre-generated)");
 
-            // 3. Calculate total cost (price * quantity)
-            long totalCost = dto.price() * dto.quantity();
+            // 3. Calculate total cost (price * quantity) — 검증 비활성 시 오버플로 예약 방지
+            long totalCost;
+            try {
+                totalCost = Math.multiplyExact(dto.price(), dto.quantity());
+            } catch (ArithmeticException e) {
+                ResponseUtil.sendError(channel, header, 400, "Order notional exceeds limit");
+                metrics.recordOrderRequest(header.getMethodId(), "INVALID_REQUEST");
+                return;
+            }
             BigDecimal reserveAmount = BigDecimal.valueOf(totalCost);
 
+            // 3-1. Outbox 슬롯 선점 (계좌 예약 전) → 포화 시 gRPC 왕복 / 예약 없이 거절
+            if (!outboxQueue.acquireCredit(orderId)) {
+                ResponseUtil.sendError(channel, header, 503, "Server overloaded");
+                metrics.recordOrderRequest(header.getMethodId(), "QUEUE_FULL");
+                return;
+            }
+            creditHeld = true;
+
             // 4. Reserve funds via gRPC call to Account service
             long t3 = System.nanoTime();
 
-            boolean reserved = accountClient.reserve(accountId, reserveAmount);
-            // boolean reserved = true;
+            AccountGrpcClient.Outcome reserved = accountClient.reserve(
+                    task.shardId(), AccountRequestIds.reserve(orderId), accountId, reserveAmount);
             long grpcMs = (System.nanoTime() - t3) / 1_000_000;
 
-            if (!reserved) {
+            if (reserved == AccountGrpcClient.Outcome.UNKNOWN) {
+                // 반영 여부 불명 → 주문 거절, 같은 ID로 결과 확정 후 반영됐으면 해제
+                log.warn("corrId={} [FAIL] Reserve outcome unknown: accountId={}, orderId={}, grpc={}ms",
+                        correlationId, accountId, orderId, grpcMs);
+                accountClient.abandonReserve(AccountRequestIds.reserve(orderId), AccountRequestIds.release(orderId),
+                        accountId, reserveAmount);
+            }
+            if (reserved != AccountGrpcClient.Outcome.APPLIED && reserved != AccountGrpcClient.Outcome.REJECTED) {
+                // 미전송(CIRCUIT_OPEN / BULKHEAD_FULL)은 반영 없음 확정 → 정리 불필요
+                sendAccountUnavailable(channel, header, reserved);
+                return;
+            }
+            if (reserved != AccountGrpcClient.Outcome.APPLIED) {
                 log.warn("corrId={} [FAIL] Reserve failed: accountId={}, orderId={}, cost={}, grpc={}ms",
                         correlationId, accountId, orderId, totalCost, grpcMs);
                 ResponseUtil.sendError(channel, header, 400, "Insufficient balance");
                 metrics.recordOrderRequest(header.getMethodId(), "INSUFFICIENT_BALANCE");
                 return;
             }
+            reservedAccountId = accountId;
+            reservedAmount = reserveAmount;
             traceLog.add("corrId=" + correlationId + " [3.GRPC] ok accountId=" + accountId +
                     ", amount=" + reserveAmount + ", grpc=" + grpcMs + "ms");
 
-            // 5. 비동기 DB 저장 (Outbox Queue)
-            OrderEntity order = OrderEntity.from(dto, orderId, accountId);
-            boolean queued = outboxQueue.offer(order);
+            // 5. 저널 기록 + 비동기 DB 저장 (Outbox Queue, 3-1에서 선점한 슬롯)
+            //    응답은 저널 group commit(fsync) 이후 flusher 스레드에서 전송 (DB 커밋 대기 X)
+            OrderEntity order = OrderEntity.from(dto, symbolId, orderId, accountId);
+            OrderResponseDto response = new OrderResponseDto(
+                    orderId,
+                    OrderProto.OrderStatus.RECEIVED,
+                    "Order received"
+            );
+            OrderProto.OrderResponse responseProto = response.toProto();
+
+            // ✅ 샤드 메모리 등록 (취소 시 DB 트랜잭션 없이 판정)
+            //    offer 전에 등록: OK 응답은 flusher 스레드가 fsync 직후 전송 → 응답을 받은 클라이언트의
+            //    취소(orderId 기준 다른 레인)가 메모리 miss + DB 미적재로 404 나지 않도록
+            liveOrders.shard(shardId).put(orderId, accountId, symbolId, dto.orderType(), dto.quantity(),
+                    dto.price(), OrderProto.OrderStatus.RECEIVED);
+            liveRegistered = true;
+
+            boolean queued = outboxQueue.offer(order, () -> {
+                ResponseUtil.sendOk(channel, header, responseProto);
+                metrics.recordOrderRequest(header.getMethodId(), "OK");
+            });
+            creditHeld = false;  // 성공 시 슬롯 사용, 실패(shutdown) 시 offer가 반환
+            reservedAmount = null;  // 성공 시 주문이 예약 소유, 실패 시 아래에서 해제
+            liveRegistered = false;
 
             if (!queued) {
-                // 큐 풀 - 예약 해제 후 에러 응답
-                log.error("corrId={} Outbox queue full, releasing reserve: accountId={}, orderId={}",
+                // shutdown 중 - 예약 해제 후 에러 응답
+                log.error("corrId={} Outbox rejected during shutdown, releasing reserve: accountId={}, orderId={}",
                          correlationId, accountId, orderId);
-                //accountClient.unreserve(accountId, reserveAmount);
+                // 그 사이 취소가 먼저 반영됐으면 취소 경로가 이미 해제함 → 이중 해제 방지
+                if (liveOrders.shard(shardId).removeIfStatus(orderId, OrderProto.OrderStatus.RECEIVED)
+                        && accountClient.unreserve(task.shardId(), AccountRequestIds.release(orderId), accountId,
+                        reserveAmount) != AccountGrpcClient.Outcome.APPLIED) {
+                    log.error("corrId={} Unreserve failed: accountId={}, orderId={}, amount={}",
+                            correlationId, accountId, orderId, reserveAmount);
+                }
                 ResponseUtil.sendError(channel, header, 503, "Server overloaded");
                 metrics.recordOrderRequest(header.getMethodId(), "QUEUE_FULL");
                 return;
@@ -171,21 +302,43 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
             // ✅ Redis 인덱싱 (즉시, fallback용)
             orderIndexCache.index(orderId, dto.symbol());
 
-            // 6. 즉시 응답 반환 (DB 커밋 대기 X)
-            OrderResponseDto response = new OrderResponseDto(
-                    orderId,
-                    OrderProto.OrderStatus.RECEIVED,
-                    "Order received"
-            );
-            ResponseUtil.sendOk(channel, header, response.toProto());
-            metrics.recordOrderRequest(header.getMethodId(), "OK");
+            // 6. 재전송 대비 응답 보관 (응답 자체는 5.의 저널 콜백이 전송)
+            if (dedupPending) {
+                deduplicator.complete(task.shardId(), dto.sessionId(), dto.clientOrderId(), responseProto);
+                dedupPending = false;
+            }
 
         } catch (Exception e) {
             log.error("corrId={} Order placement failed", correlationId, e);
+            // offer 예외 → 메모리 엔트리 제거, 그 사이 취소가 반영됐으면 취소 경로가 이미 해제함
+            if (liveRegistered
+                    && !liveOrders.shard(task.shardId()).removeIfStatus(orderId, OrderProto.OrderStatus.RECEIVED)) {
+                reservedAmount = null;
+            }
+            // 예약 반영 후 offer 예외 (저널 roll / mmap 기록 실패 등) → 주문 없이 잠긴 예수금 해제
+            if (reservedAmount != null) {
+                log.error("corrId={} Releasing reserve after placement failure: accountId={}, orderId={}, amount={}",
+                          correlationId, reservedAccountId, orderId, reservedAmount);
+                try {
+                    accountClient.unreserve(task.shardId(), AccountRequestIds.release(orderId),
+                            reservedAccountId, reservedAmount);
+                } catch (RuntimeException unreserveError) {
+                    log.error("corrId={} Unreserve failed: accountId={}, orderId={}, amount={}",
+                              correlationId, reservedAccountId, orderId, reservedAmount, unreserveError);
+                }
+            }
             metrics.recordError(e.getClass().getSimpleName());
             metrics.recordOrderRequest(header.getMethodId(), "ERROR");
             ResponseUtil.sendError(channel, header, 500, "Internal order error");
         } finally {
+            // 예약 실패 / 예외로 offer까지 못 간 선점 슬롯 반환
+            if (creditHeld) {
+                outboxQueue.releaseCredit(orderId);
+            }
+            // 접수 실패 (잔고 부족, 큐 포화, 예외) → 같은 clientOrderId 재시도 허용
+            if (dedupPending) {
+                deduplicator.release(task.shardId(), dto.sessionId(), dto.clientOrderId());
+            }
             if (traceEnabled) {
                 traceLog.flushAndClear();
             }
@@ -197,6 +350,10 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
     }
     /**
      * 주문 취소 처리
+     *
+     * - 1차: 샤드 메모리(LiveOrderTable)에서 판정 + 상태 변경 → DB 반영은 BatchWriter가 비동기로
+     *   · 상태 변경은 저널 fsync 이후 자금 해제 / 응답 (크래시 후 JournalReplayer가 재반영)
+     * - 2차: 메모리에 없는 주문 (재시작 이전 주문 등) → 기존 DB 트랜잭션 경로
      * @param task DispatchHandler에서 샤드 라우팅된 작업
      */
     private void handleCancel(OrderShardExecutor.OrderTask task) {
@@ -210,7 +367,7 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
         slowLog.info("corrId={} [START] CancelOrder sessionId={}", correlationId, dto.sessionId());
         try {
             // 1. Session validation & get accountId
-            Long accountId = sessionRepository.getAccountId(dto.sessionId());
+            Long accountId = resolveAccountId(task, dto.sessionId());
             if (accountId == null) {
                 log.warn("corrId={} Invalid session: sessionId={}", correlationId, dto.sessionId());
                 metrics.recordOrderRequest(header.getMethodId(), "INVALID_SESSION");
@@ -219,45 +376,26 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
             }
             traceLog.add("corrId=" + correlationId + " [1.SESSION] accountId=" + accountId);
 
-            // 2. DB Transaction: get order amount & mark cancel requested
-            Timer.Sample dbSample = metrics.startTimer();
-            Long orderAmount = transactionExecutor.execute(tx -> {
-                // Get order amount for unreserve
-                Long amount = orderRepository.getOrderAmount(tx, dto.orderId(), accountId);
-                if (amount == null) {
-                    log.warn("corrId={} Order not found: orderId={}, accountId={}",
-                            correlationId, dto.orderId(), accountId);
-                    return null;
-                }
-
-                // Mark cancel requested (atomic check + update)
-                boolean marked = orderRepository.markCancelRequested(tx, dto.orderId(), accountId);
-                if (!marked) {
-                    log.warn("corrId={} Cancel failed: orderId={}, accountId={} (already filled or cancelled)",
-                            correlationId, dto.orderId(), accountId);
-                    return null;
-                }
-
-                // TODO: Insert outbox for gateway cancel request
-                // orderRepository.insertCancelOutbox(tx, dto);
-
-                log.info("corrId={} Cancel requested: orderId={}, accountId={}, amount={}",
-                        correlationId, dto.orderId(), accountId, amount);
-                return amount;
-            });
-            metrics.recordDbTxDuration(dbSample, header.getServiceId());
+            // 2. 메모리 판정 (hit 시 DB 트랜잭션 생략, miss 시 DB 경로)
+            LiveOrderTable.CancelResult memory =
+                    cancelInMemory(task.shardId(), dto.orderId(), accountId, correlationId);
+            Long orderAmount = switch (memory.outcome()) {
+                case CANCEL_REQUESTED -> memory.order().amount();
+                case REJECTED -> null;
+                case MISS -> cancelInDb(dto, accountId, task.shardId(), header.getServiceId(), correlationId);
+            };
 
             // 3. Unreserve funds if cancel succeeded
             if (orderAmount != null) {
                 BigDecimal unreserveAmount = BigDecimal.valueOf(orderAmount);
-                boolean unreserved = accountClient.unreserve(accountId, unreserveAmount);
-                // boolean unreserved = true;
+                boolean unreserved = accountClient.unreserve(task.shardId(), AccountRequestIds.cancel(dto.orderId()),
+                        accountId, unreserveAmount) == AccountGrpcClient.Outcome.APPLIED;
 
                 traceLog.add("corrId=" + correlationId + " [2.UNRESERVE] ok=" + unreserved + " amount=" + unreserveAmount);
                 if (!unreserved) {
                     log.error("corrId={} Unreserve failed after cancel: orderId={}, accountId={}, amount={}",
                             correlationId, dto.orderId(), accountId, orderAmount);
-                    // TODO: 보상 트랜잭션 또는 재시도 로직 필요
+                    // 결과 불명 / 미전송이면 AccountGrpcClient가 같은 ID로 백그라운드 재전송
                 }
 
                 OrderResponseDto response = new OrderResponseDto(
@@ -283,8 +421,591 @@ public class OrderService implements OrderShardExecutor.OrderTaskHandler {
             metrics.recordOrderLatency(sample, header.getMethodId());
         }
     }
-    // 주문 정정 - 추후 구현
-    private void amend(Channel channel, OrderDto dto){}
+    /**
+     * 메모리 취소 판정
+     *
+     * - CANCEL_REQUESTED: 메모리 상태 변경 + 저널 기록 + DB 반영용 상태 변경 큐잉
+     *   · 저널 fsync 완료까지 대기 후 반환 → 자금 해제 / 응답은 영속화 이후 (크래시 시 재기동에서 재반영)
+     * - 상태 큐가 가득 차면 메모리 상태 원복 후 MISS (DB 경로로 처리)
+     */
+    private LiveOrderTable.CancelResult cancelInMemory(int shardId, long orderId, long accountId,
+                                                       long correlationId) {
+        LiveOrderTable table = liveOrders.shard(shardId);
+        LiveOrderTable.CancelResult result = table.requestCancel(orderId, accountId);
+
+        if (result.outcome() == LiveOrderTable.CancelResult.Outcome.REJECTED) {
+            log.warn("corrId={} Cancel rejected in memory: orderId={}, accountId={}, status={}",
+                    correlationId, orderId, accountId, result.order().status());
+        } else if (result.outcome() == LiveOrderTable.CancelResult.Outcome.CANCEL_REQUESTED) {
+            OrderStatusUpdate update = OrderStatusUpdate.of(orderId, accountId, shardId,
+                    OrderProto.OrderStatus.CANCEL_REQUESTED);
+            LiveOrder before = result.order();
+            CompletableFuture<Void> journaled;
+            try {
+                journaled = outboxQueue.offerJournaledStatusUpdate(update);
+            } catch (RuntimeException e) {
+                // 저널 기록 실패 → 기록 / 큐잉 없음, 메모리 원복
+                table.put(before.orderId(), before.accountId(), before.symbolId(), before.orderType(),
+                        before.quantity(), before.price(), before.status());
+                throw e;
+            }
+            if (journaled == null) {
+                table.put(before.orderId(), before.accountId(), before.symbolId(), before.orderType(),
+                        before.quantity(), before.price(), before.status());
+                return LiveOrderTable.CancelResult.MISS;
+            }
+            awaitJournaled(journaled, AccountRequestIds.cancel(orderId), accountId, before.amount());
+            log.info("corrId={} Cancel requested (memory): orderId={}, accountId={}, amount={}",
+                    correlationId, orderId, accountId, result.order().amount());
+        }
+        return result;
+    }
+
+    /**
+     * DB 취소 경로 (메모리에 없는 주문)
+     *
+     * - 조회 1회 후 메모리에 CANCEL_REQUESTED로 등록 + 상태 변경 저널 기록 / 큐잉 (UPDATE는 BatchWriter가 배치 반영)
+     *   · 저널 fsync 완료까지 대기 후 반환 (자금 해제 전 영속화)
+     * - 같은 주문의 재취소는 이후 메모리 경로에서 REJECTED
+     * - 상태 큐가 가득 차면 단건 트랜잭션으로 즉시 반영
+     *
+     * @return 해제할 주문 금액 or null (없거나 취소 불가)
+     */
+    private Long cancelInDb(OrderCancelDto dto, long accountId, int shardId, short serviceId, long correlationId) {
+        Timer.Sample dbSample = metrics.startTimer();
+        OrderRepository.OrderRow row = orderRepository.findOrder(dto.orderId(), accountId);
+        metrics.recordDbTxDuration(dbSample, serviceId);
+
+        if (row == null) {
+            log.warn("corrId={} Order not found: orderId={}, accountId={}",
+                    correlationId, dto.orderId(), accountId);
+            return null;
+        }
+        OrderProto.OrderStatus status = OrderProto.OrderStatus.valueOf(row.status());
+        if (!OrderStatusTransitions.isOpen(status)) {
+            log.warn("corrId={} Cancel failed: orderId={}, accountId={}, status={}",
+                    correlationId, dto.orderId(), accountId, status);
+            return null;
+        }
+
+        OrderStatusUpdate update = OrderStatusUpdate.of(dto.orderId(), accountId, shardId,
+                OrderProto.OrderStatus.CANCEL_REQUESTED);
+        CompletableFuture<Void> journaled = outboxQueue.offerJournaledStatusUpdate(update);
+        if (journaled != null) {
+            liveOrders.shard(shardId).put(row.orderId(), row.accountId(), row.symbolId(),
+                    OrderProto.OrderType.valueOf(row.orderType()), row.quantity(), row.price(),
+                    OrderProto.OrderStatus.CANCEL_REQUESTED);
+            awaitJournaled(journaled, AccountRequestIds.cancel(dto.orderId()), accountId,
+                    row.quantity() * row.price());
+            log.info("corrId={} Cancel requested (db lookup): orderId={}, accountId={}, amount={}",
+                    correlationId, dto.orderId(), accountId, row.quantity() * row.price());
+            return row.quantity() * row.price();
+        }
+        return cancelInDbTransaction(dto, accountId, serviceId, correlationId);
+    }
+
+    /**
+     * 단건 트랜잭션 취소 (상태 큐 포화 시)
+     *
+     * - 파이프라이닝 경로 활성 시 UPDATE ... RETURNING 1문장 (Hikari 연결 / 트랜잭션 없음)
+     */
+    private Long cancelInDbTransaction(OrderCancelDto dto, long accountId, short serviceId, long correlationId) {
+        Timer.Sample dbSample = metrics.startTimer();
+        if (orderRepository.isPipelined()) {
+            Long amount = orderRepository.requestCancelPipelined(dto.orderId(), accountId);
+            metrics.recordDbTxDuration(dbSample, serviceId);
+            if (amount == null) {
+                log.warn("corrId={} Cancel failed: orderId={}, accountId={} (not found or not cancellable)",
+                        correlationId, dto.orderId(), accountId);
+            } else {
+                log.info("corrId={} Cancel requested (pipelined): orderId={}, accountId={}, amount={}",
+                        correlationId, dto.orderId(), accountId, amount);
+            }
+            return amount;
+        }
+
+        Long orderAmount = transactionExecutor.execute(tx -> {
+            // Get order amount for unreserve
+            Long amount = orderRepository.getOrderAmount(tx, dto.orderId(), accountId);
+            if (amount == null) {
+                log.warn("corrId={} Order not found: orderId={}, accountId={}",
+                        correlationId, dto.orderId(), accountId);
+                return null;
+            }
+
+            // Mark cancel requested (atomic check + update)
+            boolean marked = orderRepository.markCancelRequested(tx, dto.orderId(), accountId);
+            if (!marked) {
+                log.warn("corrId={} Cancel failed: orderId={}, accountId={} (already filled or cancelled)",
+                        correlationId, dto.orderId(), accountId);
+                return null;
+            }
+
+            log.info("corrId={} Cancel requested: orderId={}, accountId={}, amount={}",
+                    correlationId, dto.orderId(), accountId, amount);
+            return amount;
+        });
+        metrics.recordDbTxDuration(dbSample, serviceId);
+        return orderAmount;
+    }
+
+    /**
+     * 주문 정정 처리 (cancel/replace를 샤드 내 단일 연산으로)
+     *
+     * - 취소 + 신규 주문 대비: 샤드 왕복 1회, Account 호출 1회, orderId 유지
+     * - 가격×수량 차액(delta)만 예약/해제 (금액 long 범위 초과는 400)
+     *   · delta > 0: 행 잠금 / 트랜잭션 밖에서 먼저 예약 → 정정 실패 시 같은 ID로 해제
+     *   · delta < 0: 정정 영속화(저널 fsync / 커밋) 후 차액 해제
+     * - 메모리 경로 (샤드 메모리에 있는 주문 - outbox / 저널에만 있고 DB 적재 전인 주문 포함)
+     *   · 조회 시점 수량/가격 기준 LiveOrderTable.amend() (그 사이 취소 / 다른 정정이면 거절)
+     *   · 정정 저널 기록 + 큐잉 (UPDATE는 BatchWriter가 배치 반영), fsync 완료 후 응답
+     * - DB 경로 (메모리에 없는 주문): 잠금 없이 조회 → 예약 → 트랜잭션에서 잠금 + 조회 값 재확인 후 갱신
+     * @param task DispatchHandler에서 샤드 라우팅된 작업 (원 주문의 샤드)
+     */
+    private void handleAmend(OrderShardExecutor.OrderTask task, long operationId) {
+        OrderAmendDto dto = (OrderAmendDto) task.dto();
+        PacketHeader header = task.header();
+        Channel channel = task.channel();
+
+        Timer.Sample sample = metrics.startTimer();
+        long correlationId = header.getCorrelationId();
+
+        slowLog.info("corrId={} [START] AmendOrder sessionId={}", correlationId, dto.sessionId());
+        long accountId = 0L;
+        long unclaimedReserve = 0L;  // 추가 예약 후 정정 확정 전 (실패 / 예외 시 해제 대상)
+        try {
+            if (dto.quantity() <= 0 || dto.price() <= 0) {
+                sendInvalidAmend(channel, header);
+                return;
+            }
+            long amount;
+            try {
+                amount = Math.multiplyExact(dto.price(), dto.quantity());
+            } catch (ArithmeticException e) {
+                sendInvalidAmend(channel, header);
+                return;
+            }
+
+            // 1. Session validation & get accountId
+            Long sessionAccountId = resolveAccountId(task, dto.sessionId());
+            if (sessionAccountId == null) {
+                log.warn("corrId={} Invalid session: sessionId={}", correlationId, dto.sessionId());
+                metrics.recordOrderRequest(header.getMethodId(), "INVALID_SESSION");
+                ResponseUtil.sendError(channel, header, 401, "Invalid session");
+                return;
+            }
+            accountId = sessionAccountId;
+
+            // 2. 현재 수량/가격 (메모리 우선, 없으면 DB 단건 조회 - 잠금 없음)
+            LiveOrderTable liveTable = liveOrders.shard(task.shardId());
+            LiveOrder live = liveTable.get(dto.orderId());
+            OrderRepository.OrderQuantityPrice current;
+            if (live != null) {
+                current = live.accountId() == accountId && live.isAmendable()
+                        ? new OrderRepository.OrderQuantityPrice(live.quantity(), live.price())
+                        : null;
+            } else {
+                Timer.Sample dbSample = metrics.startTimer();
+                OrderRepository.OrderRow row = orderRepository.findOrder(dto.orderId(), accountId);
+                metrics.recordDbTxDuration(dbSample, header.getServiceId());
+                current = row != null
+                        && OrderProto.OrderType.LIMIT.name().equals(row.orderType())
+                        && OrderStatusTransitions.isOpen(OrderProto.OrderStatus.valueOf(row.status()))
+                        ? new OrderRepository.OrderQuantityPrice(row.quantity(), row.price())
+                        : null;
+            }
+            if (current == null) {
+                sendAmendNotFound(channel, header, dto.orderId(), accountId, correlationId);
+                return;
+            }
+            long delta = Math.subtractExact(amount, current.amount());
+
+            // 3. Reserve positive delta (잠금 / 트랜잭션 밖 → Account 지연이 DB 잠금 시간이 되지 않음)
+            if (delta > 0) {
+                BigDecimal reserveAmount = BigDecimal.valueOf(delta);
+                AccountGrpcClient.Outcome reserved = accountClient.reserve(task.shardId(),
+                        AccountRequestIds.amendReserve(dto.orderId(), operationId), accountId, reserveAmount);
+                if (reserved == AccountGrpcClient.Outcome.UNKNOWN) {
+                    accountClient.abandonReserve(AccountRequestIds.amendReserve(dto.orderId(), operationId),
+                            AccountRequestIds.amendRelease(dto.orderId(), operationId), accountId, reserveAmount);
+                }
+                if (reserved != AccountGrpcClient.Outcome.APPLIED && reserved != AccountGrpcClient.Outcome.REJECTED) {
+                    log.warn("corrId={} Amend reserve not applied: orderId={}, accountId={}, outcome={}",
+                            correlationId, dto.orderId(), accountId, reserved);
+                    sendAccountUnavailable(channel, header, reserved);
+                    return;
+                }
+                if (reserved != AccountGrpcClient.Outcome.APPLIED) {
+                    log.warn("corrId={} Amend reserve failed: orderId={}, accountId={}",
+                            correlationId, dto.orderId(), accountId);
+                    ResponseUtil.sendError(channel, header, 400, "Insufficient balance");
+                    metrics.recordOrderRequest(header.getMethodId(), "INSUFFICIENT_BALANCE");
+                    return;
+                }
+                unclaimedReserve = delta;
+            }
+
+            // 4. 정정 반영 (조회 시점 수량/가격과 같을 때만)
+            if (live != null) {
+                int version = liveTable.amend(dto.orderId(), accountId, current.quantity(), current.price(),
+                        dto.quantity(), dto.price());
+                if (version == LiveOrderTable.NOT_AMENDED) {
+                    sendAmendNotFound(channel, header, dto.orderId(), accountId, correlationId);
+                    return;
+                }
+                OrderAmendUpdate update = OrderAmendUpdate.of(dto.orderId(), accountId, dto.quantity(),
+                        dto.price(), version);
+                CompletableFuture<Void> journaled = null;
+                RuntimeException journalError = null;
+                try {
+                    journaled = outboxQueue.offerJournaledAmendUpdate(update);
+                } catch (RuntimeException e) {
+                    journalError = e;  // 저널 기록 실패 → 기록 / 큐잉 없음
+                }
+                if (journaled == null && revertAmend(liveTable, update, current)) {
+                    if (journalError != null) {
+                        throw journalError;
+                    }
+                    ResponseUtil.sendError(channel, header, 503, "Server overloaded");
+                    metrics.recordOrderRequest(header.getMethodId(), "QUEUE_FULL");
+                    return;
+                }
+                if (journalError != null) {
+                    // 원복 불가 → 이후 정정이 이 값 위에서 확정 (그 기록이 최종 값) → 이 정정도 성공으로 처리
+                    log.warn("corrId={} Amend journal failed but superseded: orderId={}",
+                            correlationId, dto.orderId(), journalError);
+                }
+                // 정정 주문이 추가 예약 소유
+                unclaimedReserve = 0L;
+                if (journaled != null) {
+                    // 대기 실패 시 감액분은 fsync 완료 시점에 해제 (아래 5.와 같은 requestId)
+                    awaitJournaled(journaled, AccountRequestIds.amendRelease(dto.orderId(), operationId),
+                            accountId, Math.max(0L, -delta));
+                }
+            } else {
+                Timer.Sample dbSample = metrics.startTimer();
+                long amendAccountId = accountId;
+                boolean updated = transactionExecutor.execute(tx -> {
+                    OrderRepository.OrderQuantityPrice locked =
+                            orderRepository.lockAmendableOrder(tx, dto.orderId(), amendAccountId);
+                    return current.equals(locked)
+                            && orderRepository.updateQuantityAndPrice(tx, dto.orderId(), amendAccountId,
+                                    dto.quantity(), dto.price());
+                });
+                metrics.recordDbTxDuration(dbSample, header.getServiceId());
+                if (!updated) {
+                    sendAmendNotFound(channel, header, dto.orderId(), accountId, correlationId);
+                    return;
+                }
+                unclaimedReserve = 0L;
+            }
+
+            // 5. Unreserve negative delta after the amend is durable
+            if (delta < 0) {
+                releaseAmendDelta(task.shardId(), dto.orderId(), operationId, accountId, -delta, correlationId);
+            }
+            traceLog.add("corrId=" + correlationId + " [2.AMEND] orderId=" + dto.orderId() +
+                    ", delta=" + delta + ", path=" + (live != null ? "memory" : "db"));
+
+            OrderResponseDto response = new OrderResponseDto(
+                    dto.orderId(),
+                    OrderProto.OrderStatus.RECEIVED,
+                    "Order amended"
+            );
+            ResponseUtil.sendOk(channel, header, response.toProto());
+            metrics.recordOrderRequest(header.getMethodId(), "OK");
+
+        } catch (Exception e) {
+            log.error("corrId={} Order amend failed", correlationId, e);
+            metrics.recordError(e.getClass().getSimpleName());
+            metrics.recordOrderRequest(header.getMethodId(), "ERROR");
+            ResponseUtil.sendError(channel, header, 500, "Internal order error");
+        } finally {
+            // 추가 예약 후 정정 미확정 (거절 / 큐 포화 / 예외) → 같은 ID로 해제
+            if (unclaimedReserve > 0) {
+                releaseAmendDelta(task.shardId(), dto.orderId(), operationId, accountId, unclaimedReserve,
+                        correlationId);
+            }
+            slowLog.info("corrId={} [END] AmendOrder", correlationId);
+            metrics.recordOrderLatency(sample, header.getMethodId());
+        }
+    }
+
+    /**
+     * 정정 저널 기록 실패 시 메모리 원복
+     *
+     * @return 원복 여부 (false: 그 사이 다른 정정이 이 값 위에서 확정 → 이 정정도 유지)
+     */
+    private static boolean revertAmend(LiveOrderTable table, OrderAmendUpdate update,
+                                       OrderRepository.OrderQuantityPrice before) {
+        return table.amend(update.orderId(), update.accountId(), update.quantity(), update.price(),
+                before.quantity(), before.price()) != LiveOrderTable.NOT_AMENDED;
+    }
+
+    /**
+     * 정정 차액 해제 (미확정 추가 예약 / 감액 정정, 작업당 1회라 같은 request ID 사용)
+     */
+    private void releaseAmendDelta(int shardId, long orderId, long operationId, long accountId, long amount,
+                                   long correlationId) {
+        BigDecimal releaseAmount = BigDecimal.valueOf(amount);
+        try {
+            if (accountClient.unreserve(shardId, AccountRequestIds.amendRelease(orderId, operationId),
+                    accountId, releaseAmount) != AccountGrpcClient.Outcome.APPLIED) {
+                log.error("corrId={} Unreserve failed after amend: orderId={}, accountId={}, amount={}",
+                        correlationId, orderId, accountId, releaseAmount);
+            }
+        } catch (RuntimeException e) {
+            log.error("corrId={} Unreserve failed after amend: orderId={}, accountId={}, amount={}",
+                    correlationId, orderId, accountId, releaseAmount, e);
+        }
+    }
+
+    private void sendInvalidAmend(Channel channel, PacketHeader header) {
+        ResponseUtil.sendError(channel, header, 400, "Invalid quantity or price");
+        metrics.recordOrderRequest(header.getMethodId(), "INVALID_REQUEST");
+    }
+
+    private void sendAmendNotFound(Channel channel, PacketHeader header, long orderId, long accountId,
+                                   long correlationId) {
+        log.warn("corrId={} Amend rejected: orderId={}, accountId={} (not found or not amendable)",
+                correlationId, orderId, accountId);
+        ResponseUtil.sendError(channel, header, 404, "Order not found or cannot be amended");
+        metrics.recordOrderRequest(header.getMethodId(), "NOT_FOUND");
+    }
+
+    /**
+     * 일괄 취소 처리 (세션 계좌의 미체결 주문, symbol 지정 시 해당 종목만)
+     *
+     * - symbol 지정: 종목 샤드 1개의 symbol 인덱스만 조회 (현재 레인에서 바로 처리)
+     * - symbol 미지정: 샤드 레인마다 작업 1개로 분배 (MassCancelFanOut) → 각 샤드가 병렬로 account 인덱스 조회
+     *   · 마지막으로 끝난 샤드 작업이 합산 해제 + 응답 (레인 하나가 전 샤드 순회로 막히지 않음)
+     * - 주문별 판정은 단건 취소와 동일 (requestCancel + 상태 변경 저널 기록 / 큐잉), DB 반영은 BatchWriter가 일괄 처리
+     *   · fsync 대기는 샤드별 마지막 기록 1회 (group commit은 seq 순서 → 앞선 기록도 함께 완료)
+     * - 예약 해제는 합산 금액으로 Account 호출 1회 (저널 fsync 이후)
+     * @param task DispatchHandler에서 샤드 라우팅된 작업 (또는 분배된 샤드 작업)
+     */
+    private void handleMassCancel(OrderShardExecutor.OrderTask task, long operationId) {
+        if (task.dto() instanceof OrderMassCancelShardDto shardDto) {
+            handleMassCancelShard(task, shardDto);
+            return;
+        }
+        OrderMassCancelDto dto = (OrderMassCancelDto) task.dto();
+        PacketHeader header = task.header();
+        Channel channel = task.channel();
+
+        Timer.Sample sample = metrics.startTimer();
+        long correlationId = header.getCorrelationId();
+
+        slowLog.info("corrId={} [START] MassCancel sessionId={} symbol={}",
+                correlationId, dto.sessionId(), dto.symbol());
+        boolean fannedOut = false;  // 샤드 작업 분배 완료 → 응답 / 지연 기록은 마지막 샤드 작업이 담당
+        try {
+            // 1. Session validation & get accountId
+            Long accountId = resolveAccountId(task, dto.sessionId());
+            if (accountId == null) {
+                log.warn("corrId={} Invalid session: sessionId={}", correlationId, dto.sessionId());
+                metrics.recordOrderRequest(header.getMethodId(), "INVALID_SESSION");
+                ResponseUtil.sendError(channel, header, 401, "Invalid session");
+                return;
+            }
+
+            // 2-1. 종목 지정: 종목 샤드(현재 작업의 샤드)만 판정 후 바로 해제 + 응답
+            if (dto.symbol() != null) {
+                MassCancelFanOut.Tally tally = new MassCancelFanOut.Tally();
+                cancelShard(tally, task.shardId(), accountId, dto.symbol(), correlationId);
+                finishMassCancel(task, accountId, operationId, dto.symbol(), tally);
+                return;
+            }
+
+            // 2-2. 전 종목: 샤드 레인마다 작업 1개 (현재 작업과 같은 subKey → 샤드별 같은 레인)
+            int shardCount = liveOrders.shardCount();
+            MassCancelFanOut fanOut = new MassCancelFanOut(shardCount, total -> {
+                finishMassCancel(task, accountId, operationId, null, total);
+                metrics.recordOrderLatency(sample, header.getMethodId());
+            });
+            fannedOut = true;
+            for (int shardId = 0; shardId < shardCount; shardId++) {
+                OrderShardExecutor.OrderTask shardTask = new OrderShardExecutor.OrderTask(channel, header,
+                        new OrderMassCancelShardDto(dto.sessionId(), accountId, fanOut), shardId, task.subKey());
+                if (!shardExecutor.offer(shardTask)) {
+                    fanOut.skip();  // 레인 포화 / 종료 중 → 이 샤드는 부분 취소로 집계
+                }
+            }
+
+        } catch (Exception e) {
+            log.error("corrId={} Mass cancel failed", correlationId, e);
+            metrics.recordError(e.getClass().getSimpleName());
+            metrics.recordOrderRequest(header.getMethodId(), "ERROR");
+            ResponseUtil.sendError(channel, header, 500, "Internal order error");
+        } finally {
+            slowLog.info("corrId={} [END] MassCancel", correlationId);
+            if (!fannedOut) {
+                metrics.recordOrderLatency(sample, header.getMethodId());
+            }
+        }
+    }
+
+    /**
+     * 분배된 일괄 취소 샤드 작업 (이 샤드 메모리만 판정 → 집계에 합산)
+     *
+     * - 예외 시에도 그때까지의 판정은 합산 (CANCEL_REQUESTED로 바뀐 주문의 해제 누락 방지)
+     */
+    private void handleMassCancelShard(OrderShardExecutor.OrderTask task, OrderMassCancelShardDto dto) {
+        MassCancelFanOut.Tally tally = new MassCancelFanOut.Tally();
+        try {
+            cancelShard(tally, task.shardId(), dto.accountId(), null, task.header().getCorrelationId());
+        } catch (RuntimeException e) {
+            log.error("corrId={} Mass cancel shard failed: shardId={}",
+                    task.header().getCorrelationId(), task.shardId(), e);
+            tally.truncated = true;
+        } finally {
+            dto.fanOut().complete(tally);
+        }
+    }
+
+    /**
+     * 샤드 1개 취소 판정 (symbol 지정 시 symbol 인덱스, 아니면 account 인덱스)
+     *
+     * - 상태 큐 포화 / 저널 기록 실패 시 해당 주문 원복 후 중단 (truncated, 나머지는 재요청으로 처리)
+     */
+    private void cancelShard(MassCancelFanOut.Tally tally, int shardId, long accountId, String symbol,
+                             long correlationId) {
+        LiveOrderTable table = liveOrders.shard(shardId);
+        long[] candidates = symbol != null
+                ? table.orderIdsOfSymbol(symbolRegistry.idOf(symbol))  // 미등록 종목이면 후보 없음
+                : table.orderIdsOfAccount(accountId);
+
+        for (long orderId : candidates) {
+            LiveOrderTable.CancelResult result = table.requestCancel(orderId, accountId);
+            if (result.outcome() != LiveOrderTable.CancelResult.Outcome.CANCEL_REQUESTED) {
+                continue;  // 다른 계좌 주문 or 이미 취소 요청됨
+            }
+
+            OrderStatusUpdate update = OrderStatusUpdate.of(orderId, accountId, shardId,
+                    OrderProto.OrderStatus.CANCEL_REQUESTED);
+            CompletableFuture<Void> journaled;
+            try {
+                journaled = outboxQueue.offerJournaledStatusUpdate(update);
+            } catch (RuntimeException e) {
+                log.error("corrId={} Cancel journal append failed: orderId={}", correlationId, orderId, e);
+                journaled = null;
+            }
+            if (journaled == null) {
+                LiveOrder before = result.order();
+                table.put(before.orderId(), before.accountId(), before.symbolId(), before.orderType(),
+                        before.quantity(), before.price(), before.status());
+                tally.truncated = true;
+                return;
+            }
+            tally.add(result.order().amount(), journaled);
+        }
+    }
+
+    /**
+     * 일괄 취소 마무리: 저널 대기 → 합산 금액 1회 해제 → 응답
+     *
+     * - 분배 시 마지막으로 끝난 샤드 작업의 워커에서 실행
+     */
+    private void finishMassCancel(OrderShardExecutor.OrderTask task, long accountId, long operationId,
+                                  String symbol, MassCancelFanOut.Tally tally) {
+        PacketHeader header = task.header();
+        Channel channel = task.channel();
+        long correlationId = header.getCorrelationId();
+        try {
+            traceLog.add("corrId=" + correlationId + " [2.MASS_CANCEL] accountId=" + accountId +
+                    ", cancelled=" + tally.cancelled + ", amount=" + tally.releaseTotal);
+
+            // 3. Unreserve once for the aggregated amount (취소 기록 영속화 이후)
+            if (tally.journaled != null) {
+                awaitJournaled(tally.journaled, AccountRequestIds.massCancel(accountId, operationId), accountId,
+                        tally.releaseTotal);
+            }
+            if (tally.releaseTotal > 0) {
+                BigDecimal unreserveAmount = BigDecimal.valueOf(tally.releaseTotal);
+                if (accountClient.unreserve(task.shardId(), AccountRequestIds.massCancel(accountId, operationId),
+                        accountId, unreserveAmount) != AccountGrpcClient.Outcome.APPLIED) {
+                    log.error("corrId={} Unreserve failed after mass cancel: accountId={}, count={}, amount={}",
+                            correlationId, accountId, tally.cancelled, tally.releaseTotal);
+                }
+            }
+
+            log.info("corrId={} Mass cancel: accountId={}, symbol={}, cancelled={}, amount={}, truncated={}",
+                    correlationId, accountId, symbol, tally.cancelled, tally.releaseTotal, tally.truncated);
+
+            OrderProto.MassCancelResponse response = OrderProto.MassCancelResponse.newBuilder()
+                    .setCancelledCount(tally.cancelled)
+                    .setReleasedAmount(tally.releaseTotal)
+                    .setMessage(tally.truncated ? "Partially cancelled (server overloaded)" : "Cancel requests received")
+                    .build();
+            ResponseUtil.sendOk(channel, header, response);
+            metrics.recordOrderRequest(header.getMethodId(), tally.truncated ? "PARTIAL" : "OK");
+
+        } catch (Exception e) {
+            log.error("corrId={} Mass cancel failed", correlationId, e);
+            metrics.recordError(e.getClass().getSimpleName());
+            metrics.recordOrderRequest(header.getMethodId(), "ERROR");
+            ResponseUtil.sendError(channel, header, 500, "Internal order error");
+        }
+    }
+
+    /**
+     * 상태 변경 / 정정 저널 fsync 대기 (자금 해제 / 응답 전)
+     *
+     * - 시간 초과 / 인터럽트 시 예외 → 500 (변경은 큐에 남아 DB 반영)
+     */
+    private static void awaitJournaled(CompletableFuture<Void> journaled) {
+        try {
+            journaled.get(JOURNAL_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for status journal", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Status journal not durable within " + JOURNAL_WAIT_MILLIS + "ms", e);
+        }
+    }
+
+    /**
+     * 상태 변경 저널 fsync 대기 + 실패 시 해제 예약
+     *
+     * - 대기 실패 시점엔 메모리 / 큐 반영이 끝난 상태 → 재요청은 거절되고 이 응답(500)에서도 해제 안 됨
+     *   · 해제를 fsync 완료 시점으로 미룸 (같은 requestId, 호출 측 정상 경로와 이중 해제 없음)
+     *
+     * @param releaseAmount 해제할 금액 (0 이하면 해제 없음)
+     */
+    private void awaitJournaled(CompletableFuture<Void> journaled, String releaseId, long accountId,
+                                long releaseAmount) {
+        try {
+            awaitJournaled(journaled);
+        } catch (IllegalStateException e) {
+            if (releaseAmount > 0) {
+                accountClient.unreserveWhenDurable(journaled, releaseId, accountId, BigDecimal.valueOf(releaseAmount));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Account 호출 미확정 응답 (503, 사유별 결과 코드)
+     *
+     * - UNKNOWN: 재시도 / deadline 소진
+     * - CIRCUIT_OPEN / BULKHEAD_FULL: 미전송 즉시 실패 (클라이언트 재시도 가능)
+     */
+    private void sendAccountUnavailable(Channel channel, PacketHeader header, AccountGrpcClient.Outcome outcome) {
+        switch (outcome) {
+            case CIRCUIT_OPEN -> {
+                ResponseUtil.sendError(channel, header, 503, "Account service unavailable (circuit open)");
+                metrics.recordOrderRequest(header.getMethodId(), "ACCOUNT_CIRCUIT_OPEN");
+            }
+            case BULKHEAD_FULL -> {
+                ResponseUtil.sendError(channel, header, 503, "Account service busy");
+                metrics.recordOrderRequest(header.getMethodId(), "ACCOUNT_BULKHEAD_FULL");
+            }
+            default -> {
+                ResponseUtil.sendError(channel, header, 503, "Account service unavailable");
+                metrics.recordOrderRequest(header.getMethodId(), "ACCOUNT_UNAVAILABLE");
+            }
+        }
+    }
 }
 
 
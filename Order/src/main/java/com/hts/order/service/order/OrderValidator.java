@@ -1,7 +1,171 @@
 package com.hts.order.service.order;
 
+import com.hts.order.config.OrderValidationConfig;
+import com.hts.order.core.protocol.MessageEnvelope;
+import com.hts.order.core.protocol.PacketHeader;
+import com.hts.order.global.ResponseUtil;
+import com.hts.order.global.SymbolRegistry;
+import com.hts.order.metrics.MetricsCollector;
+import com.hts.order.proto.OrderProto;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
 
+
+/**
+ * 주문 사전 검증 (Netty I/O 스레드, DispatchHandler 앞단)
+ *
+ * - 샤드 큐 / Redis 세션 조회 / gRPC 예약 전에 형식 오류 주문을 거절
+ * - 규칙은 기동 시 설정(order-validation)에서 1회 컴파일: symbolId 인덱스 {tick, lot} 배열
+ * - 거절 응답 payload는 사유별로 사전 인코딩 (요청별로는 헤더만 생성)
+ * - 세션/잔고처럼 상태가 필요한 검증은 여기서 하지 않음 (OrderService 담당)
+ */
 @ChannelHandler.Sharable
-public class OrderValidator {
+public class OrderValidator extends SimpleChannelInboundHandler<MessageEnvelope> {
+
+    private final long maxQuantity;
+    private final long maxPrice;
+    private final long maxNotional;
+    private final boolean rejectUnknownSymbols;
+    private final Rule defaultRule;
+    private final Rule[] rulesBySymbolId;
+    private final SymbolRegistry symbols;
+    private final MetricsCollector metrics;
+
+    // 사유별 사전 인코딩된 ErrorMessage
+    private final byte[] invalidQuantity;
+    private final byte[] unknownSymbol;
+    private final byte[] invalidLot;
+    private final byte[] limitPriceRequired;
+    private final byte[] invalidTick;
+    private final byte[] invalidPrice;
+    private final byte[] notionalExceeded;
+
+    public OrderValidator(OrderValidationConfig config, SymbolRegistry symbols, MetricsCollector metrics) {
+        super(false);  // MessageEnvelope는 참조 카운트 없음 → 그대로 다음 핸들러로 전달
+        this.maxQuantity = config.getMaxQuantity();
+        this.maxPrice = config.getMaxPrice();
+        this.maxNotional = config.getMaxNotional();
+        this.rejectUnknownSymbols = config.isRejectUnknownSymbols();
+        this.defaultRule = new Rule(config.getDefaultTickSize(), config.getDefaultLotSize());
+        this.symbols = symbols;
+        this.metrics = metrics;
+
+        // 기준정보 종목은 SymbolRegistry 기동 시 등록됨 → ID로 직접 인덱싱
+        int maxId = 0;
+        for (OrderValidationConfig.SymbolSpec spec : config.getSymbols()) {
+            maxId = Math.max(maxId, symbols.idOf(spec.symbol()));
+        }
+        this.rulesBySymbolId = new Rule[maxId + 1];
+        for (OrderValidationConfig.SymbolSpec spec : config.getSymbols()) {
+            rulesBySymbolId[symbols.idOf(spec.symbol())] = new Rule(spec.tickSize(), spec.lotSize());
+        }
+
+        this.invalidQuantity = ResponseUtil.encodeError(400, "Invalid quantity");
+        this.unknownSymbol = ResponseUtil.encodeError(400, "Unknown symbol");
+        this.invalidLot = ResponseUtil.encodeError(400, "Quantity not a multiple of lot size");
+        this.limitPriceRequired = ResponseUtil.encodeError(400, "Limit order requires a positive price");
+        this.invalidTick = ResponseUtil.encodeError(400, "Price not a multiple of tick size");
+        this.invalidPrice = ResponseUtil.encodeError(400, "Invalid price");
+        this.notionalExceeded = ResponseUtil.encodeError(400, "Order notional exceeds limit");
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, MessageEnvelope envelope) {
+        PacketHeader header = envelope.header();
+
+        byte[] rejection = null;
+        if (header.getServiceId() == PacketHeader.SERVICE_ORDER) {
+            if (header.getMethodId() == 1) {
+                rejection = checkNewOrder((OrderProto.NewOrderRequest) envelope.payload());
+            } else if (header.getMethodId() == 3) {
+                rejection = checkAmend((OrderProto.AmendOrderRequest) envelope.payload());
+            }
+        }
+
+        if (rejection != null) {
+            ResponseUtil.sendEncodedError(ctx.channel(), header, rejection);
+            metrics.recordOrderRequest(header.getMethodId(), "VALIDATION_REJECTED");
+            return;
+        }
+        ctx.fireChannelRead(envelope);
+    }
+
+    /**
+     * @return 사전 인코딩된 거절 payload or null (통과)
+     */
+    private byte[] checkNewOrder(OrderProto.NewOrderRequest req) {
+        long quantity = req.getQuantity();
+        long price = req.getPrice();
+
+        // 음수/0/상한 초과를 한 번의 unsigned 비교로 (quantity - 1 >= maxQuantity)
+        if (Long.compareUnsigned(quantity - 1, maxQuantity) >= 0) {
+            return invalidQuantity;
+        }
+
+        int symbolId = symbols.idOf(req.getSymbol());
+        Rule rule = symbolId < rulesBySymbolId.length ? rulesBySymbolId[symbolId] : null;
+        if (symbolId == SymbolRegistry.UNKNOWN) {
+            return unknownSymbol;
+        }
+        if (rule == null) {
+            if (rejectUnknownSymbols) {
+                return unknownSymbol;
+            }
+            rule = defaultRule;
+        }
+
+        if (quantity % rule.lotSize() != 0) {
+            return invalidLot;
+        }
+
+        if (req.getOrderType() == OrderProto.OrderType.LIMIT) {
+            if (price <= 0) {
+                return limitPriceRequired;
+            }
+            if (price % rule.tickSize() != 0) {
+                return invalidTick;
+            }
+        } else if (price < 0) {
+            return invalidPrice;
+        }
+        return checkPriceLimits(quantity, price);
+    }
+
+    /**
+     * 정정은 종목 정보가 요청에 없으므로 수량/가격 범위만 검증
+     */
+    private byte[] checkAmend(OrderProto.AmendOrderRequest req) {
+        if (Long.compareUnsigned(req.getQuantity() - 1, maxQuantity) >= 0) {
+            return invalidQuantity;
+        }
+        if (req.getPrice() <= 0) {
+            return invalidPrice;
+        }
+        return checkPriceLimits(req.getQuantity(), req.getPrice());
+    }
+
+    /**
+     * 가격 / 금액 상한 (quantity > 0, price >= 0 검증 이후)
+     *
+     * - 금액은 곱하지 않고 나눗셈으로 비교 (price × quantity > maxNotional ⇔ price > maxNotional / quantity)
+     */
+    private byte[] checkPriceLimits(long quantity, long price) {
+        if (price > maxPrice) {
+            return invalidPrice;
+        }
+        if (price > maxNotional / quantity) {
+            return notionalExceeded;
+        }
+        return null;
+    }
+
+    private record Rule(long tickSize, long lotSize) {
+        Rule {
+            if (tickSize <= 0 || lotSize <= 0) {
+                throw new IllegalArgumentException("tick-size/lot-size must be positive: tick=" +
+                        tickSize + ", lot=" + lotSize);
+            }
+        }
+    }
 }
@@ -78,6 +78,18 @@ public final class OrderShardExecutor implements AutoCloseable {
         shards.get(shardId).submit(task);
     }
 
+    /**
+     * 내부 후속 작업 제출 (일괄 취소 샤드별 분배 등)
+     *
+     * - 큐 포화 / 종료 중이면 응답 없이 false (호출 측이 집계 / 응답 책임)
+     */
+    public boolean offer(OrderTask task) {
+        if (shuttingDown || task.shardId() < 0 || task.shardId() >= SHARD_COUNT) {
+            return false;
+        }
+        return shards.get(task.shardId()).offer(task);
+    }
+
     private void detectAndScaleHotQueues() {
         try {
             int totalHotQueues = 0;
@@ -61,6 +61,17 @@ final class ShardGroup {
         }
     }
 
+    boolean offer(OrderShardExecutor.OrderTask task) {
+        int queueIdx = Math.abs(task.subKey()) % queueCount;
+
+        if (!queues.get(queueIdx).offer(task)) {
+            log.warn("Shard {} queue {} is full, internal task not queued", shardId, queueIdx);
+            metrics.recordQueueFull(shardId, queueIdx);
+            return false;
+        }
+        return true;
+    }
+
     int detectAndScaleHotQueues(HotQueueDetector detector) {
         return detector.detectAndScale(shardId, workerPools);
     }
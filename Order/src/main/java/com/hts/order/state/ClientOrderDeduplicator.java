@@ -0,0 +1,132 @@
+package com.hts.order.state;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.hts.order.proto.OrderProto;
+
+import javax.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 클라이언트 주문 ID 중복 제거 (세션 + clientOrderId, 샤드별 윈도우)
+ *
+ * 설계:
+ * - 같은 종목 재전송은 같은 샤드로 라우팅 → 샤드별 윈도우로 충분
+ * - 1차: 회전 Bloom filter (current + previous) → 대부분의 신규 요청은 여기서 바로 통과
+ * - 2차: Bloom이 "있을 수도" 판정한 경우만 정확한 bounded map 조회
+ *   · 처리 중(PENDING) → 409, 완료 → 원 응답 재전송
+ *   · map에 없음 (false positive or 윈도우 밖) → 신규로 처리
+ * - Redis/Postgres 접근 없음 (프로세스 재시작 시 윈도우 초기화)
+ */
+@Singleton
+public final class ClientOrderDeduplicator {
+    private static final int SHARD_COUNT = 16;
+    private static final int WINDOW_SIZE = 50_000;           // 샤드별 Bloom 한 세대 용량
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final Funnel<Key> KEY_FUNNEL = (key, into) -> into
+            .putLong(key.sessionId())
+            .putString(key.clientOrderId(), StandardCharsets.UTF_8);
+
+    private final Window[] windows = new Window[SHARD_COUNT];
+
+    public ClientOrderDeduplicator() {
+        for (int s = 0; s < SHARD_COUNT; s++) {
+            windows[s] = new Window();
+        }
+    }
+
+    /**
+     * 중복 확인 + 신규면 PENDING 등록 (check-and-set 원자적)
+     */
+    public Result begin(int shardId, long sessionId, String clientOrderId) {
+        return window(shardId).begin(new Key(sessionId, clientOrderId));
+    }
+
+    /**
+     * 처리 완료 → 이후 중복 요청에는 이 응답을 재전송
+     */
+    public void complete(int shardId, long sessionId, String clientOrderId, OrderProto.OrderResponse response) {
+        window(shardId).complete(new Key(sessionId, clientOrderId), response);
+    }
+
+    /**
+     * 처리 실패 (거절) → 재시도 허용 위해 등록 해제
+     */
+    public void release(int shardId, long sessionId, String clientOrderId) {
+        window(shardId).release(new Key(sessionId, clientOrderId));
+    }
+
+    private Window window(int shardId) {
+        return windows[shardId & (SHARD_COUNT - 1)];
+    }
+
+    private record Key(long sessionId, String clientOrderId) {
+    }
+
+    /**
+     * @param response 원 응답 (DUPLICATE일 때만)
+     */
+    public record Result(Outcome outcome, OrderProto.OrderResponse response) {
+        public enum Outcome { NEW, IN_FLIGHT, DUPLICATE }
+
+        static final Result NEW = new Result(Outcome.NEW, null);
+        static final Result IN_FLIGHT = new Result(Outcome.IN_FLIGHT, null);
+    }
+
+    /**
+     * 샤드별 윈도우 (같은 샤드의 여러 레인이 공유 → 인스턴스 락)
+     */
+    private static final class Window {
+        // PENDING 표시 (응답 미확정)
+        private static final OrderProto.OrderResponse PENDING = OrderProto.OrderResponse.getDefaultInstance();
+
+        private BloomFilter<Key> current = newFilter();
+        private BloomFilter<Key> previous = newFilter();
+        private int insertions;
+
+        // Bloom 두 세대를 덮는 정확한 윈도우 (오래된 것부터 제거)
+        private final Map<Key, OrderProto.OrderResponse> recent =
+                new LinkedHashMap<>(WINDOW_SIZE * 2, 0.75f, false) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Key, OrderProto.OrderResponse> eldest) {
+                        return size() > WINDOW_SIZE * 2;
+                    }
+                };
+
+        synchronized Result begin(Key key) {
+            if (current.mightContain(key) || previous.mightContain(key)) {
+                OrderProto.OrderResponse existing = recent.get(key);
+                if (existing == PENDING) {
+                    return Result.IN_FLIGHT;
+                }
+                if (existing != null) {
+                    return new Result(Result.Outcome.DUPLICATE, existing);
+                }
+            }
+
+            if (++insertions > WINDOW_SIZE) {
+                previous = current;
+                current = newFilter();
+                insertions = 1;
+            }
+            current.put(key);
+            recent.put(key, PENDING);
+            return Result.NEW;
+        }
+
+        synchronized void complete(Key key, OrderProto.OrderResponse response) {
+            recent.replace(key, response);
+        }
+
+        synchronized void release(Key key) {
+            recent.remove(key);
+        }
+
+        private static BloomFilter<Key> newFilter() {
+            return BloomFilter.create(KEY_FUNNEL, WINDOW_SIZE, FALSE_POSITIVE_RATE);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.hts.order.state;
+
+import com.hts.order.proto.OrderProto;
+
+/**
+ * 샤드 메모리에 있는 미체결 주문의 스냅샷 (불변)
+ *
+ * - LiveOrderTable 내부는 primitive 배열로 저장, 조회 시에만 record 생성
+ */
+public record LiveOrder(
+        long orderId,
+        long accountId,
+        int symbolId,
+        OrderProto.OrderType orderType,
+        long quantity,
+        long price,
+        OrderProto.OrderStatus status
+) {
+    public long amount() {
+        return quantity * price;
+    }
+
+    /**
+     * 정정 가능 여부 (체결 전 미체결 지정가 주문)
+     */
+    public boolean isAmendable() {
+        return orderType == OrderProto.OrderType.LIMIT && OrderStatusTransitions.isOpen(status);
+    }
+
+    public boolean isCancellable() {
+        return OrderStatusTransitions.isOpen(status);
+    }
+}
@@ -0,0 +1,52 @@
+package com.hts.order.state;
+
+import com.hts.order.global.OrderIdGenerator;
+import com.hts.order.proto.OrderProto;
+import com.hts.order.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * 기동 시 DB 미체결 주문 → 샤드 메모리 적재
+ *
+ * - 재시작 이전 주문도 단건/일괄 취소가 메모리 경로를 타도록
+ * - 샤드는 orderId 비트에서 추출 (취소 라우팅과 동일)
+ * - 서버 포트 오픈 전에 호출해야 함 (적재 중 요청 유입 방지)
+ */
+@Singleton
+public final class LiveOrderLoader {
+    private static final Logger log = LoggerFactory.getLogger(LiveOrderLoader.class);
+
+    private final OrderRepository orderRepository;
+    private final LiveOrderRegistry liveOrders;
+
+    @Inject
+    public LiveOrderLoader(OrderRepository orderRepository, LiveOrderRegistry liveOrders) {
+        this.orderRepository = orderRepository;
+        this.liveOrders = liveOrders;
+    }
+
+    public void load() {
+        long start = System.currentTimeMillis();
+        try {
+            int loaded = orderRepository.forEachOpenOrder(order -> {
+                int shardId = OrderIdGenerator.extractShard(order.orderId());
+                liveOrders.shard(shardId).put(
+                        order.orderId(),
+                        order.accountId(),
+                        order.symbolId(),
+                        OrderProto.OrderType.valueOf(order.orderType()),
+                        order.quantity(),
+                        order.price(),
+                        OrderProto.OrderStatus.valueOf(order.status()));
+            });
+            log.info("Live orders loaded: count={}, elapsed={}ms", loaded, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 적재 실패 시에도 기동 (메모리 miss → DB 취소 경로로 동작)
+            log.error("Live order load failed, cancels fall back to DB", e);
+        }
+    }
+}
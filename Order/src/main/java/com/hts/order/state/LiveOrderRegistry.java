@@ -0,0 +1,38 @@
+package com.hts.order.state;
+
+import com.hts.order.metrics.MetricsCollector;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * 샤드별 LiveOrderTable 보관소
+ *
+ * - 샤드 ID는 OrderShardExecutor / orderId 비트와 동일 (0~15)
+ * - 취소/정정은 orderId에서 추출한 샤드의 테이블만 접근
+ */
+@Singleton
+public final class LiveOrderRegistry {
+    private static final int SHARD_COUNT = 16;
+
+    private final LiveOrderTable[] tables = new LiveOrderTable[SHARD_COUNT];
+
+    @Inject
+    public LiveOrderRegistry(MetricsCollector metrics) {
+        for (int s = 0; s < SHARD_COUNT; s++) {
+            tables[s] = new LiveOrderTable(s);
+            metrics.registerLiveOrderGauge(s, tables[s], LiveOrderTable::size);
+        }
+    }
+
+    /**
+     * 샤드 테이블 (범위 밖 샤드 ID는 하위 비트로 접어서 매핑 → put/lookup 일관성 유지)
+     */
+    public LiveOrderTable shard(int shardId) {
+        return tables[shardId & (SHARD_COUNT - 1)];
+    }
+
+    public int shardCount() {
+        return SHARD_COUNT;
+    }
+}
@@ -0,0 +1,370 @@
+package com.hts.order.state;
+
+import com.hts.order.proto.OrderProto;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 샤드별 미체결 주문 테이블 (orderId → accountId, 주문 유형, 수량, 가격, 상태)
+ *
+ * 설계:
+ * - long 키 open addressing (linear probing) + primitive 병렬 배열 → 엔트리당 boxing 없음
+ * - 세그먼트 16개로 락 분할 (같은 샤드의 여러 레인/워커가 동시에 접근)
+ * - 주문 접수 시 put, 취소 / 정정은 메모리에서 판정 후 변경
+ * - DB 반영 완료된 취소 주문은 evict (이후 조회는 DB가 기준)
+ * - 보조 인덱스 (accountId → orderIds, symbolId → orderIds): 일괄 취소용
+ *   · 세그먼트 락 안에서 엔트리 추가/삭제와 함께 갱신
+ *   · 인덱스는 후보 목록일 뿐, 최종 판정은 requestCancel()이 세그먼트 락 하에서 수행
+ *
+ * orderId 0은 빈 슬롯 표시로 사용 (Snowflake ID는 0이 나오지 않음)
+ */
+public final class LiveOrderTable {
+    private static final int SEGMENT_COUNT = 16;
+    private static final int SEGMENT_MASK = SEGMENT_COUNT - 1;
+    private static final int INITIAL_SEGMENT_CAPACITY = 1024;
+    public static final int NOT_AMENDED = -1;
+
+    private final int shardId;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final ConcurrentHashMap<Long, Set<Long>> byAccount = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Set<Long>> bySymbol = new ConcurrentHashMap<>();
+
+    public LiveOrderTable(int shardId) {
+        this.shardId = shardId;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(INITIAL_SEGMENT_CAPACITY, this);
+        }
+    }
+
+    public int shardId() {
+        return shardId;
+    }
+
+    /**
+     * 신규 주문 등록 (주문 접수 시) / 기존 엔트리 덮어쓰기 (정정 버전은 유지)
+     */
+    public void put(long orderId, long accountId, int symbolId, OrderProto.OrderType orderType,
+                    long quantity, long price, OrderProto.OrderStatus status) {
+        Segment seg = segmentFor(orderId);
+        synchronized (seg) {
+            if (seg.put(orderId, accountId, symbolId, (byte) orderType.getNumber(), quantity, price,
+                    (byte) status.getNumber())) {
+                index(orderId, accountId, symbolId);
+            }
+        }
+    }
+
+    /**
+     * 주문 조회
+     *
+     * @return 스냅샷 or null (메모리에 없음)
+     */
+    public LiveOrder get(long orderId) {
+        Segment seg = segmentFor(orderId);
+        synchronized (seg) {
+            int slot = seg.find(orderId);
+            return slot < 0 ? null : seg.snapshot(slot);
+        }
+    }
+
+    /**
+     * 취소 요청 처리 (check + update 원자적)
+     *
+     * - MISS: 메모리에 없음 → 호출자가 DB fallback
+     * - REJECTED: 다른 계좌 주문이거나 취소 불가 상태
+     * - CANCEL_REQUESTED: 상태 변경 완료, order는 변경 전 스냅샷 (해제 금액 계산용)
+     */
+    public CancelResult requestCancel(long orderId, long accountId) {
+        Segment seg = segmentFor(orderId);
+        synchronized (seg) {
+            int slot = seg.find(orderId);
+            if (slot < 0) {
+                return CancelResult.MISS;
+            }
+            LiveOrder before = seg.snapshot(slot);
+            if (before.accountId() != accountId || !before.isCancellable()) {
+                return new CancelResult(CancelResult.Outcome.REJECTED, before);
+            }
+            seg.statuses[slot] = (byte) OrderProto.OrderStatus.CANCEL_REQUESTED_VALUE;
+            return new CancelResult(CancelResult.Outcome.CANCEL_REQUESTED, before);
+        }
+    }
+
+    /**
+     * 릴레이 전송 선점 (check + update 원자적, 게이트웨이 전송 직전 호출)
+     *
+     * - 체결 전 미체결이면 SENT로 변경 → 이후 취소는 SENT 기준으로 판정
+     * - 메모리 취소가 먼저 반영된 주문(CANCEL_REQUESTED 등)은 false → 전송 제외
+     *   · 취소 응답 / 자금 해제 후 상태 UPDATE가 flush되기 전이라 DB는 아직 RECEIVED일 수 있음
+     * - 메모리 정정이 DB에 아직 반영 안 된 주문(조회한 수량/가격과 불일치)도 false
+     *   · 정정 UPDATE flush 후 다음 조회에서 새 수량/가격으로 전송
+     * - 메모리에 없으면 true (DB 상태 기준)
+     *
+     * @param quantity DB에서 조회한 수량
+     * @param price DB에서 조회한 가격
+     * @return 전송 가능 여부
+     */
+    public boolean claimForSend(long orderId, long quantity, long price) {
+        Segment seg = segmentFor(orderId);
+        synchronized (seg) {
+            int slot = seg.find(orderId);
+            if (slot < 0) {
+                return true;
+            }
+            if (!OrderStatusTransitions.isOpen(OrderProto.OrderStatus.forNumber(seg.statuses[slot]))
+                    || seg.quantities[slot] != quantity || seg.prices[slot] != price) {
+                return false;
+            }
+            seg.statuses[slot] = (byte) OrderProto.OrderStatus.SENT_VALUE;
+            return true;
+        }
+    }
+
+    /**
+     * 정정 (check + update 원자적)
+     *
+     * - 같은 계좌 + 체결 전 미체결 + 지정가 + 수량/가격이 조회 시점(expected)과 같을 때만 변경
+     *   · 조회 ~ 변경 사이 취소 / 다른 정정이 끼어들면 NOT_AMENDED (호출자가 선예약분 해제)
+     * - 성공 시 엔트리 정정 버전 증가 → DB 반영 / 저널 복구 시 같은 주문의 정정은 최신 버전만 적용
+     *
+     * @return 새 정정 버전 or NOT_AMENDED
+     */
+    public int amend(long orderId, long accountId, long expectedQuantity, long expectedPrice,
+                     long quantity, long price) {
+        Segment seg = segmentFor(orderId);
+        synchronized (seg) {
+            int slot = seg.find(orderId);
+            if (slot < 0
+                    || seg.accountIds[slot] != accountId
+                    || seg.orderTypes[slot] != (byte) OrderProto.OrderType.LIMIT_VALUE
+                    || !OrderStatusTransitions.isOpen(OrderProto.OrderStatus.forNumber(seg.statuses[slot]))
+                    || seg.quantities[slot] != expectedQuantity
+                    || seg.prices[slot] != expectedPrice) {
+                return NOT_AMENDED;
+            }
+            seg.quantities[slot] = quantity;
+            seg.prices[slot] = price;
+            return ++seg.versions[slot];
+        }
+    }
+
+    /**
+     * 상태가 expected일 때만 제거 (DB 반영 완료 후 호출)
+     *
+     * @return 제거 여부
+     */
+    public boolean removeIfStatus(long orderId, OrderProto.OrderStatus expected) {
+        Segment seg = segmentFor(orderId);
+        synchronized (seg) {
+            int slot = seg.find(orderId);
+            if (slot < 0 || seg.statuses[slot] != (byte) expected.getNumber()) {
+                return false;
+            }
+            seg.removeAt(slot);
+            return true;
+        }
+    }
+
+    /**
+     * 계좌의 주문 ID 후보 (취소 요청 상태 포함, 호출 시점 스냅샷)
+     */
+    public long[] orderIdsOfAccount(long accountId) {
+        return toArray(byAccount.get(accountId));
+    }
+
+    /**
+     * 종목의 주문 ID 후보 (모든 계좌, 취소 요청 상태 포함, 호출 시점 스냅샷)
+     */
+    public long[] orderIdsOfSymbol(int symbolId) {
+        return toArray(bySymbol.get(symbolId));
+    }
+
+    /**
+     * 현재 엔트리 수 (Gauge용, 세그먼트별 락 없이 근사값)
+     */
+    public int size() {
+        int total = 0;
+        for (Segment seg : segments) {
+            total += seg.size;
+        }
+        return total;
+    }
+
+    private void index(long orderId, long accountId, int symbolId) {
+        // compute 안에서 추가 (동시에 빈 Set 제거되는 unindex와 경합 방지)
+        byAccount.compute(accountId, (k, ids) -> addTo(ids, orderId));
+        bySymbol.compute(symbolId, (k, ids) -> addTo(ids, orderId));
+    }
+
+    private void unindex(long orderId, long accountId, int symbolId) {
+        byAccount.computeIfPresent(accountId, (k, ids) -> ids.remove(orderId) && ids.isEmpty() ? null : ids);
+        bySymbol.computeIfPresent(symbolId, (k, ids) -> ids.remove(orderId) && ids.isEmpty() ? null : ids);
+    }
+
+    private static Set<Long> addTo(Set<Long> ids, long orderId) {
+        Set<Long> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+        set.add(orderId);
+        return set;
+    }
+
+    private static long[] toArray(Set<Long> ids) {
+        if (ids == null) {
+            return new long[0];
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private Segment segmentFor(long orderId) {
+        return segments[(int) (mix(orderId) >>> 32) & SEGMENT_MASK];
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    public record CancelResult(Outcome outcome, LiveOrder order) {
+        public enum Outcome { MISS, REJECTED, CANCEL_REQUESTED }
+
+        public static final CancelResult MISS = new CancelResult(Outcome.MISS, null);
+    }
+
+    /**
+     * Open addressing 세그먼트 (외부 락 보호 하에서만 접근)
+     */
+    private static final class Segment {
+        private final LiveOrderTable owner;
+        private long[] keys;
+        private long[] accountIds;
+        private int[] symbolIds;
+        private byte[] orderTypes;
+        private long[] quantities;
+        private long[] prices;
+        private byte[] statuses;
+        private int[] versions;
+        private int mask;
+        private volatile int size;
+
+        Segment(int capacity, LiveOrderTable owner) {
+            this.owner = owner;
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            accountIds = new long[capacity];
+            symbolIds = new int[capacity];
+            orderTypes = new byte[capacity];
+            quantities = new long[capacity];
+            prices = new long[capacity];
+            statuses = new byte[capacity];
+            versions = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        int find(long key) {
+            int slot = (int) mix(key) & mask;
+            while (true) {
+                long k = keys[slot];
+                if (k == key) {
+                    return slot;
+                }
+                if (k == 0L) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * @return 신규 키 여부 (true면 호출자가 보조 인덱스 등록)
+         */
+        boolean put(long key, long accountId, int symbolId, byte orderType, long quantity, long price,
+                    byte status) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                grow();
+            }
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != 0L && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            boolean inserted = keys[slot] == 0L;
+            if (inserted) {
+                size++;
+                versions[slot] = 0;
+            }
+            keys[slot] = key;
+            accountIds[slot] = accountId;
+            symbolIds[slot] = symbolId;
+            orderTypes[slot] = orderType;
+            quantities[slot] = quantity;
+            prices[slot] = price;
+            statuses[slot] = status;
+            return inserted;
+        }
+
+        /**
+         * Backward-shift 삭제 (tombstone 없이 probe 체인 유지)
+         */
+        void removeAt(int slot) {
+            owner.unindex(keys[slot], accountIds[slot], symbolIds[slot]);
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (keys[next] != 0L) {
+                int ideal = (int) mix(keys[next]) & mask;
+                // next가 hole 이후의 이상 위치에 있지 않으면 hole로 이동
+                if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                    move(next, hole);
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[hole] = 0L;
+            size--;
+        }
+
+        private void move(int from, int to) {
+            keys[to] = keys[from];
+            accountIds[to] = accountIds[from];
+            symbolIds[to] = symbolIds[from];
+            orderTypes[to] = orderTypes[from];
+            quantities[to] = quantities[from];
+            prices[to] = prices[from];
+            statuses[to] = statuses[from];
+            versions[to] = versions[from];
+        }
+
+        LiveOrder snapshot(int slot) {
+            return new LiveOrder(
+                    keys[slot],
+                    accountIds[slot],
+                    symbolIds[slot],
+                    OrderProto.OrderType.forNumber(orderTypes[slot]),
+                    quantities[slot],
+                    prices[slot],
+                    OrderProto.OrderStatus.forNumber(statuses[slot]));
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldAccountIds = accountIds;
+            int[] oldSymbolIds = symbolIds;
+            byte[] oldOrderTypes = orderTypes;
+            long[] oldQuantities = quantities;
+            long[] oldPrices = prices;
+            byte[] oldStatuses = statuses;
+            int[] oldVersions = versions;
+
+            allocate(oldKeys.length << 1);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0L) {
+                    put(oldKeys[i], oldAccountIds[i], oldSymbolIds[i], oldOrderTypes[i], oldQuantities[i],
+                        oldPrices[i], oldStatuses[i]);
+                    versions[find(oldKeys[i])] = oldVersions[i];
+                }
+            }
+        }
+    }
+}
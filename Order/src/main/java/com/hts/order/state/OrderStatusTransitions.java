@@ -0,0 +1,140 @@
+package com.hts.order.state;
+
+import com.hts.order.proto.OrderProto.OrderStatus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 상태 전이 규칙
+ *
+ * - RECEIVED → ACCEPTED / SENT / PARTIALLY_FILLED / FILLED / CANCEL_REQUESTED / REJECTED
+ * - ACCEPTED → SENT / PARTIALLY_FILLED / FILLED / CANCEL_REQUESTED / CANCELED / REJECTED
+ * - SENT → PARTIALLY_FILLED / FILLED / CANCEL_REQUESTED / CANCELED / REJECTED
+ * - PARTIALLY_FILLED → PARTIALLY_FILLED (추가 체결) / FILLED / CANCEL_REQUESTED / CANCELED
+ * - CANCEL_REQUESTED → CANCELED / PARTIALLY_FILLED / FILLED (취소 도착 전 체결)
+ * - FILLED / CANCELED / REJECTED: 종결 (만료는 CANCELED로 반영)
+ *
+ * 상태 UPDATE 조건(sourcesOf)은 도달 가능한 모든 이전 상태 → 배치 내 병합(A→B→C를 A→C로)도 유효
+ *
+ * 미체결 상태 집합 (SQL 조건 / 메모리 판정 공용, 여기서만 정의):
+ * - OPEN: 체결 전 미체결 (RECEIVED / ACCEPTED / SENT) → 취소 / 정정 / 기동 시 메모리 적재 대상
+ *   · SENT 포함: 릴레이가 접수 직후 SENT로 옮기므로 빠지면 전송된 주문은 취소 / 정정 불가
+ * - UNSETTLED: OPEN + PARTIALLY_FILLED / CANCEL_REQUESTED → 종결 전 주문 (파티션 detach 보류 판정)
+ */
+public final class OrderStatusTransitions {
+
+    private static final OrderStatus[] STATUSES = {
+            OrderStatus.RECEIVED, OrderStatus.ACCEPTED, OrderStatus.SENT, OrderStatus.PARTIALLY_FILLED,
+            OrderStatus.FILLED, OrderStatus.CANCEL_REQUESTED, OrderStatus.CANCELED, OrderStatus.REJECTED
+    };
+
+    public static final Set<OrderStatus> OPEN = Collections.unmodifiableSet(
+            EnumSet.of(OrderStatus.RECEIVED, OrderStatus.ACCEPTED, OrderStatus.SENT));
+
+    public static final Set<OrderStatus> UNSETTLED = Collections.unmodifiableSet(
+            union(OPEN, OrderStatus.PARTIALLY_FILLED, OrderStatus.CANCEL_REQUESTED));
+
+    /**
+     * OPEN의 SQL IN 목록 ('ACCEPTED','RECEIVED','SENT')
+     */
+    public static final String OPEN_SQL = sqlList(OPEN);
+
+    private static final boolean[][] VALID = new boolean[STATUSES.length][STATUSES.length];
+    private static final String[] SOURCES_SQL = new String[STATUSES.length];
+
+    static {
+        allow(OrderStatus.RECEIVED, OrderStatus.ACCEPTED, OrderStatus.SENT, OrderStatus.PARTIALLY_FILLED,
+                OrderStatus.FILLED, OrderStatus.CANCEL_REQUESTED, OrderStatus.REJECTED);
+        allow(OrderStatus.ACCEPTED, OrderStatus.SENT, OrderStatus.PARTIALLY_FILLED, OrderStatus.FILLED,
+                OrderStatus.CANCEL_REQUESTED, OrderStatus.CANCELED, OrderStatus.REJECTED);
+        allow(OrderStatus.SENT, OrderStatus.PARTIALLY_FILLED, OrderStatus.FILLED,
+                OrderStatus.CANCEL_REQUESTED, OrderStatus.CANCELED, OrderStatus.REJECTED);
+        allow(OrderStatus.PARTIALLY_FILLED, OrderStatus.PARTIALLY_FILLED, OrderStatus.FILLED,
+                OrderStatus.CANCEL_REQUESTED, OrderStatus.CANCELED);
+        allow(OrderStatus.CANCEL_REQUESTED, OrderStatus.CANCELED, OrderStatus.PARTIALLY_FILLED,
+                OrderStatus.FILLED);
+
+        for (OrderStatus target : STATUSES) {
+            SOURCES_SQL[target.getNumber()] = sources(target).stream()
+                    .map(OrderStatus::name)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+    }
+
+    private OrderStatusTransitions() {}
+
+    /**
+     * 직접 전이 가능 여부
+     */
+    public static boolean isValid(OrderStatus from, OrderStatus to) {
+        return VALID[from.getNumber()][to.getNumber()];
+    }
+
+    /**
+     * target에 도달 가능한 이전 상태 (콤마 구분, UPDATE 조건용)
+     *
+     * - 자기 자신은 직접 전이(추가 체결)가 있을 때만 포함 → 같은 요청 중복 반영 방지
+     */
+    public static String sourcesOf(OrderStatus target) {
+        return SOURCES_SQL[target.getNumber()];
+    }
+
+    /**
+     * 체결 전 미체결 여부 (취소 / 정정 가능)
+     */
+    public static boolean isOpen(OrderStatus status) {
+        return OPEN.contains(status);
+    }
+
+    private static Set<OrderStatus> union(Set<OrderStatus> base, OrderStatus... extra) {
+        Set<OrderStatus> result = EnumSet.copyOf(base);
+        result.addAll(Arrays.asList(extra));
+        return result;
+    }
+
+    private static String sqlList(Set<OrderStatus> statuses) {
+        return statuses.stream()
+                .map(status -> "'" + status.name() + "'")
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private static void allow(OrderStatus from, OrderStatus... targets) {
+        for (OrderStatus to : targets) {
+            VALID[from.getNumber()][to.getNumber()] = true;
+        }
+    }
+
+    private static Set<OrderStatus> sources(OrderStatus target) {
+        Set<OrderStatus> result = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus from : STATUSES) {
+            if (from == target ? isValid(from, target) : reachable(from, target)) {
+                result.add(from);
+            }
+        }
+        return result;
+    }
+
+    private static boolean reachable(OrderStatus from, OrderStatus target) {
+        boolean[] seen = new boolean[STATUSES.length];
+        return reachable(from, target, seen);
+    }
+
+    private static boolean reachable(OrderStatus from, OrderStatus target, boolean[] seen) {
+        if (seen[from.getNumber()]) {
+            return false;
+        }
+        seen[from.getNumber()] = true;
+        for (OrderStatus next : STATUSES) {
+            if (isValid(from, next) && (next == target || reachable(next, target, seen))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+-- 종목 기준정보 (정수 symbol_id 발급)
+CREATE TABLE symbols (
+    symbol_id SERIAL PRIMARY KEY,
+    symbol VARCHAR(20) NOT NULL UNIQUE,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO symbols(symbol)
+SELECT DISTINCT symbol FROM orders
+ON CONFLICT (symbol) DO NOTHING;
+
+-- orders는 symbol_id만 기록 (FK 생략: 배치 INSERT 경로 비용 최소화, 발급은 애플리케이션이 보장)
+ALTER TABLE orders ADD COLUMN symbol_id INTEGER;
+
+UPDATE orders o
+SET symbol_id = s.symbol_id
+FROM symbols s
+WHERE s.symbol = o.symbol;
+
+ALTER TABLE orders ALTER COLUMN symbol_id SET NOT NULL;
+ALTER TABLE orders ALTER COLUMN symbol DROP NOT NULL;
+
+CREATE INDEX idx_orders_symbol_id ON orders(symbol_id);
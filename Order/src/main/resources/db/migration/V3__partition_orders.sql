@@ -0,0 +1,55 @@
+-- orders 일 단위 RANGE 파티셔닝
+-- 파티션 키 = order_id (상위 41bit = 2024-01-01 UTC 기준 ms → 경계 = 일자 00:00 UTC의 최소 orderId)
+-- order_id 단건 조회 / 범위 조회가 항상 파티션 1개로 좁혀짐
+
+ALTER TABLE orders RENAME TO orders_legacy;
+ALTER INDEX orders_pkey RENAME TO orders_legacy_pkey;
+ALTER INDEX idx_orders_account RENAME TO idx_orders_legacy_account;
+ALTER INDEX idx_orders_status RENAME TO idx_orders_legacy_status;
+ALTER INDEX idx_orders_created RENAME TO idx_orders_legacy_created;
+ALTER INDEX idx_orders_symbol_id RENAME TO idx_orders_legacy_symbol_id;
+
+CREATE TABLE orders (
+    order_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    symbol VARCHAR(20),
+    side VARCHAR(4) NOT NULL,
+    order_type VARCHAR(10) NOT NULL,
+    quantity BIGINT NOT NULL,
+    price BIGINT NOT NULL,
+    time_in_force VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    symbol_id INTEGER NOT NULL,
+    CONSTRAINT orders_pkey PRIMARY KEY (order_id),
+    CONSTRAINT fk_orders_account FOREIGN KEY (account_id) REFERENCES accounts(account_id)
+) PARTITION BY RANGE (order_id);
+
+-- created_at 인덱스는 두지 않음 (시각 기준 조회는 order_id 범위로 대체)
+CREATE INDEX idx_orders_account ON orders(account_id);
+CREATE INDEX idx_orders_status ON orders(status);
+CREATE INDEX idx_orders_symbol_id ON orders(symbol_id);
+
+-- 기존 데이터(외부 주문 포함) = 레거시 파티션 [MINVALUE, 내일 00:00 UTC)
+-- 내일 ~ +7일 파티션 생성 (이후는 OrderPartitionMaintainer가 관리)
+DO $$
+DECLARE
+    epoch_ms CONSTANT BIGINT := 1704067200000;
+    first_day DATE := (NOW() AT TIME ZONE 'UTC')::DATE + 1;
+    day DATE;
+    lower_id BIGINT;
+    upper_id BIGINT;
+BEGIN
+    lower_id := ((EXTRACT(EPOCH FROM first_day::TIMESTAMP) * 1000)::BIGINT - epoch_ms) << 24;
+    EXECUTE format('ALTER TABLE orders ATTACH PARTITION orders_legacy FOR VALUES FROM (MINVALUE) TO (%s)',
+                   lower_id);
+
+    FOR i IN 0..7 LOOP
+        day := first_day + i;
+        lower_id := ((EXTRACT(EPOCH FROM day::TIMESTAMP) * 1000)::BIGINT - epoch_ms) << 24;
+        upper_id := ((EXTRACT(EPOCH FROM (day + 1)::TIMESTAMP) * 1000)::BIGINT - epoch_ms) << 24;
+        EXECUTE format('CREATE TABLE orders_p%s PARTITION OF orders FOR VALUES FROM (%s) TO (%s)',
+                       to_char(day, 'YYYYMMDD'), lower_id, upper_id);
+    END LOOP;
+END $$;
@@ -0,0 +1,17 @@
+-- 게이트웨이 릴레이 (OrderOutboxRelay)
+-- - orders INSERT 문장마다 NOTIFY 1회 (행 단위 X → COPY / batch INSERT 배치당 1회)
+-- - 대기 행(RECEIVED) keyset 조회용 부분 인덱스
+
+CREATE OR REPLACE FUNCTION notify_order_outbox() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('order_outbox', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_orders_notify_outbox
+    AFTER INSERT ON orders
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_order_outbox();
+
+CREATE INDEX idx_orders_received ON orders(order_id) WHERE status = 'RECEIVED';